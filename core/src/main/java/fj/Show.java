@@ -12,8 +12,12 @@ import fj.data.vector.V5;
 import fj.data.vector.V6;
 import fj.data.vector.V7;
 import fj.data.vector.V8;
+import fj.function.TryEffect2;
 import fj.parser.Result;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -26,13 +30,24 @@ import static fj.data.Stream.join;
 import static fj.data.Stream.single;
 
 /**
- * Renders an object for display.
+ * Renders an object for display. A show renders an object both as a lazy stream of characters and by appending to
+ * an {@link Appendable}, which {@link #showS(Object)}, {@link #appendTo(StringBuilder, Object)} and
+ * {@link #writeTo(java.io.Writer, Object)} use, so that composite instances render their elements into the same
+ * builder or writer. The built-in instances build their stream rendering from the stream renderings of their
+ * elements, so that it stays lazy when an element is lazy or infinite.
  */
 public final class Show<A> {
   private final F<A, Stream<Character>> f;
+  private final TryEffect2<Appendable, A, IOException> appender;
 
-  private Show(final F<A, Stream<Character>> f) {
+  private Show(final F<A, Stream<Character>> f, final TryEffect2<Appendable, A, IOException> appender) {
     this.f = f;
+    this.appender = appender;
+  }
+
+  private Show(final TryEffect2<Appendable, A, IOException> appender) {
+    this.f = a -> fromString(showS(a));
+    this.appender = appender;
   }
 
   /**
@@ -42,7 +57,50 @@ public final class Show<A> {
    * @return A new show.
    */
   public <B> Show<B> contramap(final F<B, A> f) {
-    return show(compose(this.f, f));
+    return new Show<>(compose(this.f, f), (out, b) -> appender.f(out, f.f(b)));
+  }
+
+  /**
+   * Appends the display rendering of the given argument to the given builder.
+   *
+   * @param sb The builder to append to.
+   * @param a  The argument to display.
+   * @return The given builder.
+   */
+  public StringBuilder appendTo(final StringBuilder sb, final A a) {
+    try {
+      appender.f(sb, a);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return sb;
+  }
+
+  /**
+   * Appends the display rendering of the given argument to the given appendable.
+   *
+   * @param out The appendable to append to.
+   * @param a   The argument to display.
+   * @return The given appendable.
+   * @throws IOException If the appendable fails.
+   */
+  public <O extends Appendable> O appendTo(final O out, final A a) throws IOException {
+    appender.f(out, a);
+    return out;
+  }
+
+  /**
+   * Writes the display rendering of the given argument to the given writer through a buffer, and flushes it, so
+   * that the rendering of a large value is never held in memory as a whole.
+   *
+   * @param w The writer to write to.
+   * @param a The argument to display.
+   * @throws IOException If the writer fails.
+   */
+  public void writeTo(final java.io.Writer w, final A a) throws IOException {
+    final BufferedWriter out = new BufferedWriter(w);
+    appender.f(out, a);
+    out.flush();
   }
 
   /**
@@ -72,7 +130,7 @@ public final class Show<A> {
    * @return The display rendering of the given argument as a <code>String</code>.
    */
   public String showS(final A a) {
-    return Stream.asString(show(a));
+    return appendTo(new StringBuilder(), a).toString();
   }
 
   /**
@@ -112,20 +170,32 @@ public final class Show<A> {
    * @return The unit value.
    */
   public Unit print(final A a) {
-    final char[] buffer = new char[8192];
-    int c = 0;
-    for (Stream<Character> cs = show(a); cs.isNotEmpty(); cs = cs.tail()._1()) {
-      buffer[c] = cs.head();
-      c++;
-      if (c == 8192) {
-        System.out.print(buffer);
-        c = 0;
-      }
+    try {
+      writeTo(printer(System.out), a);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
     }
-    System.out.print(Array.copyOfRange(buffer, 0, c));
     return unit();
   }
 
+  // A writer printing to the given stream, in the encoding of the stream, without flushing it.
+  private static java.io.Writer printer(final PrintStream ps) {
+    return new java.io.Writer() {
+      @Override
+      public void write(final char[] cs, final int off, final int len) {
+        ps.print(new String(cs, off, len));
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+
   /**
    * Prints the given argument to the standard error stream with a new line.
    *
@@ -142,7 +212,7 @@ public final class Show<A> {
    * @return A show instance.
    */
   public static <A> Show<A> show(final F<A, Stream<Character>> f) {
-    return new Show<>(f);
+    return new Show<>(f, (out, a) -> appendChars(out, f.f(a)));
   }
 
   /**
@@ -152,7 +222,18 @@ public final class Show<A> {
    * @return A show instance.
    */
   public static <A> Show<A> showS(final F<A, String> f) {
-    return show(a -> fromString(f.f(a)));
+    return new Show<>(a -> fromString(f.f(a)), (out, a) -> out.append(f.f(a)));
+  }
+
+  /**
+   * Returns a show instance that appends the display rendering of its argument with the given effect. The stream
+   * rendering of the returned instance is that of the whole appended rendering, so it is not lazy.
+   *
+   * @param f The effect appending the display rendering of its second argument to its first argument.
+   * @return A show instance.
+   */
+  public static <A> Show<A> appendShow(final TryEffect2<Appendable, A, IOException> f) {
+    return new Show<>(f);
   }
 
   /**
@@ -161,7 +242,34 @@ public final class Show<A> {
    * @return A show instance that uses {@link Object#toString()} to perform the display rendering.
    */
   public static <A> Show<A> anyShow() {
-    return show(a -> fromString((a == null) ? "null" : a.toString()));
+    return showS(a -> (a == null) ? "null" : a.toString());
+  }
+
+  private static void appendChars(final Appendable out, final Stream<Character> cs) throws IOException {
+    for (Stream<Character> s = cs; s.isNotEmpty(); s = s.tail()._1()) {
+      out.append(s.head());
+    }
+  }
+
+  private static <A> void appendIn(final Appendable out, final String start, final Show<A> sa, final A a)
+      throws IOException {
+    out.append(start);
+    sa.appender.f(out, a);
+    out.append(')');
+  }
+
+  private static <A> void appendAll(final Appendable out, final Show<A> sa, final Iterable<A> as,
+                                    final String start, final String sep, final String end) throws IOException {
+    out.append(start);
+    boolean first = true;
+    for (final A a : as) {
+      if (!first) {
+        out.append(sep);
+      }
+      sa.appender.f(out, a);
+      first = false;
+    }
+    out.append(end);
   }
 
   /**
@@ -236,9 +344,14 @@ public final class Show<A> {
    * @return A show instance for the {@link Option} type.
    */
   public static <A> Show<Option<A>> optionShow(final Show<A> sa) {
-    return show(o -> o.isNone() ?
-           fromString("None") :
-           fromString("Some(").append(sa.f.f(o.some())).append(single(')')));
+    return new Show<>(o -> o.isNone() ?
+        fromString("None") :
+        fromString("Some(").append(sa.f.f(o.some())).append(single(')')), (out, o) -> {
+      if (o.isNone())
+        out.append("None");
+      else
+        appendIn(out, "Some(", sa, o.some());
+    });
   }
 
   /**
@@ -249,19 +362,28 @@ public final class Show<A> {
    * @return A show instance for the {@link Either} type.
    */
   public static <A, B> Show<Either<A, B>> eitherShow(final Show<A> sa, final Show<B> sb) {
-    return show(e -> e.isLeft() ?
-           fromString("Left(").append(sa.f.f(e.left().value())).append(single(')')) :
-           fromString("Right(").append(sb.f.f(e.right().value())).append(single(')')));
+    return new Show<>(e -> e.isLeft() ?
+        fromString("Left(").append(sa.f.f(e.left().value())).append(single(')')) :
+        fromString("Right(").append(sb.f.f(e.right().value())).append(single(')')), (out, e) -> {
+      if (e.isLeft())
+        appendIn(out, "Left(", sa, e.left().value());
+      else
+        appendIn(out, "Right(", sb, e.right().value());
+    });
   }
 
   public static <A, B, C> Show<Either3<A, B, C>> either3Show(final Show<A> sa, final Show<B> sb, final Show<C> sc) {
-    return show(e ->
-      e.either(
+    return new Show<>(e -> e.either(
         a -> fromString("Left(").append(sa.f.f(a)).append(single(')')),
         b -> fromString("Middle(").append(sb.f.f(b)).append(single(')')),
-        c -> fromString("Right(").append(sc.f.f(c)).append(single(')'))
-      )
-    );
+        c -> fromString("Right(").append(sc.f.f(c)).append(single(')'))), (out, e) -> {
+      if (e.isLeft())
+        appendIn(out, "Left(", sa, e.left().toOption().some());
+      else if (e.isMiddle())
+        appendIn(out, "Middle(", sb, e.middle().toOption().some());
+      else
+        appendIn(out, "Right(", sc, e.right().toOption().some());
+    });
   }
 
   /**
@@ -272,9 +394,14 @@ public final class Show<A> {
    * @return A show instance for the {@link Result} type.
    */
   public static <I, A> Show<Result<I, A>> resultShow(Show<A> sa, Show<I> si) {
-    return show(res ->
-            fromString("Result(").append(sa.f.f(res.value()))
-                    .append(single(',')).append(si.f.f(res.rest())).append(single(')')));
+    return new Show<>(res -> fromString("Result(").append(sa.f.f(res.value()))
+        .append(single(',')).append(si.f.f(res.rest())).append(single(')')), (out, res) -> {
+      out.append("Result(");
+      sa.appender.f(out, res.value());
+      out.append(',');
+      si.appender.f(out, res.rest());
+      out.append(')');
+    });
   }
 
   /**
@@ -285,9 +412,14 @@ public final class Show<A> {
    * @return A show instance for the {@link Validation} type.
    */
   public static <A, B> Show<Validation<A, B>> validationShow(final Show<A> sa, final Show<B> sb) {
-    return show(v -> v.isFail() ?
-           fromString("Fail(").append(sa.f.f(v.fail())).append(single(')')) :
-           fromString("Success(").append(sb.f.f(v.success())).append(single(')')));
+    return new Show<>(v -> v.isFail() ?
+        fromString("Fail(").append(sa.f.f(v.fail())).append(single(')')) :
+        fromString("Success(").append(sb.f.f(v.success())).append(single(')')), (out, v) -> {
+      if (v.isFail())
+        appendIn(out, "Fail(", sa, v.fail());
+      else
+        appendIn(out, "Success(", sb, v.success());
+    });
   }
 
   /**
@@ -297,7 +429,8 @@ public final class Show<A> {
    * @return A show instance for the {@link Stream} type.
    */
   public static <A> Show<List<A>> listShow(final Show<A> sa) {
-    return show(as -> streamShow(sa, "List(", ",", ")").show(as.toStream()));
+    return new Show<>(as -> streamShow_(sa, "List(", ",", ")").f(as.toStream()),
+        (out, as) -> appendAll(out, sa, as, "List(", ",", ")"));
   }
 
   /**
@@ -317,13 +450,25 @@ public final class Show<A> {
    * @return A show instance for the {@link Tree} type.
    */
   public static <A> Show<Tree<A>> treeShow(final Show<A> sa) {
-    return show(a -> {
-      Stream<Character> result = sa.f.f(a.root());
-      if (!a.subForest()._1().isEmpty()) {
-        result = result.append(fromString(",")).append(streamShow(treeShow(sa), "", ",", "").f.f(a.subForest()._1()));
-      }
-      return fromString("Tree(").append(p(result)).append(fromString(")"));
-    });
+    return new Show<>(t -> treeStream(sa, t), (out, t) -> appendTree(out, sa, t));
+  }
+
+  private static <A> Stream<Character> treeStream(final Show<A> sa, final Tree<A> t) {
+    Stream<Character> result = sa.f.f(t.root());
+    if (!t.subForest()._1().isEmpty()) {
+      result = result.append(fromString(",")).append(streamShow_(treeShow(sa), "", ",", "").f(t.subForest()._1()));
+    }
+    return fromString("Tree(").append(p(result)).append(fromString(")"));
+  }
+
+  private static <A> void appendTree(final Appendable out, final Show<A> sa, final Tree<A> t) throws IOException {
+    out.append("Tree(");
+    sa.appender.f(out, t.root());
+    for (final Tree<A> c : t.subForest()._1()) {
+      out.append(',');
+      appendTree(out, sa, c);
+    }
+    out.append(')');
   }
 
   public static <V, A> Show<fj.data.fingertrees.Digit<V, A>> digitShow(final Show<V> sv, final Show<A> sa) {
@@ -365,7 +510,8 @@ public final class Show<A> {
 
 
   public static <A> Show<Seq<A>> seqShow(final Show<A> sa) {
-    return show(s -> streamShow(sa, "Seq(", ",", ")").show(s.toStream()));
+    return new Show<>(s -> streamShow_(sa, "Seq(", ",", ")").f(s.toStream()),
+        (out, s) -> appendAll(out, sa, s, "Seq(", ",", ")"));
   }
 
   /**
@@ -375,7 +521,8 @@ public final class Show<A> {
    * @return A show instance for the {@link Set} type.
    */
   public static <A> Show<Set<A>> setShow(final Show<A> sa) {
-    return show(s -> streamShow(sa, "Set(", ",", ")").show(s.toStream()));
+    return new Show<>(s -> streamShow_(sa, "Set(", ",", ")").f(s.toStream()),
+        (out, s) -> appendAll(out, sa, s, "Set(", ",", ")"));
   }
 
   /**
@@ -386,10 +533,9 @@ public final class Show<A> {
    * @return A show instance for the {@link TreeMap} type.
    */
   public static <K, V> Show<TreeMap<K, V>> treeMapShow(final Show<K> sk, final Show<V> sv) {
-    return show(tm -> {
-      Stream<P2<K, V>> stream = Stream.iteratorStream(tm.iterator());
-      return streamShow(p2MapShow(sk, sv), "TreeMap(", ",", ")").show(stream);
-    });
+    final Show<P2<K, V>> sp = p2MapShow(sk, sv);
+    return new Show<>(tm -> streamShow_(sp, "TreeMap(", ",", ")").f(Stream.iteratorStream(tm.iterator())),
+        (out, tm) -> appendAll(out, sp, tm, "TreeMap(", ",", ")"));
   }
 
   /**
@@ -414,7 +560,14 @@ public final class Show<A> {
    * @return A show instance for the {@link P2 tuple-2} type.
    */
   public static <A, B> Show<P2<A, B>> p2Show(final Show<A> sa, final Show<B> sb, String start, String sep, String end) {
-    return show(p -> fromString(start).append(p(sa.show(p._1()))).append(fromString(sep)).append(sb.show(p._2())).append(fromString(end)));
+    return new Show<>(p -> fromString(start).append(p(sa.f.f(p._1()))).append(fromString(sep)).append(sb.f.f(p._2()))
+        .append(fromString(end)), (out, p) -> {
+      out.append(start);
+      sa.appender.f(out, p._1());
+      out.append(sep);
+      sb.appender.f(out, p._2());
+      out.append(end);
+    });
   }
 
   /**
@@ -437,7 +590,7 @@ public final class Show<A> {
    * @return A show instance for the {@link Stream} type.
    */
   public static <A> Show<Stream<A>> streamShow(final Show<A> sa, String start, String sep, String end) {
-    return show(streamShow_(sa, start, sep, end));
+    return new Show<>(streamShow_(sa, start, sep, end), (out, as) -> appendAll(out, sa, as, start, sep, end));
   }
 
   /**
@@ -454,18 +607,8 @@ public final class Show<A> {
    * @return A show instance for the {@link Array} type.
    */
   public static <A> Show<Array<A>> arrayShow(final Show<A> sa) {
-    return show(as -> {
-      Stream<Character> b = fromString("Array(");
-
-      for (int i = 0; i < as.length(); i++) {
-        b = b.append(sa.f.f(as.get(i)));
-
-        if (i != as.length() - 1)
-          b = b.append(fromString(","));
-      }
-
-      return b.append(fromString(")"));
-    });
+    return new Show<>(as -> streamShow_(sa, "Array(", ",", ")").f(as.toStream()),
+        (out, as) -> appendAll(out, sa, as, "Array(", ",", ")"));
   }
 
   /**
@@ -474,7 +617,7 @@ public final class Show<A> {
    * @return A show instance for the {@link Class} type.
    */
   public static <A> Show<Class<A>> classShow() {
-    return show(c -> anyShow().show(c.clas()));
+    return showS(c -> c.clas().toString());
   }
 
   /**
@@ -488,11 +631,11 @@ public final class Show<A> {
   }
 
   public static <A> Show<P1<A>> p1ShowLazy(final Show<A> sa) {
-    return show(p -> fromString("(?)"));
+    return showS(p -> "(?)");
   }
 
   public static <A> Show<P1<A>> p1ShowEager(final Show<A> sa) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(')'), (out, p) -> appendIn(out, "(", sa, p._1()));
   }
 
   /**
@@ -515,8 +658,16 @@ public final class Show<A> {
    * @return A show instance for the {@link P3 tuple-3} type.
    */
   public static <A, B, C> Show<P3<A, B, C>> p3Show(final Show<A> sa, final Show<B> sb, final Show<C> sc) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(',').append(sb.show(p._2())).snoc(',')
-        .append(sc.show(p._3())).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(',').append(sb.f.f(p._2()))
+        .snoc(',').append(sc.f.f(p._3())).snoc(')'), (out, p) -> {
+      out.append('(');
+      sa.appender.f(out, p._1());
+      out.append(',');
+      sb.appender.f(out, p._2());
+      out.append(',');
+      sc.appender.f(out, p._3());
+      out.append(')');
+    });
   }
 
   /**
@@ -530,8 +681,18 @@ public final class Show<A> {
    */
   public static <A, B, C, D> Show<P4<A, B, C, D>> p4Show(final Show<A> sa, final Show<B> sb,
                                                          final Show<C> sc, final Show<D> sd) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(',').append(sb.show(p._2())).snoc(',')
-        .append(sc.show(p._3())).snoc(',').append(sd.show(p._4())).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(',').append(sb.f.f(p._2()))
+        .snoc(',').append(sc.f.f(p._3())).snoc(',').append(sd.f.f(p._4())).snoc(')'), (out, p) -> {
+      out.append('(');
+      sa.appender.f(out, p._1());
+      out.append(',');
+      sb.appender.f(out, p._2());
+      out.append(',');
+      sc.appender.f(out, p._3());
+      out.append(',');
+      sd.appender.f(out, p._4());
+      out.append(')');
+    });
   }
 
   /**
@@ -546,8 +707,21 @@ public final class Show<A> {
    */
   public static <A, B, C, D, E> Show<P5<A, B, C, D, E>> p5Show(final Show<A> sa, final Show<B> sb,
                                                                final Show<C> sc, final Show<D> sd, final Show<E> se) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(',').append(sb.show(p._2())).snoc(',')
-        .append(sc.show(p._3())).snoc(',').append(sd.show(p._4())).snoc(',').append(se.show(p._5())).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(',').append(sb.f.f(p._2()))
+        .snoc(',').append(sc.f.f(p._3())).snoc(',').append(sd.f.f(p._4()))
+        .snoc(',').append(se.f.f(p._5())).snoc(')'), (out, p) -> {
+      out.append('(');
+      sa.appender.f(out, p._1());
+      out.append(',');
+      sb.appender.f(out, p._2());
+      out.append(',');
+      sc.appender.f(out, p._3());
+      out.append(',');
+      sd.appender.f(out, p._4());
+      out.append(',');
+      se.appender.f(out, p._5());
+      out.append(')');
+    });
   }
 
   /**
@@ -564,9 +738,23 @@ public final class Show<A> {
   public static <A, B, C, D, E, F$> Show<P6<A, B, C, D, E, F$>> p6Show(final Show<A> sa, final Show<B> sb,
                                                                        final Show<C> sc, final Show<D> sd,
                                                                        final Show<E> se, final Show<F$> sf) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(',').append(sb.show(p._2())).snoc(',')
-        .append(sc.show(p._3())).snoc(',').append(sd.show(p._4())).snoc(',')
-        .append(se.show(p._5())).snoc(',').append(sf.show(p._6())).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(',').append(sb.f.f(p._2()))
+        .snoc(',').append(sc.f.f(p._3())).snoc(',').append(sd.f.f(p._4()))
+        .snoc(',').append(se.f.f(p._5())).snoc(',').append(sf.f.f(p._6())).snoc(')'), (out, p) -> {
+      out.append('(');
+      sa.appender.f(out, p._1());
+      out.append(',');
+      sb.appender.f(out, p._2());
+      out.append(',');
+      sc.appender.f(out, p._3());
+      out.append(',');
+      sd.appender.f(out, p._4());
+      out.append(',');
+      se.appender.f(out, p._5());
+      out.append(',');
+      sf.appender.f(out, p._6());
+      out.append(')');
+    });
   }
 
   /**
@@ -585,9 +773,26 @@ public final class Show<A> {
                                                                              final Show<C> sc, final Show<D> sd,
                                                                              final Show<E> se, final Show<F$> sf,
                                                                              final Show<G> sg) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(',').append(sb.show(p._2())).snoc(',')
-        .append(sc.show(p._3())).snoc(',').append(sd.show(p._4())).snoc(',')
-        .append(se.show(p._5())).snoc(',').append(sf.show(p._6())).snoc(',').append(sg.show(p._7())).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(',').append(sb.f.f(p._2()))
+        .snoc(',').append(sc.f.f(p._3())).snoc(',').append(sd.f.f(p._4()))
+        .snoc(',').append(se.f.f(p._5())).snoc(',').append(sf.f.f(p._6()))
+        .snoc(',').append(sg.f.f(p._7())).snoc(')'), (out, p) -> {
+      out.append('(');
+      sa.appender.f(out, p._1());
+      out.append(',');
+      sb.appender.f(out, p._2());
+      out.append(',');
+      sc.appender.f(out, p._3());
+      out.append(',');
+      sd.appender.f(out, p._4());
+      out.append(',');
+      se.appender.f(out, p._5());
+      out.append(',');
+      sf.appender.f(out, p._6());
+      out.append(',');
+      sg.appender.f(out, p._7());
+      out.append(')');
+    });
   }
 
   /**
@@ -607,16 +812,45 @@ public final class Show<A> {
                                                                                    final Show<C> sc, final Show<D> sd,
                                                                                    final Show<E> se, final Show<F$> sf,
                                                                                    final Show<G> sg, final Show<H> sh) {
-    return show(p -> cons('(', p(sa.show(p._1()))).snoc(',').append(sb.show(p._2())).snoc(',')
-        .append(sc.show(p._3())).snoc(',').append(sd.show(p._4())).snoc(',')
-        .append(se.show(p._5())).snoc(',').append(sf.show(p._6())).snoc(',')
-        .append(sg.show(p._7())).snoc(',').append(sh.show(p._8())).snoc(')'));
+    return new Show<>(p -> cons('(', p(sa.f.f(p._1()))).snoc(',').append(sb.f.f(p._2()))
+        .snoc(',').append(sc.f.f(p._3())).snoc(',').append(sd.f.f(p._4()))
+        .snoc(',').append(se.f.f(p._5())).snoc(',').append(sf.f.f(p._6()))
+        .snoc(',').append(sg.f.f(p._7())).snoc(',').append(sh.f.f(p._8())).snoc(')'), (out, p) -> {
+      out.append('(');
+      sa.appender.f(out, p._1());
+      out.append(',');
+      sb.appender.f(out, p._2());
+      out.append(',');
+      sc.appender.f(out, p._3());
+      out.append(',');
+      sd.appender.f(out, p._4());
+      out.append(',');
+      se.appender.f(out, p._5());
+      out.append(',');
+      sf.appender.f(out, p._6());
+      out.append(',');
+      sg.appender.f(out, p._7());
+      out.append(',');
+      sh.appender.f(out, p._8());
+      out.append(')');
+    });
   }
 
   public static <K, V> Show<PriorityQueue<K, V>> priorityQueueShow(Show<K> sk, Show<V> sv) {
-    return show(pq -> {
-      return streamShow(p2MapShow(sk, sv), "PriorityQueue(", ", ", ")").show(pq.toStream());
-    });
+    final Show<P2<K, V>> sp = p2MapShow(sk, sv);
+    return new Show<>(pq -> streamShow_(sp, "PriorityQueue(", ", ", ")").f(pq.toStream()),
+        (out, pq) -> appendAll(out, sp, pq.toStream(), "PriorityQueue(", ", ", ")"));
+  }
+
+  /**
+   * A show instance for the {@link Heap} type, showing its elements in order.
+   *
+   * @param sa Show for the elements of the heap.
+   * @return A show instance for the {@link Heap} type.
+   */
+  public static <A> Show<Heap<A>> heapShow(final Show<A> sa) {
+    return new Show<>(h -> streamShow_(sa, "Heap(", ",", ")").f(h.toStream()),
+        (out, h) -> appendAll(out, sa, h.toStream(), "Heap(", ",", ")"));
   }
 
   /**
@@ -701,7 +935,8 @@ public final class Show<A> {
    * @return A show instance for streams that splits into lines.
    */
   public static <A> Show<Stream<A>> unlineShow(final Show<A> sa) {
-    return show(as -> join(as.map(sa.show_()).intersperse(fromString("\n"))));
+    return new Show<>(as -> join(as.map(sa.show_()).intersperse(fromString("\n"))),
+        (out, as) -> appendAll(out, sa, as, "", "\n", ""));
   }
 
   /**
@@ -722,7 +957,13 @@ public final class Show<A> {
    * @return a show instance for heterogeneous Streams.
    */
   public static <E, L extends HList<L>> Show<HList.HCons<E, L>> HListShow(final Show<E> e, final Show<L> l) {
-    return show(c -> fromString("HList(").append(e.show(c.head())).append(l.show(c.tail())).append(fromString(")")));
+    return new Show<>(c -> fromString("HList(").append(e.f.f(c.head())).append(l.f.f(c.tail())).append(fromString(")")),
+        (out, c) -> {
+      out.append("HList(");
+      e.appender.f(out, c.head());
+      l.appender.f(out, c.tail());
+      out.append(')');
+    });
   }
 
   public static <K, V> Show<fj.data.hamt.Node<K, V>> hamtNodeShow(Show<K> sk, Show<V> sv) {
@@ -731,10 +972,14 @@ public final class Show<A> {
   }
 
   public static <K, V> Show<HashArrayMappedTrie<K, V>> hamtShow(Show<K> sk, Show<V> sv) {
-    return Show.showS(hamt ->
-      "HashArrayMappedTrie(" + Show.bitSetShow.showS(hamt.getBitSet()) +
-      ", " + Show.seqShow(Show.hamtNodeShow(sk, sv)).showS(hamt.getSeq()) + ")"
-    );
+    final Show<Seq<fj.data.hamt.Node<K, V>>> sn = seqShow(hamtNodeShow(sk, sv));
+    return appendShow((out, hamt) -> {
+      out.append("HashArrayMappedTrie(");
+      bitSetShow.appender.f(out, hamt.getBitSet());
+      out.append(", ");
+      sn.appender.f(out, hamt.getSeq());
+      out.append(')');
+    });
   }
 
   public static final Show<BitSet> bitSetShow = Show.showS(
@@ -3,6 +3,8 @@ package fj.control;
 import fj.*;
 import fj.data.Either;
 
+import java.util.ArrayDeque;
+
 import static fj.Function.curry;
 import static fj.data.Either.left;
 import static fj.data.Either.right;
@@ -203,20 +205,29 @@ public abstract class Trampoline<A> {
   public abstract Either<P1<Trampoline<A>>, A> resume();
 
   /**
-   * Runs this computation all the way to the end, in constant stack.
+   * Runs this computation all the way to the end, in constant stack. Rather than {@link #resume() resuming} it
+   * step by step, the computation is interpreted against an explicit stack of the continuations still to run,
+   * without allocating the intermediate steps.
    *
    * @return The end result of this computation.
    */
-  @SuppressWarnings("LoopStatementThatDoesntLoop")
+  @SuppressWarnings("unchecked")
   public final A run() {
-    Trampoline<A> current = this;
+    final ArrayDeque<F<Object, Trampoline<Object>>> conts = new ArrayDeque<>();
+    Trampoline<Object> current = (Trampoline<Object>) this;
     while (true) {
-      final Either<P1<Trampoline<A>>, A> x = current.resume();
-      for (final P1<Trampoline<A>> t : x.left()) {
-        current = t._1();
-      }
-      for (final A a : x.right()) {
-        return a;
+      if (current instanceof Codense) {
+        final Codense<Object> c = (Codense<Object>) current;
+        conts.push(c.cont);
+        current = c.sub;
+      } else if (current instanceof Suspend) {
+        current = ((Suspend<Object>) current).suspension._1();
+      } else {
+        final Object value = ((Pure<Object>) current).value;
+        final F<Object, Trampoline<Object>> k = conts.poll();
+        if (k == null)
+          return (A) value;
+        current = k.f(value);
       }
     }
   }
@@ -2,9 +2,19 @@ package fj.control.db;
 
 import fj.F;
 import fj.Function;
+import fj.P;
+import fj.Unit;
+import fj.data.Iteratee.Input;
+import fj.data.Iteratee.IterV;
+import fj.data.Option;
+import fj.data.Stream;
 import fj.function.Try1;
+import fj.function.TryEffect1;
+import fj.function.TryEffect2;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.concurrent.Callable;
 
@@ -51,6 +61,164 @@ public abstract class DB<A> {
     };
   }
 
+  /**
+   * Constructs a database action that prepares the given SQL and applies the given function to the statement,
+   * closing the statement afterwards. With a {@link PooledConnector} the prepared statement is kept open and
+   * reused by later actions preparing the same SQL on the same connection.
+   *
+   * @param sql The SQL statement to prepare.
+   * @param t   A function from the prepared statement to a value allowed to throw SQLException.
+   * @return A database action running the given function against the prepared statement.
+   */
+  public static <A> DB<A> prepare(final String sql, final Try1<PreparedStatement, A, SQLException> t) {
+    return new DB<A>() {
+      public A run(final Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+          return t.f(ps);
+        }
+      }
+    };
+  }
+
+  /**
+   * Constructs a database action that executes the given SQL once for every element of the given iterable, sending
+   * the statements to the database in batches of the given size. The iterable is traversed once, and only one
+   * batch of parameters is held in memory at a time.
+   *
+   * @param sql       The SQL statement to execute.
+   * @param as        The elements to execute the statement for.
+   * @param bind      Sets the parameters of the statement for one element.
+   * @param batchSize The number of statements to send to the database at once.
+   * @return A database action that results in the total number of rows updated, as reported by the driver.
+   */
+  public static <A> DB<Long> batch(final String sql, final Iterable<A> as,
+                                   final TryEffect2<PreparedStatement, A, SQLException> bind, final int batchSize) {
+    if (batchSize <= 0)
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    return new DB<Long>() {
+      public Long run(final Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+          long updated = 0;
+          int pending = 0;
+          for (final A a : as) {
+            bind.f(ps, a);
+            ps.addBatch();
+            if (++pending == batchSize) {
+              updated += updateCount(ps.executeBatch());
+              pending = 0;
+            }
+          }
+          if (pending > 0)
+            updated += updateCount(ps.executeBatch());
+          return updated;
+        }
+      }
+    };
+  }
+
+  private static long updateCount(final int[] counts) {
+    long n = 0;
+    for (final int count : counts) {
+      // Statement.SUCCESS_NO_INFO is negative
+      if (count > 0)
+        n += count;
+    }
+    return n;
+  }
+
+  /**
+   * Constructs a database action that feeds the rows returned by the given query into the given iteratee. Rows are
+   * read only until the iteratee is done, and the driver is asked to fetch them from the database the given number
+   * at a time, so that large results can be processed in bounded memory.
+   *
+   * @param sql       The query to execute.
+   * @param params    Sets the parameters of the query.
+   * @param row       Reads one row from the current position of the result set.
+   * @param fetchSize The number of rows to fetch from the database at once, 0 to let the driver decide.
+   * @param i         The iteratee to feed the rows to.
+   * @return A database action that results in the result of the iteratee.
+   */
+  public static <R, A> DB<A> query(final String sql, final TryEffect1<PreparedStatement, SQLException> params,
+                                   final Try1<ResultSet, R, SQLException> row, final int fetchSize,
+                                   final IterV<R, A> i) {
+    return query(sql, params, fetchSize, rs -> {
+      // use loop instead of recursion because of missing TCO
+      IterV<R, A> it = i;
+      while (!isDone(it) && rs.next()) {
+        final Input<R> input = Input.el(row.f(rs));
+        final IterV<R, A> current = it;
+        it = it.fold(done -> current, k -> k.f(input));
+      }
+      return it.run();
+    });
+  }
+
+  /**
+   * Constructs a database action that applies the given function to the lazy stream of the rows returned by the
+   * given query. Rows are fetched from the database as the stream is forced, the given number at a time. The
+   * stream must not be used after the function returns, and memory stays bounded only if the function does not hold
+   * on to the head of the stream while traversing it.
+   *
+   * @param sql       The query to execute.
+   * @param params    Sets the parameters of the query.
+   * @param row       Reads one row from the current position of the result set.
+   * @param fetchSize The number of rows to fetch from the database at once, 0 to let the driver decide.
+   * @param f         The function to apply to the stream of rows.
+   * @return A database action that results in the result of the function.
+   */
+  public static <R, A> DB<A> queryStream(final String sql, final TryEffect1<PreparedStatement, SQLException> params,
+                                         final Try1<ResultSet, R, SQLException> row, final int fetchSize,
+                                         final F<Stream<R>, A> f) {
+    return query(sql, params, fetchSize, rs -> {
+      try {
+        return f.f(Stream.unfold(u -> {
+          try {
+            return rs.next() ? Option.some(P.p(row.f(rs), u)) : Option.none();
+          } catch (SQLException e) {
+            throw new RowException(e);
+          }
+        }, Unit.unit()));
+      } catch (RowException e) {
+        throw e.getCause();
+      }
+    });
+  }
+
+  private static <A> DB<A> query(final String sql, final TryEffect1<PreparedStatement, SQLException> params,
+                                 final int fetchSize, final Try1<ResultSet, A, SQLException> f) {
+    return new DB<A>() {
+      public A run(final Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+          params.f(ps);
+          ps.setFetchSize(fetchSize);
+          try (ResultSet rs = ps.executeQuery()) {
+            return f.f(rs);
+          }
+        }
+      }
+    };
+  }
+
+  private static <E, A> boolean isDone(final IterV<E, A> i) {
+    return i.fold(done -> true, k -> false);
+  }
+
+  /**
+   * Carries an exception raised while forcing a stream of rows out of the stream.
+   */
+  private static final class RowException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    RowException(final SQLException cause) {
+      super(cause);
+    }
+
+    @Override
+    public SQLException getCause() {
+      return (SQLException) super.getCause();
+    }
+  }
+
   /**
    * Returns the callable-valued function projection of this database action.
    *
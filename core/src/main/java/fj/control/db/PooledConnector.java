@@ -0,0 +1,471 @@
+package fj.control.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A connector that keeps a bounded pool of connections obtained from another connector. Closing a connection
+ * returns it to the pool instead of closing it.
+ * <p>
+ * At most a given number of connections are in use at once; a caller waits for a connection to be returned, up to
+ * the acquisition timeout. An idle connection is checked with {@link Connection#isValid(int)} before it is handed
+ * out again, and connections idle for longer than the maximum idle time are closed. Each pooled connection also
+ * keeps its most recently used prepared statements open, so that preparing the same SQL again, for instance with
+ * {@link DB#prepare(String, fj.function.Try1)}, reuses the statement.
+ */
+public final class PooledConnector extends Connector implements AutoCloseable {
+
+  /**
+   * The default number of prepared statements kept open per connection.
+   */
+  public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+  private final Connector connector;
+  private final long maxIdleMillis;
+  private final long acquireTimeoutMillis;
+  private final int validationTimeoutSeconds;
+  private final int statementCacheSize;
+
+  private final Semaphore permits;
+  private final ArrayDeque<Pooled> idle = new ArrayDeque<>();
+  private boolean closed;
+
+  private final AtomicLong acquired = new AtomicLong();
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong evicted = new AtomicLong();
+  private final AtomicLong totalAcquireNanos = new AtomicLong();
+  private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+  private PooledConnector(final Connector connector, final int maxSize, final long maxIdleMillis,
+                          final long acquireTimeoutMillis, final int validationTimeoutSeconds,
+                          final int statementCacheSize) {
+    this.connector = connector;
+    this.maxIdleMillis = maxIdleMillis;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+    this.statementCacheSize = statementCacheSize;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Returns a pool of at most the given number of connections obtained from the given connector. Connections idle
+   * for more than ten minutes are closed, callers wait up to thirty seconds for a connection and idle connections
+   * are validated with a timeout of five seconds.
+   *
+   * @param connector The connector that opens the pooled connections.
+   * @param maxSize   The maximum number of connections in use at once.
+   * @return A pool of connections obtained from the given connector.
+   */
+  public static PooledConnector pooled(final Connector connector, final int maxSize) {
+    return pooled(connector, maxSize, TimeUnit.MINUTES.toMillis(10), TimeUnit.SECONDS.toMillis(30), 5,
+        DEFAULT_STATEMENT_CACHE_SIZE);
+  }
+
+  /**
+   * Returns a pool of at most the given number of connections obtained from the given connector.
+   *
+   * @param connector                The connector that opens the pooled connections.
+   * @param maxSize                  The maximum number of connections in use at once.
+   * @param maxIdleMillis            The time after which an idle connection is closed.
+   * @param acquireTimeoutMillis     The time to wait for a connection when all of them are in use.
+   * @param validationTimeoutSeconds The timeout of the validation of an idle connection, 0 to skip validation.
+   * @param statementCacheSize       The number of prepared statements kept open per connection, 0 to disable.
+   * @return A pool of connections obtained from the given connector.
+   */
+  public static PooledConnector pooled(final Connector connector, final int maxSize, final long maxIdleMillis,
+                                       final long acquireTimeoutMillis, final int validationTimeoutSeconds,
+                                       final int statementCacheSize) {
+    if (maxSize <= 0)
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    return new PooledConnector(connector, maxSize, maxIdleMillis, acquireTimeoutMillis, validationTimeoutSeconds,
+        statementCacheSize);
+  }
+
+  /**
+   * Takes a connection from the pool, opening a new one if no valid idle connection is available.
+   *
+   * @return A connection that returns to the pool when closed.
+   * @throws SQLException if no connection became available within the acquisition timeout, or opening one failed.
+   */
+  public Connection connect() throws SQLException {
+    final long start = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS))
+        throw new SQLException("Timed out after " + acquireTimeoutMillis + "ms waiting for a connection");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection", e);
+    }
+    try {
+      Pooled p;
+      while ((p = takeIdle()) != null) {
+        if (validationTimeoutSeconds <= 0 || isValid(p)) {
+          break;
+        }
+        p.discard();
+      }
+      if (p == null) {
+        p = new Pooled(connector.connect());
+        created.incrementAndGet();
+      }
+      record(System.nanoTime() - start);
+      return p.lease();
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private boolean isValid(final Pooled p) {
+    try {
+      return p.connection.isValid(validationTimeoutSeconds);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private synchronized Pooled takeIdle() throws SQLException {
+    if (closed)
+      throw new SQLException("The connection pool is closed");
+    evictIdle(System.currentTimeMillis());
+    return idle.pollFirst();
+  }
+
+  private void record(final long nanos) {
+    acquired.incrementAndGet();
+    totalAcquireNanos.addAndGet(nanos);
+    long max;
+    while (nanos > (max = maxAcquireNanos.get()) && !maxAcquireNanos.compareAndSet(max, nanos)) {
+      // retry
+    }
+  }
+
+  private void release(final Pooled p) {
+    boolean reuse;
+    try {
+      reuse = !p.connection.isClosed();
+      if (reuse)
+        p.reclaim();
+      if (reuse && !p.connection.getAutoCommit())
+        p.connection.rollback();
+    } catch (SQLException e) {
+      reuse = false;
+    }
+    synchronized (this) {
+      if (reuse && !closed) {
+        p.lastUsed = System.currentTimeMillis();
+        idle.addFirst(p);
+      } else {
+        reuse = false;
+      }
+    }
+    if (!reuse)
+      p.discard();
+    permits.release();
+  }
+
+  /**
+   * Closes the idle connections that have not been used for longer than the maximum idle time. This is also done
+   * whenever a connection is taken from the pool.
+   */
+  public synchronized void evictIdle() {
+    evictIdle(System.currentTimeMillis());
+  }
+
+  private void evictIdle(final long now) {
+    // the least recently used connections are at the end
+    for (final Iterator<Pooled> it = idle.descendingIterator(); it.hasNext(); ) {
+      final Pooled p = it.next();
+      if (now - p.lastUsed <= maxIdleMillis)
+        break;
+      it.remove();
+      p.discard();
+      evicted.incrementAndGet();
+    }
+  }
+
+  /**
+   * Closes the idle connections and refuses further connections. Connections in use are closed when returned.
+   */
+  public void close() {
+    final Pooled[] ps;
+    synchronized (this) {
+      closed = true;
+      ps = idle.toArray(new Pooled[0]);
+      idle.clear();
+    }
+    for (final Pooled p : ps)
+      p.discard();
+  }
+
+  /**
+   * Returns the number of connections handed out so far.
+   */
+  public long acquireCount() {
+    return acquired.get();
+  }
+
+  /**
+   * Returns the number of connections opened so far.
+   */
+  public long createdCount() {
+    return created.get();
+  }
+
+  /**
+   * Returns the number of connections closed because they were idle for too long.
+   */
+  public long evictedCount() {
+    return evicted.get();
+  }
+
+  /**
+   * Returns the average time callers waited for a connection, in nanoseconds.
+   */
+  public long averageAcquireNanos() {
+    final long n = acquired.get();
+    return n == 0 ? 0 : totalAcquireNanos.get() / n;
+  }
+
+  /**
+   * Returns the longest time a caller waited for a connection, in nanoseconds.
+   */
+  public long maxAcquireNanos() {
+    return maxAcquireNanos.get();
+  }
+
+  /**
+   * Returns the number of idle connections in the pool.
+   */
+  public synchronized int idleCount() {
+    return idle.size();
+  }
+
+  /**
+   * A pooled connection and its prepared statements, the least recently used first.
+   */
+  private final class Pooled {
+    private final Connection connection;
+    private final LinkedHashMap<String, Cached> statements =
+        new LinkedHashMap<String, Cached>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, Cached> eldest) {
+            if (size() > statementCacheSize) {
+              eldest.getValue().evict();
+              return true;
+            }
+            return false;
+          }
+        };
+    private long lastUsed;
+
+    Pooled(final Connection connection) {
+      this.connection = connection;
+    }
+
+    Connection lease() {
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+          new Lease(this));
+    }
+
+    PreparedStatement prepare(final Connection owner, final String sql) throws SQLException {
+      Cached c = statements.get(sql);
+      if (c != null && c.holder != null) {
+        // the cached statement is still open for an earlier caller, so this one gets a statement of its own
+        return new Lent(owner, connection.prepareStatement(sql), null).statement();
+      }
+      if (c == null || c.statement.isClosed()) {
+        c = new Cached(connection.prepareStatement(sql));
+        statements.put(sql, c);
+      }
+      final Lent lent = new Lent(owner, c.statement, c);
+      c.holder = lent;
+      return lent.statement();
+    }
+
+    /**
+     * Takes back the cached statements left open by the lease that is returned.
+     */
+    void reclaim() {
+      for (final Cached c : statements.values()) {
+        if (c.holder != null)
+          c.release();
+      }
+    }
+
+    void discard() {
+      for (final Cached c : statements.values())
+        closeQuietly(c.statement);
+      statements.clear();
+      try {
+        connection.close();
+      } catch (SQLException e) {
+        // the connection is dropped either way
+      }
+    }
+  }
+
+  /**
+   * The statement handed out for one use of a prepared statement: closing it resets and keeps the cached statement,
+   * if any, or closes the statement if it is not cached.
+   */
+  private static final class Lent implements InvocationHandler {
+    private final Connection owner;
+    private final PreparedStatement ps;
+    private final Cached cached;
+    private boolean closed;
+
+    Lent(final Connection owner, final PreparedStatement ps, final Cached cached) {
+      this.owner = owner;
+      this.ps = ps;
+      this.cached = cached;
+    }
+
+    PreparedStatement statement() {
+      return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+          new Class<?>[]{PreparedStatement.class}, this);
+    }
+
+    public Object invoke(final Object proxy, final Method m, final Object[] args) throws Throwable {
+      final String name = m.getName();
+      if (name.equals("close") && m.getParameterCount() == 0) {
+        if (!closed) {
+          closed = true;
+          if (cached == null)
+            ps.close();
+          else if (cached.holder == this)
+            cached.release();
+        }
+        return null;
+      } else if (name.equals("isClosed") && m.getParameterCount() == 0) {
+        return closed || ps.isClosed();
+      } else if (closed || (cached != null && cached.holder != this)) {
+        throw new SQLException("The statement has been closed");
+      } else if (name.equals("getConnection") && m.getParameterCount() == 0) {
+        return owner;
+      } else if (name.equals("equals") && m.getParameterCount() == 1) {
+        return proxy == args[0];
+      } else if (name.equals("hashCode") && m.getParameterCount() == 0) {
+        return System.identityHashCode(proxy);
+      }
+      return PooledConnector.invoke(ps, m, args);
+    }
+  }
+
+  /**
+   * A cached prepared statement, with the settings it was prepared with, and the statement of the caller holding it
+   * open, if any.
+   */
+  private static final class Cached {
+    private final PreparedStatement statement;
+    private final int fetchSize;
+    private final int maxRows;
+    private final int queryTimeout;
+    private Lent holder;
+    private boolean evicted;
+
+    Cached(final PreparedStatement statement) throws SQLException {
+      this.statement = statement;
+      this.fetchSize = statement.getFetchSize();
+      this.maxRows = statement.getMaxRows();
+      this.queryTimeout = statement.getQueryTimeout();
+    }
+
+    /**
+     * Returns the statement to the cache, clearing what its caller left on it, or closes it if it was evicted or
+     * cannot be reset.
+     */
+    void release() {
+      holder = null;
+      if (evicted) {
+        closeQuietly(statement);
+        return;
+      }
+      try {
+        final ResultSet rs = statement.getResultSet();
+        if (rs != null)
+          rs.close();
+        statement.clearBatch();
+        statement.clearParameters();
+        statement.setFetchSize(fetchSize);
+        statement.setMaxRows(maxRows);
+        statement.setQueryTimeout(queryTimeout);
+      } catch (SQLException e) {
+        // a statement that cannot be reset is not reused
+        closeQuietly(statement);
+      }
+    }
+
+    /**
+     * Closes the statement once it is dropped from the cache, or when it is released if a caller holds it open.
+     */
+    void evict() {
+      evicted = true;
+      if (holder == null)
+        closeQuietly(statement);
+    }
+  }
+
+  /**
+   * The connection handed out for one use of a pooled connection.
+   */
+  private final class Lease implements InvocationHandler {
+    private final Pooled pooled;
+    private boolean closed;
+
+    Lease(final Pooled pooled) {
+      this.pooled = pooled;
+    }
+
+    public Object invoke(final Object proxy, final Method m, final Object[] args) throws Throwable {
+      final String name = m.getName();
+      if (name.equals("close") && m.getParameterCount() == 0) {
+        if (!closed) {
+          closed = true;
+          release(pooled);
+        }
+        return null;
+      } else if (name.equals("isClosed") && m.getParameterCount() == 0) {
+        return closed || pooled.connection.isClosed();
+      } else if (closed) {
+        throw new SQLException("The connection has been returned to the pool");
+      } else if (name.equals("prepareStatement") && m.getParameterCount() == 1 && statementCacheSize > 0) {
+        return pooled.prepare((Connection) proxy, (String) args[0]);
+      } else if (name.equals("equals") && m.getParameterCount() == 1) {
+        return proxy == args[0];
+      } else if (name.equals("hashCode") && m.getParameterCount() == 0) {
+        return System.identityHashCode(proxy);
+      }
+      return PooledConnector.invoke(pooled.connection, m, args);
+    }
+  }
+
+  private static Object invoke(final Object target, final Method m, final Object[] args) throws Throwable {
+    try {
+      return m.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static void closeQuietly(final PreparedStatement ps) {
+    try {
+      ps.close();
+    } catch (SQLException e) {
+      // the statement is dropped either way
+    }
+  }
+}
@@ -79,6 +79,20 @@ public final class Promise<A> {
     return p;
   }
 
+  /**
+   * Promises to provide a value that is delivered to a callback, in the future. The given effect is called
+   * immediately with the callback, which should be called exactly once; no thread waits for it in the meantime.
+   *
+   * @param s        The strategy with which to fulfil the promise.
+   * @param callback The effect that arranges for the promised value to be passed to the callback it is given.
+   * @return A promise of the value passed to the callback.
+   */
+  public static <A> Promise<A> async(final Strategy<Unit> s, final Effect1<Effect1<A>> callback) {
+    final Promise<A> p = mkPromise(s);
+    callback.f(a -> p.actor.act(p(Either.left(p(a)), p)));
+    return p;
+  }
+
   /**
    * Provides a first-class unit function for promises.
    *
@@ -0,0 +1,265 @@
+package fj.data;
+
+import fj.F;
+import fj.P;
+import fj.Unit;
+import fj.control.parallel.Promise;
+import fj.control.parallel.Strategy;
+import fj.function.Effect1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static fj.data.Validation.fail;
+import static fj.data.Validation.success;
+
+/**
+ * An asynchronous IO action. Running it starts the action and returns immediately; the result, or the
+ * {@link IOException} that made the action fail, is passed to a callback once the action completes, usually on
+ * another thread. Unlike {@link IO}, no thread is blocked while an action such as a file read is in flight.
+ *
+ * @param <A> the type of the result produced by the action
+ */
+@FunctionalInterface
+public interface AsyncIO<A> {
+
+	/**
+	 * Starts this action. The given callback is called exactly once, with the result of the action or the
+	 * exception that made it fail.
+	 *
+	 * @param k the callback to pass the outcome of the action to
+	 */
+	void run(Effect1<Validation<IOException, A>> k);
+
+	/**
+	 * Starts this action and returns a promise of its outcome.
+	 *
+	 * @param s the strategy with which to fulfil the promise
+	 */
+	default Promise<Validation<IOException, A>> runAsync(final Strategy<Unit> s) {
+		return Promise.async(s, this::run);
+	}
+
+	default <B> AsyncIO<B> map(final F<A, B> f) {
+		return k -> run(v -> k.f(v.map(f)));
+	}
+
+	default <B> AsyncIO<B> bind(final F<A, AsyncIO<B>> f) {
+		return k -> run(v -> {
+			if (v.isFail()) {
+				k.f(fail(v.fail()));
+			} else {
+				f.f(v.success()).run(k);
+			}
+		});
+	}
+
+	default <B> AsyncIO<B> append(final AsyncIO<B> b) {
+		return bind(a -> b);
+	}
+
+	static <A> AsyncIO<A> unit(final A a) {
+		return k -> k.f(success(a));
+	}
+
+	static <A> AsyncIO<A> failure(final IOException e) {
+		return k -> k.f(fail(e));
+	}
+
+	/**
+	 * Runs the given blocking action on a thread of the given strategy.
+	 */
+	static <A> AsyncIO<A> fromIO(final Strategy<Unit> s, final IO<A> io) {
+		return k -> s.par(P.lazy(() -> {
+			k.f(io.safe().run());
+			return Unit.unit();
+		}));
+	}
+
+	/**
+	 * Acquires a resource, uses it and releases it once the use has completed, whether it succeeded or failed.
+	 * A failure of the release is reported only if the use succeeded. A runtime exception thrown while starting the
+	 * use is reported as a failure of the use.
+	 */
+	static <A, B> AsyncIO<B> bracket(final AsyncIO<A> init, final F<A, AsyncIO<Unit>> fin, final F<A, AsyncIO<B>> body) {
+		return k -> init.run(va -> {
+			if (va.isFail()) {
+				k.f(fail(va.fail()));
+				return;
+			}
+			final A a = va.success();
+			final AtomicBoolean used = new AtomicBoolean();
+			try {
+				body.f(a).run(vb -> {
+					if (used.compareAndSet(false, true))
+						fin.f(a).run(vu -> k.f(vb.isSuccess() && vu.isFail() ? fail(vu.fail()) : vb));
+				});
+			} catch (RuntimeException e) {
+				// an exception thrown after the use completed comes from the continuation, not from the use
+				if (!used.compareAndSet(false, true))
+					throw e;
+				fin.f(a).run(vu -> k.f(fail(new IOException(e))));
+			}
+		});
+	}
+
+	/**
+	 * Starts the actions for all the elements at once and collects their results in order. The first failure is
+	 * reported as soon as it happens; the actions still in flight are not cancelled.
+	 */
+	static <A, B> AsyncIO<List<B>> parTraverse(final List<A> as, final F<A, AsyncIO<B>> f) {
+		return k -> {
+			final int n = as.length();
+			if (n == 0) {
+				k.f(success(List.nil()));
+				return;
+			}
+			final Object[] results = new Object[n];
+			final AtomicInteger pending = new AtomicInteger(n);
+			final AtomicBoolean failed = new AtomicBoolean();
+			int i = 0;
+			for (final A a : as) {
+				final int index = i++;
+				f.f(a).run(v -> {
+					if (v.isFail()) {
+						if (failed.compareAndSet(false, true)) {
+							k.f(fail(v.fail()));
+						}
+					} else {
+						results[index] = v.success();
+						if (pending.decrementAndGet() == 0 && !failed.get()) {
+							k.f(success(Array.<B>mkArray(results).toList()));
+						}
+					}
+				});
+			}
+		};
+	}
+
+	/**
+	 * Starts both actions and reports the outcome of the first one to complete. The other action is not
+	 * cancelled, its outcome is ignored.
+	 */
+	static <A> AsyncIO<A> race(final AsyncIO<A> a, final AsyncIO<A> b) {
+		return k -> {
+			final AtomicBoolean done = new AtomicBoolean();
+			final Effect1<Validation<IOException, A>> first = v -> {
+				if (done.compareAndSet(false, true)) {
+					k.f(v);
+				}
+			};
+			a.run(first);
+			b.run(first);
+		};
+	}
+
+	static AsyncIO<AsynchronousFileChannel> open(final Path path, final OpenOption... options) {
+		return k -> {
+			final AsynchronousFileChannel c;
+			try {
+				c = AsynchronousFileChannel.open(path, options);
+			} catch (IOException e) {
+				k.f(fail(e));
+				return;
+			}
+			k.f(success(c));
+		};
+	}
+
+	static AsyncIO<Unit> close(final AsynchronousFileChannel c) {
+		return k -> {
+			try {
+				c.close();
+			} catch (IOException e) {
+				k.f(fail(e));
+				return;
+			}
+			k.f(success(Unit.unit()));
+		};
+	}
+
+	/**
+	 * Reads bytes from the given position of the channel into the buffer, yielding the number of bytes read, or -1
+	 * if the position is at or past the end of the file.
+	 */
+	static AsyncIO<Integer> read(final AsynchronousFileChannel c, final ByteBuffer dst, final long position) {
+		return k -> c.read(dst, position, k, handler());
+	}
+
+	/**
+	 * Writes bytes from the buffer at the given position of the channel, yielding the number of bytes written.
+	 */
+	static AsyncIO<Integer> write(final AsynchronousFileChannel c, final ByteBuffer src, final long position) {
+		return k -> c.write(src, position, k, handler());
+	}
+
+	/**
+	 * Reads the whole content of the given file.
+	 */
+	static AsyncIO<byte[]> readFile(final Path path) {
+		return bracket(open(path, StandardOpenOption.READ), AsyncIO::close, c -> k -> {
+			final long size;
+			try {
+				size = c.size();
+			} catch (IOException e) {
+				k.f(fail(e));
+				return;
+			}
+			if (size > Integer.MAX_VALUE) {
+				k.f(fail(new IOException("The file " + path + " of " + size + " bytes is too large to be read into an array")));
+				return;
+			}
+			final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			readFully(c, buffer).map(u -> buffer.array()).run(k);
+		});
+	}
+
+	/**
+	 * Writes the given bytes to the given file, creating or truncating it.
+	 */
+	static AsyncIO<Unit> writeFile(final Path path, final byte[] bytes) {
+		return bracket(open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING),
+				AsyncIO::close, c -> writeFully(c, ByteBuffer.wrap(bytes)));
+	}
+
+	/**
+	 * Reads from the start of the channel until the buffer is full or the end of the file is reached. The position
+	 * of the buffer is used as the position in the file.
+	 */
+	static AsyncIO<Unit> readFully(final AsynchronousFileChannel c, final ByteBuffer dst) {
+		return read(c, dst, dst.position()).bind(n -> n == -1 || !dst.hasRemaining() ? unit(Unit.unit()) : readFully(c, dst));
+	}
+
+	/**
+	 * Writes the content of the buffer from the start of the channel. The position of the buffer is used as the
+	 * position in the file.
+	 */
+	static AsyncIO<Unit> writeFully(final AsynchronousFileChannel c, final ByteBuffer src) {
+		return write(c, src, src.position()).bind(n -> src.hasRemaining() ? writeFully(c, src) : unit(Unit.unit()));
+	}
+
+	/**
+	 * A completion handler that passes the outcome of a channel operation to the callback given as attachment.
+	 */
+	static <A> CompletionHandler<A, Effect1<Validation<IOException, A>>> handler() {
+		return new CompletionHandler<A, Effect1<Validation<IOException, A>>>() {
+			@Override
+			public void completed(final A result, final Effect1<Validation<IOException, A>> k) {
+				k.f(success(result));
+			}
+
+			@Override
+			public void failed(final Throwable e, final Effect1<Validation<IOException, A>> k) {
+				k.f(fail(e instanceof IOException ? (IOException) e : new IOException(e)));
+			}
+		};
+	}
+
+}
@@ -11,7 +11,7 @@ public final class Collectors {
     return Collector.of(
         List.Buffer::new,
         List.Buffer::snoc,
-        (acc1, acc2) -> acc1.append(acc2.toList()),
+        List.Buffer::append,
         List.Buffer::toList
     );
   }
@@ -20,7 +20,7 @@ public final class Collectors {
     return Collector.of(
         List.Buffer::new,
         List.Buffer::snoc,
-        (acc1, acc2) -> acc1.append(acc2.toList()),
+        List.Buffer::append,
         (buf) -> buf.toList().toArray()
     );
   }
@@ -29,7 +29,7 @@ public final class Collectors {
     return Collector.of(
         List.Buffer::new,
         List.Buffer::snoc,
-        (acc1, acc2) -> acc1.append(acc2.toList()),
+        List.Buffer::append,
         (buf) -> buf.toList().toStream()
     );
   }
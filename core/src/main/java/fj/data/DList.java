@@ -1,23 +1,71 @@
 package fj.data;
 
 import fj.F;
-import fj.P;
+import fj.F2;
 import fj.control.Trampoline;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import static fj.data.List.iterableList;
 
 /**
  * Difference List. It converts left associative appends into right associative ones to improve performance.
  *
+ * A DList is held as a tree of appends whose leaves are lists, single elements or append
+ * functions. The tree is flattened once, with an explicit stack, by {@link #run()},
+ * {@link #foldLeft(F2, Object)} or {@link #iterator()}, so deep left or right nested appends
+ * never use the call stack.
+ *
  * @version %build.number%
  */
-public final class DList<A> {
-    private final F<List<A>,Trampoline<List<A>>> appendFn;
-    
-    private DList(final F<List<A>,Trampoline<List<A>>> appendFn) {
-        this.appendFn = appendFn;
+public final class DList<A> implements Iterable<A> {
+
+    private abstract static class Node<A> {
+    }
+
+    private static final class Leaf<A> extends Node<A> {
+        private final List<A> as;
+
+        Leaf(final List<A> as) {
+            this.as = as;
+        }
+    }
+
+    private static final class Single<A> extends Node<A> {
+        private final A a;
+
+        Single(final A a) {
+            this.a = a;
+        }
+    }
+
+    private static final class Append<A> extends Node<A> {
+        private final Node<A> left;
+        private final Node<A> right;
+
+        Append(final Node<A> left, final Node<A> right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final class Fn<A> extends Node<A> {
+        private final F<List<A>, Trampoline<List<A>>> f;
+
+        Fn(final F<List<A>, Trampoline<List<A>>> f) {
+            this.f = f;
+        }
+    }
+
+    private static final DList<Object> NIL = new DList<>(new Leaf<>(List.nil()));
+
+    private final Node<A> node;
+
+    private DList(final Node<A> node) {
+        this.node = node;
     }
 
     /**
@@ -29,14 +77,14 @@ public final class DList<A> {
      * @see #arrayDList
      */
     public static <A> DList<A> dlist(final F<List<A>,Trampoline<List<A>>> f) {
-        return new DList<>(f);
+        return new DList<>(new Fn<>(f));
     }
 
     /**
      * Creates a DList from a List
      */
     public static <A> DList<A> listDList(final List<A> a) {
-        return dlist((List<A> tail) -> Trampoline.pure(a.append(tail)));
+        return new DList<>(new Leaf<>(a));
     }
 
     /**
@@ -63,31 +111,113 @@ public final class DList<A> {
 
     /**
      * Concatenates all the internal Lists together that are held in
-     * the DList's lambda's state to produce a List.
+     * the DList's tree to produce a List.
      * This is what converts the appending operation from left associative to right associative,
-     * giving DList it's speed.
+     * giving DList it's speed. The tree is walked from right to left with an explicit stack,
+     * so each element is copied once.
      * @return the final List
      */
     public List<A> run() {
-        return appendFn.f(List.nil()).run();
+        final ArrayDeque<Node<A>> stack = new ArrayDeque<>();
+        List<A> result = List.nil();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            final Node<A> n = stack.pop();
+            if (n instanceof Append) {
+                final Append<A> ap = (Append<A>) n;
+                stack.push(ap.left);
+                stack.push(ap.right);
+            } else if (n instanceof Leaf) {
+                final List<A> as = ((Leaf<A>) n).as;
+                result = result.isEmpty() ? as : List.Buffer.fromList(as).prependToList(result);
+            } else if (n instanceof Single) {
+                result = result.cons(((Single<A>) n).a);
+            } else {
+                result = ((Fn<A>) n).f.f(result).run();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs a left-fold reduction across this DList without building the concatenated list.
+     * This function runs in constant stack space.
+     *
+     * @param f The function to apply on each element of the DList.
+     * @param b The beginning value to start the application from.
+     * @return The final result after the left-fold reduction.
+     */
+    public <B> B foldLeft(final F2<B, A, B> f, final B b) {
+        B x = b;
+        for (final A a : this) {
+            x = f.f(x, a);
+        }
+        return x;
+    }
+
+    /**
+     * Returns an iterator over the elements of this DList which walks the internal tree from left
+     * to right without building the concatenated list.
+     */
+    public Iterator<A> iterator() {
+        final ArrayDeque<Node<A>> stack = new ArrayDeque<>();
+        stack.push(node);
+        return new Iterator<A>() {
+            private List<A> current = List.nil();
+
+            public boolean hasNext() {
+                while (current.isEmpty() && !stack.isEmpty()) {
+                    final Node<A> n = stack.pop();
+                    if (n instanceof Append) {
+                        final Append<A> ap = (Append<A>) n;
+                        stack.push(ap.right);
+                        stack.push(ap.left);
+                    } else if (n instanceof Leaf) {
+                        current = ((Leaf<A>) n).as;
+                    } else if (n instanceof Single) {
+                        current = List.single(((Single<A>) n).a);
+                    } else {
+                        current = ((Fn<A>) n).f.f(List.nil()).run();
+                    }
+                }
+                return current.isNotEmpty();
+            }
+
+            public A next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                final A a = current.head();
+                current = current.tail();
+                return a;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
     }
 
     /**
      * Converts the DList to a standard java.util.List.
      */
     public java.util.List<A> toJavaList() {
-        return run().toJavaList();
+        final ArrayList<A> result = new ArrayList<>();
+        for (final A a : this) {
+            result.add(a);
+        }
+        return result;
     }
-    
+
     /**
      * A empty DList.
      * @param <A>
      * @return a empty DList.
      */
+    @SuppressWarnings("unchecked")
     public static <A> DList<A> nil() {
-        return new DList<>(Trampoline.pure());
+        return (DList<A>) NIL;
     }
-    
+
     /**
      * Produces a DList with one element.
      * @param <A>
@@ -95,9 +225,9 @@ public final class DList<A> {
      * @return a DList with one element.
      */
     public static <A> DList<A> single(A a) {
-        return new DList<>((List<A> tail) -> Trampoline.pure(tail.cons(a)));
+        return new DList<>(new Single<>(a));
     }
-    
+
     /**
      * Prepends a single element on the DList to produce a new DList.
      * @param a the element to append.
@@ -106,7 +236,7 @@ public final class DList<A> {
     public DList<A> cons(A a) {
         return single(a).append(this);
     }
-    
+
     /**
      * Appends a single element on the end of the DList to produce a new DList.
      * @param a the element to append.
@@ -115,17 +245,13 @@ public final class DList<A> {
     public DList<A> snoc(A a) {
         return this.append(single(a));
     }
-    
+
     /**
-     * Appends two DLists together to produce a new DList.
+     * Appends two DLists together to produce a new DList. This operation takes O(1).
      * @param other the other DList to append on the end of this one.
      * @return the new DList.
      */
     public DList<A> append(DList<A> other) {
-        return new DList<>(kleisliTrampCompose(this.appendFn, other.appendFn));
-    }
-    
-    private static <A,B,C> F<A,Trampoline<C>> kleisliTrampCompose(F<B,Trampoline<C>> bc, F<A,Trampoline<B>> ab) {
-        return (A a) -> ab.f(a).bind((B b) -> Trampoline.suspend(() -> bc.f(b)));
+        return this == NIL ? other : other == NIL ? this : new DList<>(new Append<>(this.node, other.node));
     }
 }
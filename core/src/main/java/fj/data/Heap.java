@@ -0,0 +1,249 @@
+package fj.data;
+
+import fj.F;
+import fj.Ord;
+import fj.P2;
+import fj.Show;
+
+import java.util.Iterator;
+
+import static fj.P.p;
+import static fj.data.List.nil;
+import static fj.data.Option.none;
+import static fj.data.Option.some;
+
+/**
+ * A persistent pairing heap ordered by an {@link Ord}. The element for which the order is least
+ * is kept at the root, so {@link #findMin()}, {@link #insert(Object)} and {@link #meld(Heap)}
+ * take O(1) while {@link #deleteMin()} takes O(log n) amortised. A heap with the greatest
+ * element at the root is obtained with a reversed order, see {@link #emptyMax(Ord)}.
+ *
+ * Unlike {@link PriorityQueue} no measure is recomputed on insertion and no split is performed
+ * on removal. Elements which compare equal are not guaranteed to be returned FIFO.
+ */
+public final class Heap<A> implements Iterable<A> {
+
+  private static final class Node<A> {
+    final A value;
+    final List<Node<A>> children;
+
+    Node(final A value, final List<Node<A>> children) {
+      this.value = value;
+      this.children = children;
+    }
+  }
+
+  private final Ord<A> ord;
+  private final Node<A> root;
+  private final int size;
+
+  private Heap(final Ord<A> ord, final Node<A> root, final int size) {
+    this.ord = ord;
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Creates an empty heap whose root is the least element according to the given order.
+   *
+   * @param ord The order of the elements of the heap.
+   * @return An empty heap.
+   */
+  public static <A> Heap<A> empty(final Ord<A> ord) {
+    return new Heap<>(ord, null, 0);
+  }
+
+  /**
+   * Creates an empty heap whose root is the greatest element according to the given order.
+   *
+   * @param ord The order of the elements of the heap.
+   * @return An empty heap.
+   */
+  public static <A> Heap<A> emptyMax(final Ord<A> ord) {
+    return empty(ord.reverse());
+  }
+
+  /**
+   * Creates a heap holding a single element.
+   *
+   * @param ord The order of the elements of the heap.
+   * @param a   The element of the heap.
+   * @return A heap holding the given element.
+   */
+  public static <A> Heap<A> single(final Ord<A> ord, final A a) {
+    return new Heap<>(ord, new Node<>(a, nil()), 1);
+  }
+
+  /**
+   * Creates a heap from the elements of the given iterable. This operation takes O(n).
+   *
+   * @param ord The order of the elements of the heap.
+   * @param as  The elements of the heap.
+   * @return A heap holding the given elements.
+   */
+  public static <A> Heap<A> iterableHeap(final Ord<A> ord, final Iterable<A> as) {
+    Heap<A> h = empty(ord);
+    for (final A a : as) {
+      h = h.insert(a);
+    }
+    return h;
+  }
+
+  /**
+   * Creates a heap from the given elements. This operation takes O(n).
+   *
+   * @param ord The order of the elements of the heap.
+   * @param as  The elements of the heap.
+   * @return A heap holding the given elements.
+   */
+  @SafeVarargs
+  public static <A> Heap<A> heap(final Ord<A> ord, final A... as) {
+    Heap<A> h = empty(ord);
+    for (final A a : as) {
+      h = h.insert(a);
+    }
+    return h;
+  }
+
+  /**
+   * Returns the order of this heap.
+   *
+   * @return The order of this heap.
+   */
+  public Ord<A> ord() {
+    return ord;
+  }
+
+  /**
+   * Is the heap empty?
+   */
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Returns the number of elements in this heap. This operation takes O(1).
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the least element of this heap if there is one. This operation takes O(1).
+   */
+  public Option<A> findMin() {
+    return root == null ? none() : some(root.value);
+  }
+
+  /**
+   * Adds the given element to this heap. This operation takes O(1).
+   */
+  public Heap<A> insert(final A a) {
+    return new Heap<>(ord, link(root, new Node<>(a, nil())), size + 1);
+  }
+
+  /**
+   * Merges the given heap into this one. Both heaps must have the same order: the elements of a heap with
+   * another order are not reordered, so that the result would not be a heap. This operation takes O(1).
+   */
+  public Heap<A> meld(final Heap<A> h) {
+    return new Heap<>(ord, link(root, h.root), size + h.size);
+  }
+
+  /**
+   * Removes the least element of this heap, if there is one. This operation takes O(log n)
+   * amortised and runs in constant stack space.
+   */
+  public Heap<A> deleteMin() {
+    return root == null ? this : new Heap<>(ord, mergePairs(root.children), size - 1);
+  }
+
+  /**
+   * Returns the least element of this heap together with the remaining heap, if this heap is
+   * not empty.
+   */
+  public Option<P2<A, Heap<A>>> uncons() {
+    return root == null ? none() : some(p(root.value, deleteMin()));
+  }
+
+  /**
+   * Performs a reduction on this heap using the given arguments.
+   *
+   * @param nil  The value to return if this heap is empty.
+   * @param cons The function to apply to the least element and the remaining heap.
+   * @return A reduction on this heap.
+   */
+  public <B> B uncons(final B nil, final F<A, F<Heap<A>, B>> cons) {
+    return root == null ? nil : cons.f(root.value).f(deleteMin());
+  }
+
+  /**
+   * Returns the elements of this heap in order as a lazy stream.
+   */
+  public Stream<A> toStream() {
+    return root == null ? Stream.nil() : Stream.cons(root.value, () -> deleteMin().toStream());
+  }
+
+  /**
+   * Returns the elements of this heap in order. This operation takes O(n log n).
+   */
+  public List<A> toList() {
+    final List.Buffer<A> b = List.Buffer.empty();
+    Heap<A> h = this;
+    while (h.root != null) {
+      b.snoc(h.root.value);
+      h = h.deleteMin();
+    }
+    return b.toList();
+  }
+
+  /**
+   * Returns an iterator over the elements of this heap in order.
+   */
+  public Iterator<A> iterator() {
+    return toStream().iterator();
+  }
+
+  @Override
+  public String toString() {
+    return Show.heapShow(Show.<A>anyShow()).showS(this);
+  }
+
+  private Node<A> link(final Node<A> x, final Node<A> y) {
+    if (x == null) {
+      return y;
+    } else if (y == null) {
+      return x;
+    } else if (ord.isLessThanOrEqualTo(x.value, y.value)) {
+      return new Node<>(x.value, x.children.cons(y));
+    } else {
+      return new Node<>(y.value, y.children.cons(x));
+    }
+  }
+
+  /**
+   * The two pass pairing merge: link the children pairwise from left to right, then link the
+   * results from right to left. Both passes are loops.
+   */
+  private Node<A> mergePairs(final List<Node<A>> children) {
+    List<Node<A>> pairs = nil();
+    List<Node<A>> rest = children;
+    while (rest.isNotEmpty()) {
+      final Node<A> first = rest.head();
+      final List<Node<A>> tail = rest.tail();
+      if (tail.isEmpty()) {
+        pairs = pairs.cons(first);
+        rest = tail;
+      } else {
+        pairs = pairs.cons(link(first, tail.head()));
+        rest = tail.tail();
+      }
+    }
+    Node<A> result = null;
+    for (final Node<A> n : pairs) {
+      result = link(n, result);
+    }
+    return result;
+  }
+
+}
@@ -1,7 +1,10 @@
 package fj.data;
 
 import fj.F;
+import fj.P;
 import fj.Unit;
+import fj.control.parallel.Promise;
+import fj.control.parallel.Strategy;
 import fj.function.Try0;
 
 import java.io.IOException;
@@ -26,6 +29,20 @@ public interface IO<A> extends Try0<A, IOException> {
 		return IOFunctions.toSafeValidation(this);
 	}
 
+	/**
+	 * Runs this IO on a thread of the given strategy, returning a promise of its outcome.
+	 */
+	default Promise<Validation<IOException, A>> runAsync(Strategy<Unit> s) {
+		return Promise.promise(s, P.lazy(() -> safe().run()));
+	}
+
+	/**
+	 * Converts this IO to an asynchronous action run on a thread of the given strategy.
+	 */
+	default AsyncIO<A> toAsync(Strategy<Unit> s) {
+		return AsyncIO.fromIO(s, this);
+	}
+
 	default <B> IO<B> map(F<A, B> f) {
 		return IOFunctions.map(this, f);
 	}
@@ -4,11 +4,13 @@ import fj.F;
 import fj.F0;
 import fj.F2;
 import fj.Function;
+import fj.Monoid;
 import fj.P;
 import fj.P1;
 import fj.P2;
 import fj.Try;
 import fj.Unit;
+import fj.control.parallel.Strategy;
 import fj.data.Iteratee.Input;
 import fj.data.Iteratee.IterV;
 import fj.function.Try0;
@@ -21,7 +23,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import static fj.Bottom.errorF;
@@ -32,7 +41,8 @@ import static fj.Function.partialApply2;
  * IO monad for processing files, with main methods {@link #enumFileLines },
  * {@link #enumFileChars} and {@link #enumFileCharChunks}
  * (the latter one is the fastest as char chunks read from the file are directly passed to the iteratee
- * without indirection in between).
+ * without indirection in between). Undecoded content is enumerated with {@link #enumFileByteChunks}
+ * and, for large files, {@link #enumFileMappedByteChunks}.
  *
  * @author Martin Grotzke
  */
@@ -40,6 +50,12 @@ public final class IOFunctions {
 
     private static final int DEFAULT_BUFFER_SIZE = 1024 * 4;
 
+    private static final int BYTE_BUFFER_SIZE = 1024 * 64;
+
+    private static final int MAPPED_REGION_SIZE = 1024 * 1024 * 64;
+
+    private static final int MIN_RANGE_SIZE = 1024 * 1024;
+
     private IOFunctions() {
     }
 
@@ -61,6 +77,8 @@ public final class IOFunctions {
 
     public static final F<Reader, IO<Unit>> closeReader = IOFunctions::closeReader;
 
+    public static final F<Channel, IO<Unit>> closeChannel = IOFunctions::closeChannel;
+
     /**
      * Convert io to a SafeIO, throwing any IOException wrapped inside a RuntimeException
      * @param io
@@ -90,6 +108,13 @@ public final class IOFunctions {
         };
     }
 
+    public static IO<Unit> closeChannel(final Channel c) {
+        return () -> {
+            c.close();
+            return Unit.unit();
+        };
+    }
+
     /**
      * An IO monad that reads lines from the given file (using a {@link BufferedReader}) and passes
      * lines to the provided iteratee. May not be suitable for files with very long
@@ -114,9 +139,9 @@ public final class IOFunctions {
      * @param i        the iteratee that is fed with char chunks read from the file
      */
     public static <A> IO<IterV<char[], A>> enumFileCharChunks(final File f, final Option<Charset> encoding, final IterV<char[], A> i) {
-        return bracket(fileReader(f, encoding)
-                , Function.vary(closeReader)
-                , partialApply2(IOFunctions.charChunkReader(), i));
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> decodeChunks(c, Long.MAX_VALUE, encoding, i, IOFunctions::feed));
     }
 
     /**
@@ -127,9 +152,113 @@ public final class IOFunctions {
      * @param i        the iteratee that is fed with chars read from the file
      */
     public static <A> IO<IterV<Character, A>> enumFileChars(final File f, final Option<Charset> encoding, final IterV<Character, A> i) {
-        return bracket(fileReader(f, encoding)
-                , Function.vary(closeReader)
-                , partialApply2(IOFunctions.charChunkReader2(), i));
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> decodeChunks(c, Long.MAX_VALUE, encoding, i, IOFunctions::feedChars));
+    }
+
+    /**
+     * An IO monad that reads byte chunks from the given file and passes them to the given iteratee.
+     * A single buffer is reused for all chunks, so the iteratee must consume each chunk before it
+     * returns and must not keep a reference to it.
+     *
+     * @param f the file to read, must not be <code>null</code>
+     * @param i the iteratee that is fed with byte chunks read from the file
+     */
+    public static <A> IO<IterV<ByteBuffer, A>> enumFileByteChunks(final File f, final IterV<ByteBuffer, A> i) {
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , partialApply2(IOFunctions.byteChunkReader(), i));
+    }
+
+    /**
+     * An IO monad that maps the given file into memory region by region and passes each region to the
+     * given iteratee as a read-only byte chunk, so the content is never copied into the heap. The regions
+     * are at most 64MB long.
+     *
+     * @param f the file to read, must not be <code>null</code>
+     * @param i the iteratee that is fed with the mapped regions of the file
+     */
+    public static <A> IO<IterV<ByteBuffer, A>> enumFileMappedByteChunks(final File f, final IterV<ByteBuffer, A> i) {
+        return bracket(fileChannel(f)
+                , Function.vary(closeChannel)
+                , c -> () -> {
+                    IterV<ByteBuffer, A> it = i;
+                    final long size = c.size();
+                    long position = 0;
+                    while (position < size && !isDone(it)) {
+                        final long n = Math.min(MAPPED_REGION_SIZE, size - position);
+                        it = feed(it, c.map(FileChannel.MapMode.READ_ONLY, position, n));
+                        position += n;
+                    }
+                    return it;
+                });
+    }
+
+    /**
+     * An IO monad that splits the given file into byte ranges starting at line boundaries, one per available
+     * processor, feeds the lines of each range to the given iteratee in parallel with the given strategy and
+     * sums the results of the ranges, in file order, with the given monoid. Ranges are at least 1MB long, so
+     * small files are read by a single iteratee.
+     * <p>
+     * Lines are terminated by a line feed, optionally preceded by a carriage return. The encoding must represent
+     * the line feed as the single byte <code>0x0A</code> and never use that byte otherwise, as UTF-8, ISO-8859-1
+     * and other ASCII compatible encodings do.
+     *
+     * @param f        the file to read, must not be <code>null</code>
+     * @param encoding the encoding to use, {@link Option#none()} means platform default
+     * @param s        the strategy that runs the iteratees of the ranges
+     * @param i        the iteratee that is fed with the lines of each range
+     * @param m        the monoid that sums the results of the ranges
+     */
+    public static <A> IO<A> parEnumFileLines(final File f, final Option<Charset> encoding, final Strategy<A> s,
+                                             final IterV<String, A> i, final Monoid<A> m) {
+        final IterV<char[], A> lines = Iteratee.Enumeratee.lines().andThen(Iteratee.Enumeratee.<String>unbatch()).apply(i);
+        return bind(lineRanges(f, Runtime.getRuntime().availableProcessors(), MIN_RANGE_SIZE), ranges ->
+                () -> m.sumLeft(s.parMap(r -> runSafe(bracket(fileChannel(f), Function.vary(closeChannel), c -> () -> {
+                    c.position(r._1());
+                    return decodeChunks(c, r._2(), encoding, lines, IOFunctions::feed).run();
+                })), ranges)._1()));
+    }
+
+    /**
+     * Splits the file into at most the given number of byte ranges of at least the given size, except for the last
+     * one, each starting at the beginning of a line.
+     */
+    static IO<List<P2<Long, Long>>> lineRanges(final File f, final int parts, final long minSize) {
+        return bracket(fileChannel(f), Function.vary(closeChannel), c -> () -> {
+            final long size = c.size();
+            final long n = Math.max(1, Math.min(parts, size / minSize));
+            final ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+            final List.Buffer<P2<Long, Long>> ranges = List.Buffer.empty();
+            long start = 0;
+            for (int k = 1; k <= n && start < size; k++) {
+                long end = k == n ? size : Math.max(start, size / n * k - 1);
+                // move the end of the range past the next line feed
+                while (end < size) {
+                    buffer.clear();
+                    final int read = c.read(buffer, end);
+                    int j = 0;
+                    while (j < read && buffer.get(j) != '\n') {
+                        j++;
+                    }
+                    end += j;
+                    if (j < read) {
+                        end++;
+                        break;
+                    }
+                }
+                if (end > start) {
+                    ranges.snoc(P.p(start, end));
+                }
+                start = end;
+            }
+            return ranges.toList();
+        });
+    }
+
+    public static IO<FileChannel> fileChannel(final File f) {
+        return () -> FileChannel.open(f.toPath(), StandardOpenOption.READ);
     }
 
     public static IO<BufferedReader> bufferedReader(final File f, final Option<Charset> encoding) {
@@ -303,6 +432,96 @@ public final class IOFunctions {
         }
     }
 
+    /**
+     * A function that feeds an iteratee with byte chunks read from a {@link FileChannel} into a single
+     * reused buffer of 64KB.
+     */
+    public static <A> F<FileChannel, F<IterV<ByteBuffer, A>, IO<IterV<ByteBuffer, A>>>> byteChunkReader() {
+        return c -> it -> () -> {
+            // use loop instead of recursion because of missing TCO
+            final ByteBuffer buffer = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+            IterV<ByteBuffer, A> i = it;
+            while (!isDone(i)) {
+                buffer.clear();
+                if (c.read(buffer) == -1) {
+                    return i;
+                }
+                buffer.flip();
+                i = feed(i, buffer);
+            }
+            return i;
+        };
+    }
+
+    /**
+     * Decodes the content of the channel into char chunks of at most {@link #DEFAULT_BUFFER_SIZE} chars,
+     * reusing the byte and char buffers, and passes each chunk to the given iteratee with the given function.
+     * Malformed input is replaced, as {@link InputStreamReader} does.
+     */
+    private static <E, A> IterV<E, A> decodeChunks(final FileChannel c, final long end, final Option<Charset> encoding,
+                                                   final IterV<E, A> it, final F2<IterV<E, A>, char[], IterV<E, A>> feed)
+            throws IOException {
+        final CharsetDecoder decoder = encoding.orSome(Charset.defaultCharset()).newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final ByteBuffer bytes = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        // large enough for the chars of a full byte buffer, so decoding never overflows
+        final CharBuffer chars = CharBuffer.allocate((int) Math.ceil(DEFAULT_BUFFER_SIZE * (double) decoder.maxCharsPerByte()));
+        IterV<E, A> i = it;
+        boolean eof = false;
+        while (!eof && !isDone(i)) {
+            eof = read(c, bytes, end) == -1;
+            bytes.flip();
+            decoder.decode(bytes, chars, eof);
+            if (eof) {
+                decoder.flush(chars);
+            }
+            bytes.compact();
+            if (chars.position() > 0) {
+                chars.flip();
+                final char[] chunk = new char[chars.remaining()];
+                chars.get(chunk);
+                chars.clear();
+                i = feed.f(i, chunk);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Reads from the current position of the channel into the buffer, stopping at the given end position.
+     */
+    private static int read(final FileChannel c, final ByteBuffer buffer, final long end) throws IOException {
+        final long remaining = end - c.position();
+        if (remaining <= 0) {
+            return -1;
+        } else if (remaining < buffer.remaining()) {
+            final int limit = buffer.limit();
+            buffer.limit(buffer.position() + (int) remaining);
+            final int n = c.read(buffer);
+            buffer.limit(limit);
+            return n;
+        } else {
+            return c.read(buffer);
+        }
+    }
+
+    private static <A> IterV<Character, A> feedChars(final IterV<Character, A> it, final char[] chunk) {
+        IterV<Character, A> i = it;
+        for (int n = 0; n < chunk.length && !isDone(i); n++) {
+            i = feed(i, chunk[n]);
+        }
+        return i;
+    }
+
+    private static <E, A> boolean isDone(final IterV<E, A> i) {
+        return i.fold(constant(true), constant(false));
+    }
+
+    private static <E, A> IterV<E, A> feed(final IterV<E, A> i, final E e) {
+        return i.fold(constant(i), k -> k.f(Input.el(e)));
+    }
+
     public static <A, B> IO<B> map(final IO<A> io, final F<A, B> f) {
         return () -> f.f(io.run());
     }
@@ -459,15 +678,21 @@ public final class IOFunctions {
         };
     }
 
+    /**
+     * Reads standard input lazily, in chunks of at most {@link #DEFAULT_BUFFER_SIZE} characters.
+     */
     public static IO<LazyString> getContents() {
-        Stream<IO<Integer>> s = Stream.repeat(() -> stdinBufferedReader.read());
-        return map(sequenceWhile(s, i -> i != -1), s2 -> LazyString.fromStream(s2.map(i -> (char) i.intValue())));
+        return () -> LazyString.fromChunks(() -> {
+            final char[] buffer = new char[DEFAULT_BUFFER_SIZE];
+            final int numRead = runSafe(() -> stdinBufferedReader.read(buffer));
+            return numRead == -1 ? Option.none() : Option.some(new String(buffer, 0, numRead));
+        });
     }
 
     public static IO<Unit> interact(F<LazyString, LazyString> f) {
         return bind(getContents(), ls1 -> {
             LazyString ls2 = f.f(ls1);
-            return stdoutPrintln(ls2.toString());
+            return stdoutPrintln(ls2.eval());
         });
     }
 
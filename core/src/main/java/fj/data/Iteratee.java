@@ -1,12 +1,17 @@
 package fj.data;
 
 import fj.F;
+import fj.Equal;
 import fj.F0;
+import fj.F2;
 import fj.Function;
 import fj.P;
 import fj.P2;
 import fj.Unit;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
 public final class Iteratee {
 
   /** The input to an iteratee. */
@@ -214,6 +219,288 @@ public final class Iteratee {
           };
         return cont(step.f(List.nil()));
     }
+
+    /** An iteratee that consumes the input elements and combines them from left to right with the given function */
+    public static <E, A> IterV<E, A> foldLeft(final F2<A, E, A> f, final A a) {
+      final F<A, F<Input<E>, IterV<E, A>>> step =
+        new F<A, F<Input<E>, IterV<E, A>>>() {
+          final F<A, F<Input<E>, IterV<E, A>>> step = this;
+
+          @Override
+          public F<Input<E>, IterV<E, A>> f(final A acc) {
+            final F0<IterV<E, A>> empty = () -> cont(step.f(acc));
+
+            final F0<F<E, IterV<E, A>>> el = () -> e -> cont(step.f(f.f(acc, e)));
+
+            final F0<IterV<E, A>> eof = () -> done(acc, Input.<E>eof());
+
+            return s -> s.apply(empty, el, eof);
+          }
+        };
+      return cont(step.f(a));
+    }
+
+    /** An iteratee that counts the bytes of the input chunks. The chunks are not modified. */
+    public static IterV<ByteBuffer, Long> byteLength() {
+      return foldLeft((acc, b) -> acc + b.remaining(), 0L);
+    }
+
+    /** An iteratee that counts the occurrences of the given byte in the input chunks, for instance the lines of
+     * a file with <code>byteCount((byte) '\n')</code>. The chunks are not modified. */
+    public static IterV<ByteBuffer, Long> byteCount(final byte b) {
+      return foldLeft((acc, buffer) -> {
+        long n = acc;
+        final int limit = buffer.limit();
+        if (buffer.hasArray()) {
+          final byte[] bytes = buffer.array();
+          for (int i = buffer.arrayOffset() + buffer.position(), end = buffer.arrayOffset() + limit; i < end; i++) {
+            if (bytes[i] == b)
+              n++;
+          }
+        } else {
+          for (int i = buffer.position(); i < limit; i++) {
+            if (buffer.get(i) == b)
+              n++;
+          }
+        }
+        return n;
+      }, 0L);
+    }
+  }
+
+  /**
+   * A transformer between two iteratee stages: it adapts an iteratee consuming elements of type O into an iteratee
+   * consuming elements of type I. The adapted iteratee is done when the inner iteratee is done, or else when the input
+   * ends, yielding the result of the inner iteratee.
+   * <p>
+   * The transformers of element chunks, such as {@link #map(F)} or {@link #lines()}, consume and produce arrays of
+   * elements so that each step through a stage processes a whole chunk, see {@link #batch(int)} and
+   * {@link #unbatch()} to convert between chunks and single elements.
+   */
+  public abstract static class Enumeratee<I, O> {
+
+    /** Adapts the given iteratee to consume the input of this enumeratee */
+    public abstract <A> IterV<I, A> apply(final IterV<O, A> i);
+
+    /** Composes this enumeratee with the given one, which transforms the output of this one */
+    public final <P> Enumeratee<I, P> andThen(final Enumeratee<O, P> e) {
+      final Enumeratee<I, O> self = this;
+      return new Enumeratee<I, P>() {
+        @Override
+        public <A> IterV<I, A> apply(final IterV<P, A> i) {
+          return self.apply(e.apply(i));
+        }
+      };
+    }
+
+    /**
+     * An enumeratee that threads a state through the input elements, producing at most one output element per input
+     * element, and at most one final element from the state when the input ends.
+     */
+    public static <I, O, S> Enumeratee<I, O> mapAccum(final S s, final F2<S, I, P2<S, Option<O>>> f,
+                                                      final F<S, Option<O>> last) {
+      return new Enumeratee<I, O>() {
+        @Override
+        public <A> IterV<I, A> apply(final IterV<O, A> i) {
+          return step(s, i);
+        }
+
+        private <A> IterV<I, A> step(final S state, final IterV<O, A> i) {
+          if (isDone(i))
+            return IterV.done(i.run(), Input.empty());
+          final F0<IterV<I, A>> empty = () -> step(state, i);
+          final F0<F<I, IterV<I, A>>> el = () -> e -> {
+            final P2<S, Option<O>> r = f.f(state, e);
+            return step(r._1(), feed(i, r._2()));
+          };
+          final F0<IterV<I, A>> eof = () -> IterV.done(feed(i, last.f(state)).run(), Input.eof());
+          return IterV.cont(in -> in.apply(empty, el, eof));
+        }
+      };
+    }
+
+    /** An enumeratee that applies the given function to each element */
+    public static <I, O> Enumeratee<I, O> mapElements(final F<I, O> f) {
+      return mapAccum(Unit.unit(), (u, e) -> P.p(u, Option.some(f.f(e))), u -> Option.none());
+    }
+
+    /** An enumeratee that applies the given function to each element of the input chunks */
+    public static <A, B> Enumeratee<Array<A>, Array<B>> map(final F<A, B> f) {
+      return mapElements(as -> as.map(f));
+    }
+
+    /** An enumeratee that keeps the elements of the input chunks satisfying the given predicate, dropping the chunks
+     * left empty */
+    public static <A> Enumeratee<Array<A>, Array<A>> filter(final F<A, Boolean> f) {
+      return mapAccum(Unit.unit(), (u, as) -> {
+        final Array<A> bs = as.filter(f);
+        return P.p(u, bs.isEmpty() ? Option.<Array<A>>none() : Option.some(bs));
+      }, u -> Option.none());
+    }
+
+    /** An enumeratee that passes on the first n elements of the input chunks, then ends the input of the inner
+     * iteratee. The remainder of the chunk holding the last element passed on is left as remaining input. */
+    public static <A> Enumeratee<Array<A>, Array<A>> take(final int n) {
+      return new Enumeratee<Array<A>, Array<A>>() {
+        @Override
+        public <B> IterV<Array<A>, B> apply(final IterV<Array<A>, B> i) {
+          return step(n, i);
+        }
+
+        private <B> IterV<Array<A>, B> step(final int m, final IterV<Array<A>, B> i) {
+          if (m <= 0 || isDone(i))
+            return IterV.done(i.run(), Input.empty());
+          final F0<IterV<Array<A>, B>> empty = () -> step(m, i);
+          final F0<F<Array<A>, IterV<Array<A>, B>>> el = () -> as -> {
+            if (as.length() <= m)
+              return step(m - as.length(), feed(i, Option.some(as)));
+            final Object[] taken = new Object[m];
+            final Object[] rest = new Object[as.length() - m];
+            for (int k = 0; k < as.length(); k++) {
+              if (k < m)
+                taken[k] = as.get(k);
+              else
+                rest[k - m] = as.get(k);
+            }
+            return IterV.done(feed(i, Option.some(Array.<A>mkArray(taken))).run(), Input.el(Array.<A>mkArray(rest)));
+          };
+          final F0<IterV<Array<A>, B>> eof = () -> IterV.done(i.run(), Input.eof());
+          return IterV.cont(in -> in.apply(empty, el, eof));
+        }
+      };
+    }
+
+    /** An enumeratee that splits the input chunks into the segments between the elements satisfying the given
+     * predicate, which are dropped. Segments may span chunks; a final segment that is not followed by a delimiter is
+     * produced when the input ends, if it is not empty. */
+    public static <A> Enumeratee<Array<A>, Array<List<A>>> splitOn(final F<A, Boolean> f) {
+      // the elements of the pending segment are kept in reverse order
+      return mapAccum(List.<A>nil(), (pending, as) -> {
+        final ArrayList<Object> segments = new ArrayList<>();
+        List<A> segment = pending;
+        for (final A a : as) {
+          if (f.f(a)) {
+            segments.add(segment.reverse());
+            segment = List.nil();
+          } else {
+            segment = segment.cons(a);
+          }
+        }
+        return P.p(segment, segments.isEmpty() ? Option.<Array<List<A>>>none() :
+            Option.some(Array.<List<A>>mkArray(segments.toArray())));
+      }, pending -> pending.isEmpty() ? Option.none() : Option.some(Array.single(pending.reverse())));
+    }
+
+    /** An enumeratee that splits character chunks into the strings between the given delimiter, which is dropped.
+     * Strings may span chunks; a final string that is not followed by a delimiter is produced when the input ends, if
+     * it is not empty. */
+    public static Enumeratee<char[], Array<String>> splitOn(final char c) {
+      return splitChars(c, false);
+    }
+
+    /** An enumeratee that splits character chunks into lines, terminated by a line feed that may be preceded by a
+     * carriage return. */
+    public static Enumeratee<char[], Array<String>> lines() {
+      return splitChars('\n', true);
+    }
+
+    private static Enumeratee<char[], Array<String>> splitChars(final char c, final boolean lines) {
+      final F<String, String> strip = lines ? l -> l.endsWith("\r") ? l.substring(0, l.length() - 1) : l : l -> l;
+      // the pieces of the pending string, one per chunk it spans, are kept in reverse order and only joined once the
+      // string is complete
+      return mapAccum(List.<String>nil(), (pending, cs) -> {
+        final ArrayList<Object> segments = new ArrayList<>();
+        int from = 0;
+        List<String> head = pending;
+        for (int k = 0; k < cs.length; k++) {
+          if (cs[k] == c) {
+            final String segment = new String(cs, from, k - from);
+            segments.add(strip.f(head.isEmpty() ? segment : join(head.cons(segment))));
+            head = List.nil();
+            from = k + 1;
+          }
+        }
+        final List<String> rest = from == cs.length ? head : head.cons(new String(cs, from, cs.length - from));
+        return P.p(rest, segments.isEmpty() ? Option.<Array<String>>none() :
+            Option.some(Array.<String>mkArray(segments.toArray())));
+      }, pending -> pending.isEmpty() ? Option.none() : Option.some(Array.single(strip.f(join(pending)))));
+    }
+
+    // joins the given pieces, which are in reverse order
+    private static String join(final List<String> pieces) {
+      int n = 0;
+      for (final String s : pieces)
+        n += s.length();
+      final char[] cs = new char[n];
+      for (final String s : pieces) {
+        n -= s.length();
+        s.getChars(0, s.length(), cs, n);
+      }
+      return new String(cs);
+    }
+
+    /** An enumeratee that groups the consecutive equal elements of the input chunks. Groups may span chunks; the last
+     * group is produced when the input ends. */
+    public static <A> Enumeratee<Array<A>, Array<List<A>>> groupBy(final Equal<A> eq) {
+      // the elements of the pending group are kept in reverse order, with the first of them
+      return mapAccum(P.p(Option.<A>none(), List.<A>nil()), (pending, as) -> {
+        final ArrayList<Object> groups = new ArrayList<>();
+        Option<A> first = pending._1();
+        List<A> group = pending._2();
+        for (final A a : as) {
+          if (first.isNone()) {
+            first = Option.some(a);
+          } else if (!eq.eq(first.some(), a)) {
+            groups.add(group.reverse());
+            group = List.nil();
+            first = Option.some(a);
+          }
+          group = group.cons(a);
+        }
+        return P.p(P.p(first, group), groups.isEmpty() ? Option.<Array<List<A>>>none() :
+            Option.some(Array.<List<A>>mkArray(groups.toArray())));
+      }, pending -> pending._2().isEmpty() ? Option.none() : Option.some(Array.single(pending._2().reverse())));
+    }
+
+    /** An enumeratee that collects the input elements into chunks of the given size; the last chunk, produced when
+     * the input ends, may be smaller. */
+    public static <A> Enumeratee<A, Array<A>> batch(final int size) {
+      // the pending elements are kept in reverse order, with their count
+      return mapAccum(P.p(0, List.<A>nil()), (pending, a) -> {
+        final int n = pending._1() + 1;
+        final List<A> as = pending._2().cons(a);
+        return n < size ? P.p(P.p(n, as), Option.<Array<A>>none()) :
+            P.p(P.p(0, List.<A>nil()), Option.some(as.reverse().toArray()));
+      }, pending -> pending._2().isEmpty() ? Option.none() : Option.some(pending._2().reverse().toArray()));
+    }
+
+    /** An enumeratee that passes on the elements of the input chunks one by one */
+    public static <A> Enumeratee<Array<A>, A> unbatch() {
+      return new Enumeratee<Array<A>, A>() {
+        @Override
+        public <B> IterV<Array<A>, B> apply(final IterV<A, B> i) {
+          if (isDone(i))
+            return IterV.done(i.run(), Input.empty());
+          final F0<IterV<Array<A>, B>> empty = () -> apply(i);
+          final F0<F<Array<A>, IterV<Array<A>, B>>> el = () -> as -> {
+            IterV<A, B> j = i;
+            for (int k = 0; k < as.length() && !isDone(j); k++)
+              j = feed(j, Option.some(as.get(k)));
+            return apply(j);
+          };
+          final F0<IterV<Array<A>, B>> eof = () -> IterV.done(i.run(), Input.eof());
+          return IterV.cont(in -> in.apply(empty, el, eof));
+        }
+      };
+    }
+
+    private static <E, A> boolean isDone(final IterV<E, A> i) {
+      return i.fold(Function.constant(true), Function.constant(false));
+    }
+
+    private static <E, A> IterV<E, A> feed(final IterV<E, A> i, final Option<E> e) {
+      return e.isNone() ? i : i.fold(Function.constant(i), k -> k.f(Input.el(e.some())));
+    }
   }
 
   private Iteratee() {
@@ -2,27 +2,76 @@ package fj.data;
 
 import fj.*;
 
-import static fj.Function.compose;
+import static fj.Bottom.error;
 import static fj.Function.curry;
 import static fj.P.p;
 import static fj.data.Option.none;
 import static fj.data.Option.some;
-import static fj.data.Stream.join;
-import static fj.function.Booleans.or;
 import static fj.function.Characters.isSpaceChar;
-import static fj.Equal.charEqual;
-import static fj.Equal.streamEqual;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
 import java.util.regex.Pattern;
 
 /**
  * A lazy (non-evaluated) immutable character string.
+ * <p>
+ * A lazy string is a rope: a tree of appends whose leaves are strings and whose subtrees may be
+ * suspended until their characters are needed. Appending takes O(1) and does not evaluate either
+ * string. Once a string has been fully evaluated, by {@link #length()} or {@link #charAt(int)}
+ * for instance, it is rebuilt once as a balanced tree of chunks so that {@link #charAt(int)} and
+ * {@link #subSequence(int, int)} take O(log n) from then on.
  */
 public final class LazyString implements CharSequence {
-  private final Stream<Character> s;
+  private static final int CHUNK_SIZE = 4096;
+  private static final int SMALL_SIZE = 64;
+  private static final int MAX_DEPTH = 64;
 
-  private LazyString(final Stream<Character> s) {
-    this.s = s;
+  private abstract static class Node {
+  }
+
+  private static final class Leaf extends Node {
+    private final String s;
+
+    Leaf(final String s) {
+      this.s = s;
+    }
+  }
+
+  private static final class Concat extends Node {
+    private final Node left;
+    private final Node right;
+    // -1 if either side is not evaluated
+    private final int length;
+    private final int depth;
+
+    Concat(final Node left, final Node right) {
+      this.left = left;
+      this.right = right;
+      this.length = isStrict(left) && isStrict(right) ? length(left) + length(right) : -1;
+      this.depth = Math.max(depth(left), depth(right)) + 1;
+    }
+  }
+
+  private static final class Suspend extends Node {
+    private final P1<Node> node;
+
+    Suspend(final F0<Node> f) {
+      this.node = P.hardMemo(f);
+    }
+  }
+
+  private static final Leaf EMPTY = new Leaf("");
+
+  private final Node node;
+  // the balanced and fully evaluated form of node, computed on demand
+  private Node flat;
+
+  private LazyString(final Node node) {
+    this.node = node;
   }
 
   /**
@@ -32,12 +81,7 @@ public final class LazyString implements CharSequence {
    * @return A lazy string with the characters from the given string.
    */
   public static LazyString str(final String s) {
-    return new LazyString(Stream.unfold(o -> {
-        final String s2 = o._1();
-        final int n = o._2();
-        final Option<P2<Character, P2<String, Integer>>> none = none();
-        return s2.length() <= n ? none : some(p(s2.charAt(n), p(s2, n + 1)));
-      }, p(s, 0)));
+    return new LazyString(s.isEmpty() ? EMPTY : new Leaf(s));
   }
 
   /**
@@ -46,13 +90,60 @@ public final class LazyString implements CharSequence {
   public static final LazyString empty = str("");
 
   /**
-   * Constructs a lazy string from a stream of characters.
+   * Constructs a lazy string from a stream of characters. The characters of the stream are
+   * evaluated in chunks as they are needed.
    *
    * @param s A stream of characters.
    * @return A lazy string with the characters from the given stream.
    */
   public static LazyString fromStream(final Stream<Character> s) {
-    return new LazyString(s);
+    return new LazyString(chunksNode(() -> Stream.unfold(t -> {
+      Stream<Character> cs = t._1();
+      if (cs.isEmpty())
+        return none();
+      final StringBuilder sb = new StringBuilder();
+      while (true) {
+        sb.append(cs.head().charValue());
+        if (sb.length() >= CHUNK_SIZE)
+          return some(p(sb.toString(), cs.tail()));
+        cs = cs.tail()._1();
+        if (cs.isEmpty())
+          return some(p(sb.toString(), P.p(Stream.nil())));
+      }
+    }, P.p(s))));
+  }
+
+  /**
+   * Constructs a lazy string from a stream of chunks. Each chunk is evaluated when the first of
+   * its characters is needed.
+   *
+   * @param chunks A stream of strings.
+   * @return A lazy string that is the concatenation of the given strings.
+   */
+  public static LazyString fromChunks(final Stream<String> chunks) {
+    return new LazyString(chunksNode(() -> chunks));
+  }
+
+  /**
+   * Constructs a lazy string from chunks produced by the given function, which is called once
+   * for each chunk, when it is needed, until it returns none.
+   */
+  static LazyString fromChunks(final F0<Option<String>> next) {
+    return new LazyString(unfoldNode(next));
+  }
+
+  private static Node unfoldNode(final F0<Option<String>> next) {
+    return new Suspend(() -> {
+      final Option<String> o = next.f();
+      return o.isNone() ? EMPTY : new Concat(new Leaf(o.some()), unfoldNode(next));
+    });
+  }
+
+  private static Node chunksNode(final F0<Stream<String>> chunks) {
+    return new Suspend(() -> {
+      final Stream<String> cs = chunks.f();
+      return cs.isEmpty() ? EMPTY : new Concat(new Leaf(cs.head()), chunksNode(() -> cs.tail()._1()));
+    });
   }
 
   /**
@@ -61,26 +152,185 @@ public final class LazyString implements CharSequence {
    * @return A stream representation of this lazy string.
    */
   public Stream<Character> toStream() {
-    return s;
+    final Stream<String> cs = chunks();
+    return cs.isEmpty() ? Stream.nil() : chars(cs, 0);
+  }
+
+  private static Stream<Character> chars(final Stream<String> cs, final int i) {
+    final String h = cs.head();
+    return Stream.cons(h.charAt(i), () -> {
+      if (i + 1 < h.length())
+        return chars(cs, i + 1);
+      final Stream<String> t = cs.tail()._1();
+      return t.isEmpty() ? Stream.nil() : chars(t, 0);
+    });
+  }
+
+  /**
+   * Returns the non-empty leaves of this lazy string, from left to right, evaluating them as
+   * the stream is traversed.
+   */
+  private Stream<String> chunks() {
+    return chunks(List.single(node));
+  }
+
+  private static Stream<String> chunks(final List<Node> stack) {
+    List<Node> ns = stack;
+    while (ns.isNotEmpty()) {
+      final Node n = ns.head();
+      ns = ns.tail();
+      if (n instanceof Leaf) {
+        final String s = ((Leaf) n).s;
+        if (!s.isEmpty()) {
+          final List<Node> rest = ns;
+          return Stream.cons(s, () -> chunks(rest));
+        }
+      } else if (n instanceof Concat) {
+        ns = ns.cons(((Concat) n).right).cons(((Concat) n).left);
+      } else {
+        ns = ns.cons(((Suspend) n).node._1());
+      }
+    }
+    return Stream.nil();
+  }
+
+  /**
+   * Returns an iterator over the non-empty leaves of the given rope, from left to right,
+   * evaluating them as the iterator advances.
+   */
+  private static Iterator<String> leaves(final Node node) {
+    final ArrayDeque<Node> stack = new ArrayDeque<>();
+    stack.push(node);
+    return new Iterator<String>() {
+      private String next;
+
+      public boolean hasNext() {
+        while (next == null && !stack.isEmpty()) {
+          final Node n = stack.pop();
+          if (n instanceof Leaf) {
+            final String s = ((Leaf) n).s;
+            if (!s.isEmpty())
+              next = s;
+          } else if (n instanceof Concat) {
+            stack.push(((Concat) n).right);
+            stack.push(((Concat) n).left);
+          } else {
+            stack.push(((Suspend) n).node._1());
+          }
+        }
+        return next != null;
+      }
+
+      public String next() {
+        if (!hasNext())
+          throw new NoSuchElementException();
+        final String s = next;
+        next = null;
+        return s;
+      }
+    };
+  }
+
+  private static boolean isStrict(final Node n) {
+    return n instanceof Leaf || n instanceof Concat && ((Concat) n).length >= 0;
+  }
+
+  private static int length(final Node n) {
+    return n instanceof Leaf ? ((Leaf) n).s.length() : ((Concat) n).length;
+  }
+
+  private static int depth(final Node n) {
+    return n instanceof Concat ? ((Concat) n).depth : 0;
+  }
+
+  private static Node concat(final Node l, final Node r) {
+    if (l == EMPTY)
+      return r;
+    if (r == EMPTY)
+      return l;
+    if (l instanceof Leaf && r instanceof Leaf && length(l) + length(r) <= SMALL_SIZE)
+      return new Leaf(((Leaf) l).s + ((Leaf) r).s);
+    if (l instanceof Concat && ((Concat) l).right instanceof Leaf && r instanceof Leaf
+        && length(((Concat) l).right) + length(r) <= SMALL_SIZE)
+      return new Concat(((Concat) l).left, new Leaf(((Leaf) ((Concat) l).right).s + ((Leaf) r).s));
+    final Concat c = new Concat(l, r);
+    return c.length >= 0 && c.depth > MAX_DEPTH ? balance(c) : c;
+  }
+
+  /**
+   * Evaluates the given rope and rebuilds it as a balanced tree whose leaves, except possibly
+   * the last, hold at least {@link #CHUNK_SIZE} characters.
+   */
+  private static Node balance(final Node n) {
+    final ArrayList<String> chunks = new ArrayList<>();
+    final StringBuilder sb = new StringBuilder();
+    final Iterator<String> it = leaves(n);
+    while (it.hasNext()) {
+      final String s = it.next();
+      if (sb.length() == 0 && s.length() >= CHUNK_SIZE) {
+        chunks.add(s);
+      } else {
+        sb.append(s);
+        if (sb.length() >= CHUNK_SIZE) {
+          chunks.add(sb.toString());
+          sb.setLength(0);
+        }
+      }
+    }
+    if (sb.length() > 0)
+      chunks.add(sb.toString());
+    return chunks.isEmpty() ? EMPTY : build(chunks, 0, chunks.size());
+  }
+
+  private static Node build(final ArrayList<String> chunks, final int from, final int to) {
+    if (to - from == 1)
+      return new Leaf(chunks.get(from));
+    final int mid = (from + to) >>> 1;
+    return new Concat(build(chunks, from, mid), build(chunks, mid, to));
+  }
+
+  private Node flat() {
+    Node f = flat;
+    if (f == null) {
+      f = isStrict(node) && depth(node) <= MAX_DEPTH ? node : balance(node);
+      flat = f;
+    }
+    return f;
   }
 
   /**
-   * The length of the lazy string. Note that this operation is O(n).
+   * The length of the lazy string. This evaluates the whole string, which takes O(n) the first
+   * time and O(1) afterwards.
    *
    * @return The length of this lazy string.
    */
   public int length() {
-    return s.length();
+    return length(flat());
   }
 
   /**
-   * Returns the caracter at the specified index.
+   * Returns the caracter at the specified index. This evaluates the whole string, which takes
+   * O(n) the first time and O(log n) afterwards.
    *
    * @param index The index for the character to be returned.
    * @return The character at the specified index.
    */
   public char charAt(final int index) {
-    return s.index(index);
+    Node n = flat();
+    if (index < 0 || index >= length(n))
+      throw new IndexOutOfBoundsException("index: " + index);
+    int i = index;
+    while (n instanceof Concat) {
+      final Concat c = (Concat) n;
+      final int l = length(c.left);
+      if (i < l) {
+        n = c.left;
+      } else {
+        n = c.right;
+        i -= l;
+      }
+    }
+    return ((Leaf) n).s.charAt(i);
   }
 
   /**
@@ -88,13 +338,60 @@ public final class LazyString implements CharSequence {
    * This operation does not fail for indexes that are out of bounds. If the start index is past the end
    * of this lazy string, then the resulting character sequence will be empty. If the end index is past the
    * end of this lazy string, then the resulting character sequence will be truncated.
+   * The subsequence of an evaluated string is taken in O(log n), that of a string which is not
+   * evaluated yet is lazy.
    *
    * @param start The character index of this lazy string at which to start the subsequence.
    * @param end   The character index of this lazy string at which to end the subsequence.
    * @return A character sequence containing the specified character subsequence.
    */
   public CharSequence subSequence(final int start, final int end) {
-    return fromStream(s.drop(start).take(end - start));
+    final int from = Math.max(0, start);
+    if (end <= from)
+      return empty;
+    if (isStrict(node) || flat != null) {
+      final Node n = flat();
+      final int to = Math.min(end, length(n));
+      return from >= to ? empty : new LazyString(slice(n, from, to));
+    }
+    return fromChunks(take(drop(chunks(), from), end - from));
+  }
+
+  private static Node slice(final Node n, final int from, final int to) {
+    if (from == 0 && to == length(n))
+      return n;
+    if (n instanceof Leaf)
+      return new Leaf(((Leaf) n).s.substring(from, to));
+    final Concat c = (Concat) n;
+    final int l = length(c.left);
+    if (to <= l)
+      return slice(c.left, from, to);
+    else if (from >= l)
+      return slice(c.right, from - l, to - l);
+    else
+      return new Concat(slice(c.left, from, l), slice(c.right, 0, to - l));
+  }
+
+  private static Stream<String> drop(final Stream<String> chunks, final int n) {
+    Stream<String> cs = chunks;
+    int i = n;
+    while (i > 0 && cs.isNotEmpty()) {
+      final String h = cs.head();
+      if (h.length() > i)
+        return cs.tail()._1().cons(h.substring(i));
+      i -= h.length();
+      cs = cs.tail()._1();
+    }
+    return cs;
+  }
+
+  private static Stream<String> take(final Stream<String> chunks, final int n) {
+    if (n <= 0 || chunks.isEmpty())
+      return Stream.nil();
+    final String h = chunks.head();
+    return h.length() >= n ?
+        Stream.single(h.substring(0, n)) :
+        Stream.cons(h, () -> take(chunks.tail()._1(), n - h.length()));
   }
 
   /**
@@ -103,13 +400,18 @@ public final class LazyString implements CharSequence {
    * @return The String representation of this lazy string.
    */
   public String toStringEager() {
-    final StringBuilder builder = new StringBuilder(length() + 16);
-    s.foreachDoEffect(c -> builder.append(c.charValue()));
+    final Node n = flat();
+    if (n instanceof Leaf)
+      return ((Leaf) n).s;
+    final StringBuilder builder = new StringBuilder(length(n));
+    final Iterator<String> it = leaves(n);
+    while (it.hasNext())
+      builder.append(it.next());
     return builder.toString();
   }
 
   public String toStringLazy() {
-    return s.isEmpty() ? "" : "LazyString(" + Show.charShow.showS(s.head()) + ", ?)";
+    return isEmpty() ? "" : "LazyString(" + Show.charShow.showS(head()) + ", ?)";
   }
 
   @Override
@@ -122,13 +424,14 @@ public final class LazyString implements CharSequence {
   }
 
   /**
-   * Appends the given lazy string to the end of this lazy string.
+   * Appends the given lazy string to the end of this lazy string. This operation takes O(1) and
+   * evaluates neither string.
    *
    * @param cs A lazy string to append to this one.
    * @return A new lazy string that is the concatenation of this string and the given string.
    */
   public LazyString append(final LazyString cs) {
-    return fromStream(s.append(cs.s));
+    return new LazyString(concat(node, cs.node));
   }
 
   /**
@@ -148,7 +451,7 @@ public final class LazyString implements CharSequence {
    * @return True if the given string is a substring of this string, otherwise False.
    */
   public boolean contains(final LazyString cs) {
-    return or(s.tails().map(compose(startsWith().f(cs), fromStream)));
+    return indexOf(cs).isSome();
   }
 
   /**
@@ -158,7 +461,7 @@ public final class LazyString implements CharSequence {
    * @return True if the given string is a suffix of this lazy string, otherwise False.
    */
   public boolean endsWith(final LazyString cs) {
-    return reverse().startsWith(cs.reverse());
+    return eval().endsWith(cs.eval());
   }
 
   /**
@@ -168,7 +471,23 @@ public final class LazyString implements CharSequence {
    * @return True if the given string is a prefix of this lazy string, otherwise False.
    */
   public boolean startsWith(final LazyString cs) {
-    return cs.isEmpty() || !isEmpty() && charEqual.eq(head(), cs.head()) && tail().startsWith(cs.tail());
+    final Iterator<String> it = leaves(node);
+    String h = "";
+    int i = 0;
+    for (final Iterator<String> prefix = leaves(cs.node); prefix.hasNext();) {
+      final String p = prefix.next();
+      for (int j = 0; j < p.length(); j++) {
+        if (i == h.length()) {
+          if (!it.hasNext())
+            return false;
+          h = it.next();
+          i = 0;
+        }
+        if (h.charAt(i++) != p.charAt(j))
+          return false;
+      }
+    }
+    return true;
   }
 
 
@@ -187,7 +506,10 @@ public final class LazyString implements CharSequence {
    * @return The first character of this string, or error if the string is empty.
    */
   public char head() {
-    return s.head();
+    final Iterator<String> it = leaves(node);
+    if (!it.hasNext())
+      throw error("head on empty string");
+    return it.next().charAt(0);
   }
 
   /**
@@ -196,7 +518,9 @@ public final class LazyString implements CharSequence {
    * @return All but the first character of this string, or error if the string is empty.
    */
   public LazyString tail() {
-    return fromStream(s.tail()._1());
+    if (isEmpty())
+      throw error("tail on empty string");
+    return (LazyString) subSequence(1, Integer.MAX_VALUE);
   }
 
   /**
@@ -205,7 +529,7 @@ public final class LazyString implements CharSequence {
    * @return True if there are no characters in this string, otherwise False.
    */
   public boolean isEmpty() {
-    return s.isEmpty();
+    return !leaves(node).hasNext();
   }
 
   /**
@@ -214,7 +538,12 @@ public final class LazyString implements CharSequence {
    * @return the reverse of this string.
    */
   public LazyString reverse() {
-    return fromStream(s.reverse());
+    final String s = eval();
+    final int n = s.length();
+    final char[] cs = new char[n];
+    for (int i = 0; i < n; i++)
+      cs[i] = s.charAt(n - 1 - i);
+    return str(new String(cs));
   }
 
   /**
@@ -224,7 +553,15 @@ public final class LazyString implements CharSequence {
    * @return The first index of the given character in this lazy string, or None if the character is not present.
    */
   public Option<Integer> indexOf(final char c) {
-    return s.indexOf(charEqual.eq(c));
+    int offset = 0;
+    for (final Iterator<String> it = leaves(node); it.hasNext();) {
+      final String h = it.next();
+      final int i = h.indexOf(c);
+      if (i >= 0)
+        return some(offset + i);
+      offset += h.length();
+    }
+    return none();
   }
 
   /**
@@ -234,7 +571,22 @@ public final class LazyString implements CharSequence {
    * @return The first index of the given substring in this lazy string, or None if there is no such substring.
    */
   public Option<Integer> indexOf(final LazyString cs) {
-    return s.substreams().indexOf(eqS.eq(cs.s));
+    final String needle = cs.eval();
+    if (needle.isEmpty())
+      return some(0);
+    // search each leaf together with the characters of the previous leaves a match could start in
+    String carry = "";
+    int offset = 0;
+    for (final Iterator<String> it = leaves(node); it.hasNext();) {
+      final String window = carry + it.next();
+      final int i = window.indexOf(needle);
+      if (i >= 0)
+        return some(offset + i);
+      final int keep = Math.min(window.length(), needle.length() - 1);
+      carry = window.substring(window.length() - keep);
+      offset += window.length() - keep;
+    }
+    return none();
   }
 
   /**
@@ -254,18 +606,65 @@ public final class LazyString implements CharSequence {
    * @return A stream of the substrings in this lazy string, when separated by the given predicate.
    */
   public Stream<LazyString> split(final F<Character, Boolean> p) {
-    final Stream<Character> findIt = s.dropWhile(p);
-    final P2<Stream<Character>, Stream<Character>> ws = findIt.split(p);
-    return findIt.isEmpty() ? Stream.nil()
-                            : Stream.cons(fromStream(ws._1()), () -> fromStream(ws._2()).split(p));
+    return splitBy(c -> p.f((char) c));
+  }
+
+  /**
+   * The substrings are produced as the stream is traversed, each one evaluating only the
+   * characters up to the delimiter that ends it.
+   */
+  private Stream<LazyString> splitBy(final IntPredicate p) {
+    final Stream<String> cs = chunks();
+    return cs.isEmpty() ? Stream.nil() : split(cs, 0, p);
+  }
+
+  private static Stream<LazyString> split(final Stream<String> chunks, final int offset, final IntPredicate p) {
+    Stream<String> cs = chunks;
+    int i = offset;
+    // skip the delimiters
+    while (true) {
+      final String h = cs.head();
+      while (i < h.length() && p.test(h.charAt(i)))
+        i++;
+      if (i < h.length())
+        break;
+      cs = cs.tail()._1();
+      i = 0;
+      if (cs.isEmpty())
+        return Stream.nil();
+    }
+    // take characters up to the next delimiter
+    StringBuilder sb = null;
+    while (true) {
+      final String h = cs.head();
+      int j = i;
+      while (j < h.length() && !p.test(h.charAt(j)))
+        j++;
+      if (j < h.length()) {
+        final String word = sb == null ? h.substring(i, j) : sb.append(h, i, j).toString();
+        final Stream<String> rest = cs;
+        final int k = j;
+        return Stream.cons(str(word), () -> split(rest, k, p));
+      }
+      sb = (sb == null ? new StringBuilder() : sb).append(h, i, h.length());
+      cs = cs.tail()._1();
+      i = 0;
+      if (cs.isEmpty())
+        return Stream.single(str(sb.toString()));
+    }
   }
 
   public LazyString map(F<Character, Character> f) {
-    return fromStream(s.map(f));
+    return new LazyString(chunksNode(() -> chunks().map(s -> {
+      final char[] cs = s.toCharArray();
+      for (int i = 0; i < cs.length; i++)
+        cs[i] = f.f(cs[i]);
+      return new String(cs);
+    })));
   }
 
   public LazyString bind(F<Character, LazyString> f) {
-    return fromStream(s.bind(c -> f.f(c).toStream()));
+    return new LazyString(intercalate("", () -> toStream().map(f)));
   }
 
   /**
@@ -275,7 +674,7 @@ public final class LazyString implements CharSequence {
    * @return A stream of substrings of this lazy string, when separated by the given delimiter.
    */
   public Stream<LazyString> split(final char c) {
-    return split(charEqual.eq(c));
+    return splitBy(x -> x == c);
   }
 
   /**
@@ -307,7 +706,7 @@ public final class LazyString implements CharSequence {
    * @return A new lazy string, consisting of the given strings separated by newlines.
    */
   public static LazyString unlines(final Stream<LazyString> str) {
-    return fromStream(join(str.intersperse(str("\n")).map(toStream)));
+    return new LazyString(intercalate("\n", () -> str));
   }
 
   public static F<Stream<LazyString>, LazyString> unlines_() {
@@ -321,7 +720,22 @@ public final class LazyString implements CharSequence {
    * @return A new lazy string, consisting of the given strings with spaces in between.
    */
   public static LazyString unwords(final Stream<LazyString> str) {
-    return fromStream(join(str.intersperse(str(" ")).map(toStream)));
+    return new LazyString(intercalate(" ", () -> str));
+  }
+
+  /**
+   * Appends the given lazy strings with the given separator in between, evaluating the stream
+   * only as the result is traversed.
+   */
+  private static Node intercalate(final String sep, final F0<Stream<LazyString>> str) {
+    return new Suspend(() -> {
+      final Stream<LazyString> ss = str.f();
+      return ss.isEmpty() ? EMPTY : new Concat(ss.head().node, new Suspend(() -> {
+        final Stream<LazyString> t = ss.tail()._1();
+        return t.isEmpty() ? EMPTY : sep.isEmpty() ? intercalate(sep, () -> t) :
+            new Concat(new Leaf(sep), intercalate(sep, () -> t));
+      }));
+    });
   }
 
   /**
@@ -342,6 +756,4 @@ public final class LazyString implements CharSequence {
   public static final F<Stream<Character>, LazyString> fromStream =
           LazyString::fromStream;
 
-  private static final Equal<Stream<Character>> eqS = streamEqual(charEqual);
-
 }
@@ -370,12 +370,20 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list of grouped elements.
    */
   public final List<List<A>> group(final Equal<A> e) {
-    if (isEmpty())
-      return nil();
-    else {
-      final P2<List<A>, List<A>> z = tail().span(e.eq(head()));
-      return cons(z._1().cons(head()), z._2().group(e));
+    final Buffer<List<A>> b = empty();
+    List<A> xs = this;
+    while (xs.isNotEmpty()) {
+      final A h = xs.head();
+      final Buffer<A> g = empty();
+      g.snoc(h);
+      xs = xs.tail();
+      while (xs.isNotEmpty() && e.eq(h, xs.head())) {
+        g.snoc(xs.head());
+        xs = xs.tail();
+      }
+      b.snoc(g.toList());
     }
+    return b.toList();
   }
 
 
@@ -404,7 +412,7 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list after performing the map, then final join.
    */
   public final <B, C> List<C> bind(final List<B> lb, final F<A, F<B, C>> f) {
-    return lb.apply(map(f));
+    return bind(lb, uncurryF2(f));
   }
 
   /**
@@ -416,7 +424,14 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list after performing the map, then final join.
    */
   public final <B, C> List<C> bind(final List<B> lb, final F2<A, B, C> f) {
-    return bind(lb, curry(f));
+    final Buffer<C> b = empty();
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      final A x = xs.head();
+      for (List<B> ys = lb; ys.isNotEmpty(); ys = ys.tail()) {
+        b.snoc(f.f(x, ys.head()));
+      }
+    }
+    return b.toList();
   }
 
   /**
@@ -912,7 +927,7 @@ public abstract class List<A> implements Iterable<A> {
   }
 
   /**
-   * Performs a right-fold reduction across this list. This function uses O(length) stack space.
+   * Performs a right-fold reduction across this list. This function runs in constant stack space.
    *
    * @param f The function to apply on each element of the list.
    * @param b The beginning value to start the application from.
@@ -1054,19 +1069,13 @@ public abstract class List<A> implements Iterable<A> {
    * @return A pair of lists split at the given index of this list.
    */
   public final P2<List<A>, List<A>> splitAt(final int i) {
-    int c = 0;
-    List<A> first = List.nil();
-    List<A> second = nil();
-    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
-      final A h = xs.head();
-      if (c < i) {
-          first = first.cons(h);
-      } else {
-          second = second.cons(h);
-      }
-      c++;
+    final Buffer<A> first = empty();
+    List<A> xs = this;
+    for (int c = 0; c < i && xs.isNotEmpty(); c++) {
+      first.snoc(xs.head());
+      xs = xs.tail();
     }
-    return p(first.reverse(), second.reverse());
+    return p(first.toList(), xs);
   }
 
   /**
@@ -1093,11 +1102,17 @@ public abstract class List<A> implements Iterable<A> {
    * @param f Predicate function.
    */
   public final P2<List<A>, List<A>> partition(F<A, Boolean> f) {
-    P2<List<A>, List<A>> p2 = foldLeft((acc, a) ->
-      f.f(a) ? p(acc._1().cons(a), acc._2()) : p(acc._1(), acc._2().cons(a)),
-      p(nil(), nil())
-    );
-    return p(p2._1().reverse(), p2._2().reverse());
+    final Buffer<A> yes = empty();
+    final Buffer<A> no = empty();
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      final A h = xs.head();
+      if (f.f(h)) {
+        yes.snoc(h);
+      } else {
+        no.snoc(h);
+      }
+    }
+    return p(yes.toList(), no.toList());
   }
 
   /**
@@ -1106,10 +1121,13 @@ public abstract class List<A> implements Iterable<A> {
    * @return The list of initial segments of this list, shortest first.
    */
   public final List<List<A>> inits() {
-    List<List<A>> s = single(List.nil());
-    if (isNotEmpty())
-      s = s.append(tail().inits().map(List.<A>cons().f(head())));
-    return s;
+    final Buffer<List<A>> s = empty();
+    final Buffer<A> init = empty();
+    s.snoc(List.nil());
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      s.snoc(init.snoc(xs.head()).toList());
+    }
+    return s.toList();
   }
 
   /**
@@ -1118,7 +1136,12 @@ public abstract class List<A> implements Iterable<A> {
    * @return The list of final segments of this list, longest first.
    */
   public final List<List<A>> tails() {
-    return isEmpty() ? single(List.nil()) : cons(this, tail().tails());
+    final Buffer<List<A>> s = empty();
+    List<A> xs = this;
+    for (; xs.isNotEmpty(); xs = xs.tail()) {
+      s.snoc(xs);
+    }
+    return s.snoc(xs).toList();
   }
 
   /**
@@ -1179,16 +1202,7 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list with a length the same as the shortest of this list and the given list.
    */
   public final <B, C> List<C> zipWith(List<B> bs, final F<A, F<B, C>> f) {
-    final Buffer<C> buf = empty();
-    List<A> as = this;
-
-    while (as.isNotEmpty() && bs.isNotEmpty()) {
-      buf.snoc(f.f(as.head()).f(bs.head()));
-      as = as.tail();
-      bs = bs.tail();
-    }
-
-    return buf.toList();
+    return zipWith(bs, uncurryF2(f));
   }
 
   /**
@@ -1200,8 +1214,17 @@ public abstract class List<A> implements Iterable<A> {
    * @param f  The function to zip this list and the given list with.
    * @return A new list with a length the same as the shortest of this list and the given list.
    */
-  public final <B, C> List<C> zipWith(final List<B> bs, final F2<A, B, C> f) {
-    return zipWith(bs, curry(f));
+  public final <B, C> List<C> zipWith(List<B> bs, final F2<A, B, C> f) {
+    final Buffer<C> buf = empty();
+    List<A> as = this;
+
+    while (as.isNotEmpty() && bs.isNotEmpty()) {
+      buf.snoc(f.f(as.head(), bs.head()));
+      as = as.tail();
+      bs = bs.tail();
+    }
+
+    return buf.toList();
   }
 
   /**
@@ -1221,8 +1244,7 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list with a length the same as the shortest of this list and the given list.
    */
   public final <B> List<P2<A, B>> zip(final List<B> bs) {
-    final F<A, F<B, P2<A, B>>> __2 = p2();
-    return zipWith(bs, __2);
+    return zipWith(bs, (F2<A, B, P2<A, B>>) P::p);
   }
 
   /**
@@ -1240,7 +1262,12 @@ public abstract class List<A> implements Iterable<A> {
    * @return A new list with the same length as this list.
    */
   public final List<P2<A, Integer>> zipIndex() {
-    return zipWith(range(0, length()), a -> i -> p(a, i));
+    final Buffer<P2<A, Integer>> buf = empty();
+    int i = 0;
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      buf.snoc(p(xs.head(), i++));
+    }
+    return buf.toList();
   }
 
   /**
@@ -1262,7 +1289,12 @@ public abstract class List<A> implements Iterable<A> {
    *         <code>false</code> otherwise.
    */
   public final boolean forall(final F<A, Boolean> f) {
-    return isEmpty() || f.f(head()) && tail().forall(f);
+    for (List<A> as = this; as.isNotEmpty(); as = as.tail()) {
+      if (!f.f(as.head()))
+        return false;
+    }
+
+    return true;
   }
 
   /**
@@ -1301,9 +1333,14 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list with the given separator interspersed.
    */
   public final List<A> intersperse(final A a) {
-    return isEmpty() || tail().isEmpty() ?
-           this :
-            cons(head(), tail().bind(a2 -> list(a, a2)));
+    if (isEmpty() || tail().isEmpty())
+      return this;
+    final Buffer<A> b = empty();
+    b.snoc(head());
+    for (List<A> xs = tail(); xs.isNotEmpty(); xs = xs.tail()) {
+      b.snoc(a).snoc(xs.head());
+    }
+    return b.toList();
   }
 
   /**
@@ -1333,7 +1370,14 @@ public abstract class List<A> implements Iterable<A> {
    * @return A list without duplicates.
    */
   public final List<A> nub(final Equal<A> eq) {
-    return isEmpty() ? this : cons(head(), tail().filter(a -> !eq.eq(a, head())).nub(eq));
+    final Buffer<A> b = empty();
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      final A h = xs.head();
+      if (!b.start.exists(a -> eq.eq(h, a))) {
+        b.snoc(h);
+      }
+    }
+    return b.toList();
   }
 
   /**
@@ -1430,7 +1474,13 @@ public abstract class List<A> implements Iterable<A> {
    *         query element, or None if there is no such element.
    */
   public final Option<Integer> elementIndex(final Equal<A> e, final A a) {
-    return lookup(e, zipIndex(), a);
+    int i = 0;
+    for (List<A> xs = this; xs.isNotEmpty(); xs = xs.tail()) {
+      if (e.eq(xs.head(), a))
+        return some(i);
+      i++;
+    }
+    return none();
   }
 
   /**
@@ -1576,7 +1626,13 @@ public abstract class List<A> implements Iterable<A> {
    * @return Whether or not all elements in the list are equal according to the given equality test.
    */
   public final boolean allEqual(final Equal<A> eq) {
-    return isEmpty() || tail().isEmpty() || eq.eq(head(), tail().head()) && tail().allEqual(eq);
+    if (isEmpty())
+      return true;
+    for (List<A> xs = this; xs.tail().isNotEmpty(); xs = xs.tail()) {
+      if (!eq.eq(xs.head(), xs.tail().head()))
+        return false;
+    }
+    return true;
   }
 
   public final boolean isPrefixOf(final Equal<A> eq, final List<A> xs) {
@@ -2078,11 +2134,18 @@ public abstract class List<A> implements Iterable<A> {
   /**
    * A mutable, singly linked list. This structure should be used <em>very</em> sparingly, in favour
    * of the {@link List immutable singly linked list structure}.
+   * <p>
+   * A buffer is the builder used by the list operations that produce a new list: elements are
+   * appended by mutating the tail of the last cell, so a list is built front to back in a single
+   * pass without a final reverse. Elements can also be prepended, which builds a list back to front.
+   * {@link #toList()} shares the cells built so far; the buffer is only copied if it is modified
+   * after a list has been exported.
    */
   public static final class Buffer<A> implements Iterable<A> {
     private List<A> start = nil();
     private Cons<A> tail;
     private boolean exported;
+    private int length;
 
     /**
      * Returns an iterator for this buffer. This method exists to permit the use in a <code>for</code>-each loop.
@@ -2111,6 +2174,45 @@ public abstract class List<A> implements Iterable<A> {
         tail.tail(t);
 
       tail = t;
+      length++;
+
+      return this;
+    }
+
+    /**
+     * Prepends (cons) the given element to this buffer.
+     *
+     * @param a The element to prepend to this buffer.
+     * @return This buffer.
+     */
+    public Buffer<A> prepend(final A a) {
+      final Cons<A> h = new Cons<>(a, start);
+
+      if (tail == null)
+        tail = h;
+
+      start = h;
+      length++;
+
+      return this;
+    }
+
+    /**
+     * Prepends the elements of the given iterable to this buffer, keeping their order.
+     *
+     * @param as The elements to prepend to this buffer.
+     * @return This buffer.
+     */
+    public Buffer<A> prependAll(final Iterable<A> as) {
+      final Buffer<A> b = iterableBuffer(as);
+
+      if (!b.isEmpty()) {
+        b.tail.tail(start);
+        if (tail == null)
+          tail = b.tail;
+        start = b.start;
+        length += b.length;
+      }
 
       return this;
     }
@@ -2128,6 +2230,66 @@ public abstract class List<A> implements Iterable<A> {
       return this;
     }
 
+    /**
+     * Appends the elements of the given iterable to this buffer.
+     *
+     * @param as The elements to append to this buffer.
+     * @return This buffer.
+     */
+    public Buffer<A> appendAll(final Iterable<A> as) {
+      for (final A a : as)
+        snoc(a);
+
+      return this;
+    }
+
+    /**
+     * Appends the elements of the given array to this buffer.
+     *
+     * @param as The elements to append to this buffer.
+     * @return This buffer.
+     */
+    public Buffer<A> appendAll(final Array<A> as) {
+      for (int i = 0; i < as.length(); i++)
+        snoc(as.get(i));
+
+      return this;
+    }
+
+    /**
+     * Moves the elements of the given buffer to the end of this buffer, leaving the given buffer
+     * empty. Unless a list has been exported from the given buffer, its cells are linked in
+     * constant time rather than copied.
+     *
+     * @param as The buffer whose elements to move to this buffer.
+     * @return This buffer.
+     */
+    public Buffer<A> append(final Buffer<A> as) {
+      if (as == this || as.exported) {
+        append(as.toList());
+      } else if (!as.isEmpty()) {
+        if (exported)
+          copy();
+
+        if (tail == null)
+          start = as.start;
+        else
+          tail.tail(as.start);
+
+        tail = as.tail;
+        length += as.length;
+      }
+
+      if (as != this) {
+        as.start = nil();
+        as.tail = null;
+        as.exported = false;
+        as.length = 0;
+      }
+
+      return this;
+    }
+
     /**
      * Prepends the elements of this buffer to the given list.
      *
@@ -2150,6 +2312,11 @@ public abstract class List<A> implements Iterable<A> {
      */
     public boolean isEmpty() { return start.isEmpty(); }
 
+    /**
+     * Returns the number of elements in this buffer. This operation takes O(1).
+     */
+    public int length() { return length; }
+
     /**
      * Returns an immutable list projection of this buffer. Modifications to the underlying buffer
      * will <em>not</em> be reflected in returned lists.
@@ -2216,6 +2383,7 @@ public abstract class List<A> implements Iterable<A> {
       start = nil();
       tail = null;
       exported = false;
+      length = 0;
       while (s != t) {
         snoc(s.head());
         s = s.tail();
@@ -0,0 +1,519 @@
+package fj.data;
+
+import fj.Unit;
+import fj.function.LongF;
+import fj.function.LongF2;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+import static fj.Unit.unit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+
+/**
+ * An array of <code>long</code> values, a primitive specialisation of {@link Array}. Elements are
+ * stored unboxed and all maps, folds and scans are performed with the primitive functions
+ * {@link LongF} and {@link LongF2}, so no element is boxed unless converted to a generic structure.
+ *
+ * @version %build.number%
+ */
+public final class LongArray implements Iterable<Long> {
+  private static final long[] EMPTY = new long[0];
+
+  private final long[] a;
+
+  private LongArray(final long[] a) {
+    this.a = a;
+  }
+
+  /**
+   * Returns an iterator for this array. This method exists to permit the use in a <code>for</code>-each loop.
+   *
+   * @return A iterator for this array.
+   */
+  public PrimitiveIterator.OfLong iterator() {
+    return new PrimitiveIterator.OfLong() {
+      private int i;
+
+      public boolean hasNext() {
+        return i < a.length;
+      }
+
+      public long nextLong() {
+        if (i >= a.length)
+          throw new NoSuchElementException();
+        return a[i++];
+      }
+    };
+  }
+
+  /**
+   * Returns the element at the given index if it exists, fails otherwise.
+   *
+   * @param index The index at which to get the element to return.
+   * @return The element at the given index if it exists, fails otherwise.
+   */
+  public long get(final int index) {
+    return a[index];
+  }
+
+  /**
+   * Sets the element at the given index to the given value.
+   *
+   * @param index The index at which to set the given value.
+   * @param e     The value to set at the given index.
+   * @return The unit value.
+   */
+  public Unit set(final int index, final long e) {
+    a[index] = e;
+    return unit();
+  }
+
+  /**
+   * Returns the length of this array.
+   *
+   * @return The length of this array.
+   */
+  public int length() {
+    return a.length;
+  }
+
+  /**
+   * Returns <code>true</code> is this array is empty, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> is this array is empty, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return a.length == 0;
+  }
+
+  /**
+   * Returns <code>false</code> is this array is empty, <code>true</code> otherwise.
+   *
+   * @return <code>false</code> is this array is empty, <code>true</code> otherwise.
+   */
+  public boolean isNotEmpty() {
+    return a.length != 0;
+  }
+
+  /**
+   * Returns a copy of the underlying primitive array.
+   *
+   * @return A copy of the underlying primitive array.
+   */
+  public long[] array() {
+    return a.clone();
+  }
+
+  /**
+   * Returns a boxed array of the elements of this array.
+   *
+   * @return A boxed array of the elements of this array.
+   */
+  public Array<Long> toArray() {
+    final Object[] bs = new Object[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[i] = a[i];
+    return Array.mkArray(bs);
+  }
+
+  /**
+   * Returns a list projection of this array.
+   *
+   * @return A list projection of this array.
+   */
+  public List<Long> toList() {
+    List<Long> x = List.nil();
+    for (int i = a.length - 1; i >= 0; i--)
+      x = x.cons(a[i]);
+    return x;
+  }
+
+  /**
+   * Returns a stream projection of this array.
+   *
+   * @return A stream projection of this array.
+   */
+  public Stream<Long> toStream() {
+    return Stream.iteratorStream(iterator());
+  }
+
+  /**
+   * Maps the given function across this array.
+   *
+   * @param f The function to map across this array.
+   * @return A new array after the given function has been applied to each element.
+   */
+  public LongArray map(final LongF f) {
+    final long[] bs = new long[a.length];
+    for (int i = 0; i < a.length; i++)
+      bs[i] = f.f(a[i]);
+    return new LongArray(bs);
+  }
+
+  /**
+   * Filters elements from this array by returning only elements which satisfy the given predicate.
+   *
+   * @param f The predicate function to filter on.
+   * @return A new array whose elements all match the given predicate.
+   */
+  public LongArray filter(final LongPredicate f) {
+    final long[] bs = new long[a.length];
+    int n = 0;
+    for (final long x : a) {
+      if (f.test(x))
+        bs[n++] = x;
+    }
+    return new LongArray(n == a.length ? bs : Arrays.copyOf(bs, n));
+  }
+
+  /**
+   * Performs a side-effect for each element of this array.
+   *
+   * @param f The side-effect to perform for the given element.
+   */
+  public void foreachDoEffect(final LongConsumer f) {
+    for (final long x : a)
+      f.accept(x);
+  }
+
+  /**
+   * Performs a left-fold reduction across this array. This function runs in constant space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the left-fold reduction.
+   */
+  public long foldLeft(final LongF2 f, final long b) {
+    long x = b;
+    for (final long e : a)
+      x = f.f(x, e);
+    return x;
+  }
+
+  /**
+   * Performs a right-fold reduction across this array. This function runs in constant stack space.
+   *
+   * @param f The function to apply on each element of the array.
+   * @param b The beginning value to start the application from.
+   * @return The final result after the right-fold reduction.
+   */
+  public long foldRight(final LongF2 f, final long b) {
+    long x = b;
+    for (int i = a.length - 1; i >= 0; i--)
+      x = f.f(a[i], x);
+    return x;
+  }
+
+  /**
+   * Performs a fold left accummulating and returns an array of the intermediate results.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each argument pair (initial value/previous result and next array element)
+   * @param b The beginning value to start the application from.
+   * @return The array containing all intermediate results of the left-fold reduction.
+   */
+  public LongArray scanLeft(final LongF2 f, final long b) {
+    final long[] bs = new long[a.length];
+    long x = b;
+    for (int i = 0; i < a.length; i++) {
+      x = f.f(x, a[i]);
+      bs[i] = x;
+    }
+    return new LongArray(bs);
+  }
+
+  /**
+   * Performs a left-fold accummulating using first array element as a starting value
+   * and returns an array of the intermediate results.
+   * It will fail for empty arrays.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each argument pair (next array element and first array element/previous result)
+   * @return The array containing all intermediate results of the left-fold reduction.
+   */
+  public LongArray scanLeft1(final LongF2 f) {
+    final long[] bs = new long[a.length];
+    long x = a[0];
+    bs[0] = x;
+    for (int i = 1; i < a.length; i++) {
+      x = f.f(x, a[i]);
+      bs[i] = x;
+    }
+    return new LongArray(bs);
+  }
+
+  /**
+   * Performs a right-fold accummulating and returns an array of the intermediate results.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each argument pair (previous array element and initial value/previous result)
+   * @param b The beginning value to start the application from.
+   * @return The array containing all intermediate results of the right-fold reduction.
+   */
+  public LongArray scanRight(final LongF2 f, final long b) {
+    final long[] bs = new long[a.length];
+    long x = b;
+    for (int i = a.length - 1; i >= 0; i--) {
+      x = f.f(a[i], x);
+      bs[i] = x;
+    }
+    return new LongArray(bs);
+  }
+
+  /**
+   * Performs a right-fold accummulating using last array element as a starting value
+   * and returns an array of the intermediate results.
+   * It will fail for empty arrays.
+   * This function runs in constant stack space.
+   *
+   * @param f The function to apply on each argument pair (previous array element and last array element/previous result)
+   * @return The array containing all intermediate results of the right-fold reduction.
+   */
+  public LongArray scanRight1(final LongF2 f) {
+    final long[] bs = new long[a.length];
+    long x = a[a.length - 1];
+    bs[a.length - 1] = x;
+    for (int i = a.length - 2; i >= 0; i--) {
+      x = f.f(a[i], x);
+      bs[i] = x;
+    }
+    return new LongArray(bs);
+  }
+
+  /**
+   * Returns the sum of the elements of this array.
+   *
+   * @return The sum of the elements of this array.
+   */
+  public long sum() {
+    long x = 0;
+    for (final long e : a)
+      x += e;
+    return x;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for at least one of the elements of this
+   * array, <code>false</code> otherwise (<code>false</code> for the empty array).
+   *
+   * @param f The predicate function to test on the elements of this array.
+   * @return <code>true</code> if the predicate holds for at least one of the elements of this
+   *         array.
+   */
+  public boolean exists(final LongPredicate f) {
+    for (final long e : a) {
+      if (f.test(e))
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns <code>true</code> if the predicate holds for all of the elements of this array,
+   * <code>false</code> otherwise (<code>true</code> for the empty array).
+   *
+   * @param f The predicate function to test on each element of this array.
+   * @return <code>true</code> if the predicate holds for all of the elements of this array,
+   *         <code>false</code> otherwise.
+   */
+  public boolean forall(final LongPredicate f) {
+    for (final long e : a) {
+      if (!f.test(e))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Zips this array with the given array using the given function to produce a new array. If this
+   * array and the given array have different lengths, then the longer array is normalised so this
+   * function never fails.
+   *
+   * @param bs The array to zip this array with.
+   * @param f  The function to zip this array and the given array with.
+   * @return A new array with a length the same as the shortest of this array and the given array.
+   */
+  public LongArray zipWith(final LongArray bs, final LongF2 f) {
+    final int len = min(a.length, bs.a.length);
+    final long[] x = new long[len];
+    for (int i = 0; i < len; i++)
+      x[i] = f.f(a[i], bs.a[i]);
+    return new LongArray(x);
+  }
+
+  /**
+   * Appends the given array to this array.
+   *
+   * @param aas The array to append to this one.
+   * @return A new array that has appended the given array.
+   */
+  public LongArray append(final LongArray aas) {
+    final long[] x = new long[a.length + aas.a.length];
+    arraycopy(a, 0, x, 0, a.length);
+    arraycopy(aas.a, 0, x, a.length, aas.a.length);
+    return new LongArray(x);
+  }
+
+  /**
+   * Returns a copy of the elements of this array from index <code>from</code> (inclusive) to
+   * index <code>to</code> (exclusive). Both indices are clamped to the bounds of this array.
+   *
+   * @param from The start index (inclusive).
+   * @param to   The end index (exclusive).
+   * @return A new array of the elements in the given range.
+   */
+  public LongArray slice(final int from, final int to) {
+    final int f = max(0, min(from, a.length));
+    final int t = max(f, min(to, a.length));
+    return t == f ? empty() : new LongArray(Arrays.copyOfRange(a, f, t));
+  }
+
+  /**
+   * Returns the first <code>n</code> elements of this array.
+   *
+   * @param n The number of elements to take.
+   * @return A new array of at most <code>n</code> elements.
+   */
+  public LongArray take(final int n) {
+    return slice(0, n);
+  }
+
+  /**
+   * Drops the first <code>n</code> elements of this array.
+   *
+   * @param n The number of elements to drop.
+   * @return A new array without its first <code>n</code> elements.
+   */
+  public LongArray drop(final int n) {
+    return slice(n, a.length);
+  }
+
+  /**
+   * Reverse this array in constant stack space.
+   *
+   * @return A new array that is the reverse of this one.
+   */
+  public LongArray reverse() {
+    final long[] x = new long[a.length];
+    for (int i = 0; i < a.length; i++)
+      x[a.length - 1 - i] = a[i];
+    return new LongArray(x);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return o instanceof LongArray && Arrays.equals(a, ((LongArray) o).a);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(a);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder("LongArray(");
+    for (int i = 0; i < a.length; i++) {
+      if (i != 0)
+        sb.append(',');
+      sb.append(a[i]);
+    }
+    return sb.append(')').toString();
+  }
+
+  /**
+   * Returns an empty array.
+   *
+   * @return An empty array.
+   */
+  public static LongArray empty() {
+    return new LongArray(EMPTY);
+  }
+
+  /**
+   * Constructs an array from the given elements. The given primitive array is not copied.
+   *
+   * @param as The elements to construct the array with.
+   * @return A new array of the given elements.
+   */
+  public static LongArray longArray(final long... as) {
+    return new LongArray(as);
+  }
+
+  /**
+   * Constructs a singleton array.
+   *
+   * @param e The element to put in the array.
+   * @return An array with the given single element.
+   */
+  public static LongArray single(final long e) {
+    return new LongArray(new long[]{e});
+  }
+
+  /**
+   * Returns an array of the given length whose elements are computed from their index.
+   *
+   * @param n The length of the array.
+   * @param f The function computing each element from its index.
+   * @return A new array of the given length.
+   */
+  public static LongArray tabulate(final int n, final LongF f) {
+    final long[] x = new long[max(0, n)];
+    for (int i = 0; i < x.length; i++)
+      x[i] = f.f(i);
+    return new LongArray(x);
+  }
+
+  /**
+   * Returns an array of <code>long</code>s from the given <code>from</code> value (inclusive) to
+   * the given <code>to</code> value (exclusive).
+   *
+   * @param from The minimum value for the array (inclusive).
+   * @param to   The maximum value for the array (exclusive).
+   * @return An array of values from the given <code>from</code> value (inclusive) to the given
+   *         <code>to</code> value (exclusive).
+   * @throws IllegalArgumentException If there are more values in the range than an array can hold.
+   */
+  public static LongArray range(final long from, final long to) {
+    if (from >= to)
+      return empty();
+    final long n = to - from;
+    if (n <= 0 || n > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("Too many values in the range from " + from + " to " + to);
+    final long[] x = new long[(int) n];
+    for (int i = 0; i < x.length; i++)
+      x[i] = from + i;
+    return new LongArray(x);
+  }
+
+  /**
+   * Takes the given iterable of boxed values to an unboxed array. Arrays, lists and streams are
+   * all accepted.
+   *
+   * @param i The iterable to take to an array.
+   * @return An array from the given iterable.
+   */
+  public static LongArray iterableLongArray(final Iterable<Long> i) {
+    if (i instanceof Array) {
+      final Array<Long> as = (Array<Long>) i;
+      final long[] x = new long[as.length()];
+      for (int j = 0; j < x.length; j++)
+        x[j] = as.get(j);
+      return new LongArray(x);
+    }
+    long[] x = new long[16];
+    int n = 0;
+    for (final Long e : i) {
+      if (n == x.length)
+        x = Arrays.copyOf(x, n << 1);
+      x[n++] = e;
+    }
+    return new LongArray(n == x.length ? x : Arrays.copyOf(x, n));
+  }
+}
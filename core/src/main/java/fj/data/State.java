@@ -1,22 +1,51 @@
 package fj.data;
 
 import fj.F;
+import fj.Function;
 import fj.P2;
 import fj.Unit;
-import fj.control.Trampoline;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
 
 import static fj.P.p;
-import static fj.control.Trampoline.suspend;
-import static fj.data.List.cons;
 
+/**
+ * A state action, which given a state produces a new state and a value. Actions are described by op-codes, and
+ * {@link #run(Object) run} in constant stack by a loop that keeps the continuations of the action on an explicit
+ * stack, so that neither the steps of an action nor its binds allocate intermediate trampolines or pairs.
+ */
 public final class State<S, A> {
 
+  // The op-codes of the actions; x and y are the operands, as described for each op-code.
+  private static final int PURE = 0;      // the value x
+  private static final int GET = 1;       // the state as value
+  private static final int GETS = 2;      // the function x applied to the state as value
+  private static final int PUT = 3;       // the new state x
+  private static final int MODIFY = 4;    // the function x applied to the state as new state
+  private static final int UNIT = 5;      // the function x from the state to the new state and the value
+  private static final int WITHS = 6;     // the action y, run with the function x applied to the state
+  private static final int MAP = 7;       // the action y, whose value is mapped with the function x
+  private static final int MAP_STATE = 8; // the action y, whose state and value are mapped with the function x
+  private static final int BIND = 9;      // the action y, whose value is bound to the function x
+  private static final int TRAVERSE = 10; // the actions given by the function y for the elements of x, as a list
+
+  private final int op;
+  private final Object x;
+  private final Object y;
+
+  private State(final int op, final Object x, final Object y) {
+    this.op = op;
+    this.x = x;
+    this.y = y;
+  }
+
   public static <S, A> State<S, A> unit(F<S, P2<S, A>> runF) {
-    return new State<>(s -> Trampoline.pure(runF.f(s)));
+    return new State<>(UNIT, runF, null);
   }
 
   public static <S> State<S, S> init() {
-    return unit(s -> dup(s));
+    return new State<>(GET, null, null);
   }
 
   public static <S> State<S, S> units(F<S, S> f) {
@@ -28,19 +57,19 @@ public final class State<S, A> {
   }
 
   public static <S, A> State<S, A> constant(A a) {
-    return unit(s -> p(s, a));
+    return new State<>(PURE, a, null);
   }
 
   public static <S, A> State<S, A> gets(F<S, A> f) {
-    return unit(s -> p(s, f.f(s)));
+    return new State<>(GETS, f, null);
   }
 
   public static <S> State<S, Unit> put(S s) {
-    return unit(ignoredS -> p(s, Unit.unit()));
+    return new State<>(PUT, s, null);
   }
 
   public static <S> State<S, Unit> modify(F<S, S> f) {
-    return unit(s -> p(f.f(s), Unit.unit()));
+    return new State<>(MODIFY, f, null);
   }
 
   public static <S, A, B> State<S, B> flatMap(State<S, A> ts, F<A, State<S, B>> f) {
@@ -51,37 +80,145 @@ public final class State<S, A> {
    * Evaluate each action in the sequence from left to right, and collect the results.
    */
   public static <S, A> State<S, List<A>> sequence(List<State<S, A>> list) {
-    return list
-        .foldLeft(
-            (acc, ts) -> acc.flatMap(as -> ts.map(a -> cons(a, as))),
-            State.<S, List<A>>constant(List.nil()))
-        .map(as -> as.reverse());
+    return traverse(list, Function.identity());
+  }
+
+  /**
+   * Evaluate each action in the sequence from left to right, and collect the results.
+   */
+  public static <S, A> State<S, Seq<A>> sequence(Seq<State<S, A>> seq) {
+    return traverse(seq, Function.identity());
+  }
+
+  /**
+   * Evaluate each action in the array from left to right, and collect the results.
+   */
+  public static <S, A> State<S, Array<A>> sequence(Array<State<S, A>> array) {
+    return traverse(array, Function.identity());
   }
 
   /**
    * Map each element of a structure to an action, evaluate these actions from left to right
-   * and collect the results.
+   * and collect the results. The actions are run one after the other by the run loop, rather
+   * than bound to each other.
    */
   public static <S, A, B> State<S, List<B>> traverse(List<A> list, F<A, State<S, B>> f) {
-    return list
-        .foldLeft(
-            (acc, a) -> acc.flatMap(bs -> f.f(a).map(b -> cons(b, bs))),
-            State.<S, List<B>>constant(List.nil()))
-        .map(bs -> bs.reverse());
+    return traverseIterable(list, f);
   }
 
-  private static <S, A> State<S, A> suspended(F<S, Trampoline<P2<S, A>>> runF) {
-    return new State<>(s -> suspend(() -> runF.f(s)));
+  /**
+   * Map each element of a sequence to an action, evaluate these actions from left to right
+   * and collect the results.
+   */
+  public static <S, A, B> State<S, Seq<B>> traverse(Seq<A> seq, F<A, State<S, B>> f) {
+    return State.<S, A, B>traverseIterable(seq, f).map(Seq::listSeq);
   }
 
-  private final F<S, Trampoline<P2<S, A>>> runF;
+  /**
+   * Map each element of an array to an action, evaluate these actions from left to right
+   * and collect the results.
+   */
+  public static <S, A, B> State<S, Array<B>> traverse(Array<A> array, F<A, State<S, B>> f) {
+    return State.<S, A, B>traverseIterable(array, f).map(List::toArray);
+  }
+
+  private static <S, A, B> State<S, List<B>> traverseIterable(Iterable<A> as, F<A, State<S, B>> f) {
+    return new State<>(TRAVERSE, as, f);
+  }
+
+  // The progress of a traversal through its elements, kept on the stack of continuations while it runs.
+  private static final class Traversal {
+    private final Iterator<Object> elements;
+    private final F<Object, State<Object, Object>> f;
+    private final List.Buffer<Object> results = new List.Buffer<>();
 
-  private State(F<S, Trampoline<P2<S, A>>> runF) {
-    this.runF = runF;
+    private Traversal(final Iterator<Object> elements, final F<Object, State<Object, Object>> f) {
+      this.elements = elements;
+      this.f = f;
+    }
   }
 
+  @SuppressWarnings("unchecked")
   public P2<S, A> run(S s) {
-    return runF.f(s).run();
+    // the continuations are the MAP, MAP_STATE and BIND actions whose action is running, and the traversals
+    final ArrayDeque<Object> conts = new ArrayDeque<>();
+    State<Object, Object> current = (State<Object, Object>) this;
+    Object state = s;
+    while (true) {
+      Object value;
+      switch (current.op) {
+        case PURE:
+          value = current.x;
+          break;
+        case GET:
+          value = state;
+          break;
+        case GETS:
+          value = ((F<Object, Object>) current.x).f(state);
+          break;
+        case PUT:
+          state = current.x;
+          value = Unit.unit();
+          break;
+        case MODIFY:
+          state = ((F<Object, Object>) current.x).f(state);
+          value = Unit.unit();
+          break;
+        case UNIT: {
+          final P2<Object, Object> result = ((F<Object, P2<Object, Object>>) current.x).f(state);
+          state = result._1();
+          value = result._2();
+          break;
+        }
+        case WITHS:
+          state = ((F<Object, Object>) current.x).f(state);
+          current = (State<Object, Object>) current.y;
+          continue;
+        case TRAVERSE: {
+          final Iterator<Object> elements = ((Iterable<Object>) current.x).iterator();
+          if (!elements.hasNext()) {
+            value = List.nil();
+            break;
+          }
+          final Traversal t = new Traversal(elements, (F<Object, State<Object, Object>>) current.y);
+          conts.push(t);
+          current = t.f.f(elements.next());
+          continue;
+        }
+        default:
+          conts.push(current);
+          current = (State<Object, Object>) current.y;
+          continue;
+      }
+
+      // pass the value to the continuations, until one of them gives the next action to run
+      State<Object, Object> next = null;
+      while (next == null) {
+        final Object k = conts.poll();
+        if (k == null)
+          return (P2<S, A>) p(state, value);
+        if (k instanceof Traversal) {
+          final Traversal t = (Traversal) k;
+          t.results.snoc(value);
+          if (t.elements.hasNext()) {
+            conts.push(t);
+            next = t.f.f(t.elements.next());
+          } else
+            value = t.results.toList();
+        } else {
+          final State<Object, Object> c = (State<Object, Object>) k;
+          if (c.op == MAP)
+            value = ((F<Object, Object>) c.x).f(value);
+          else if (c.op == MAP_STATE) {
+            final P2<Object, Object> result = ((F<P2<Object, Object>, P2<Object, Object>>) c.x).f(p(state, value));
+            state = result._1();
+            value = result._2();
+          } else
+            next = ((F<Object, State<Object, Object>>) c.x).f(value);
+        }
+      }
+      current = next;
+    }
   }
 
   public A eval(S s) {
@@ -97,15 +234,15 @@ public final class State<S, A> {
   }
 
   public <B> State<S, B> map(F<A, B> f) {
-    return mapState(result -> p(result._1(), f.f(result._2())));
+    return new State<>(MAP, f, this);
   }
 
   public <B> State<S, B> mapState(F<P2<S, A>, P2<S, B>> f) {
-    return suspended(s -> runF.f(s).map(result -> f.f(result)));
+    return new State<>(MAP_STATE, f, this);
   }
 
   public State<S, A> withs(F<S, S> f) {
-    return suspended(s -> runF.f(f.f(s)));
+    return new State<>(WITHS, f, this);
   }
 
   /**
@@ -127,7 +264,7 @@ public final class State<S, A> {
    * @return the state
    */
   public <B> State<S, B> flatMap(F<A, State<S, B>> f) {
-    return suspended(s -> runF.f(s).bind(result -> Trampoline.pure(f.f(result._2()).run(result._1()))));
+    return new State<>(BIND, f, this);
   }
 
 }
@@ -2,20 +2,37 @@ package fj.data;
 
 import fj.*;
 
+/**
+ * A value paired with a log. The log of an eager writer is summed with its monoid at every step. The log of an
+ * {@link #accumulating() accumulating} writer is kept as the list of its pieces, which is only summed when the
+ * log is asked for, with {@link Monoid#sumLeft(Stream)}; so that a log built by many steps, for instance with
+ * {@link Monoid#stringMonoid} or {@link Monoid#listMonoid()}, is summed in linear rather than quadratic time.
+ * The summed log is kept by the writer, and the writers derived from it start from the summed log rather than
+ * from its pieces.
+ */
 public final class Writer<W, A> {
 
 	private final A val;
 	private final W logValue;
+	// the pieces of the log of an accumulating writer, null for an eager writer
+	private final DList<W> pieces;
+	// the summed log of an accumulating writer, once it was asked for
+	private volatile W summed;
 	private final Monoid<W> monoid;
 
 	private Writer(A a, W w, Monoid<W> m) {
+		this(a, w, null, m);
+	}
+
+	private Writer(A a, W w, DList<W> ws, Monoid<W> m) {
 		val = a;
 		logValue = w;
-        monoid = m;
+		pieces = ws;
+		monoid = m;
 	}
 
 	public P2<W, A> run() {
-		return P.p(logValue, val);
+		return P.p(log(), val);
 	}
 
 	public A value() {
@@ -23,7 +40,14 @@ public final class Writer<W, A> {
 	}
 
 	public W log() {
-		return logValue;
+		if (pieces == null)
+			return logValue;
+		W w = summed;
+		if (w == null) {
+			w = monoid.sumLeft(pieces.run().toStream());
+			summed = w;
+		}
+		return w;
 	}
 
 	public Monoid<W> monoid() {
@@ -38,17 +62,63 @@ public final class Writer<W, A> {
         return new Writer<>(a, m.zero(), m);
     }
 
+	/**
+	 * Constructs an accumulating writer of the given value, with an empty log.
+	 *
+	 * @param a The value of the writer.
+	 * @param m The monoid to sum the pieces of the log with.
+	 * @return An accumulating writer of the given value.
+	 */
+	public static <W, A> Writer<W, A> accumulating(A a, Monoid<W> m) {
+		return new Writer<>(a, null, DList.nil(), m);
+	}
+
+	/**
+	 * Returns this writer accumulating its log: the log of the writer and the pieces added to it by
+	 * {@link #tell(Object)} and {@link #flatMap(F)} are only summed when the log is asked for.
+	 *
+	 * @return This writer accumulating its log.
+	 */
+	public Writer<W, A> accumulating() {
+		return pieces == null ? new Writer<>(val, null, DList.single(logValue), monoid) : this;
+	}
+
+	/**
+	 * Returns whether this writer accumulates its log.
+	 *
+	 * @return <code>true</code> if this writer accumulates its log, <code>false</code> if it sums it at every step.
+	 */
+	public boolean isAccumulating() {
+		return pieces != null;
+	}
+
+	private DList<W> pieces() {
+		if (pieces == null)
+			return DList.single(logValue);
+		final W w = summed;
+		return w == null ? pieces : DList.single(w);
+	}
+
     public Writer<W, A> tell(W w) {
-		return unit(val, monoid.sum(logValue, w), monoid);
+		return pieces == null ? unit(val, monoid.sum(logValue, w), monoid) : new Writer<>(val, null, pieces().snoc(w), monoid);
 	}
 
 	public <B> Writer<W, B> map(F<A, B> f) {
-		return unit(f.f(val), logValue, monoid);
+		return new Writer<>(f.f(val), logValue, pieces == null ? null : pieces(), monoid);
 	}
 
+	/**
+	 * Binds the given function across the value of this writer, appending the log of the writer it returns to the
+	 * log of this writer. The result accumulates its log if either writer does.
+	 *
+	 * @param f The function to bind across the value of this writer.
+	 * @return A writer of the value of the writer returned by the function, with both logs.
+	 */
 	public <B> Writer<W, B> flatMap(F<A, Writer<W, B>> f) {
 		Writer<W, B> writer = f.f(val);
-		return unit(writer.val, writer.monoid.sum(logValue, writer.logValue), writer.monoid);
+		return pieces == null && writer.pieces == null ?
+				unit(writer.val, writer.monoid.sum(logValue, writer.logValue), writer.monoid) :
+				new Writer<>(writer.val, null, pieces().append(writer.pieces()), writer.monoid);
 	}
 
 	public static <B> Writer<String, B> unit(B b) {
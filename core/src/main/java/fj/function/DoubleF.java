@@ -0,0 +1,53 @@
+package fj.function;
+
+import fj.F;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A transformation function from <code>double</code> to <code>double</code> that avoids boxing.
+ *
+ * @see F
+ */
+@FunctionalInterface
+public interface DoubleF extends DoubleUnaryOperator {
+  /**
+   * Transform the given <code>double</code>.
+   *
+   * @param a The <code>double</code> to transform.
+   * @return The result of the transformation.
+   */
+  double f(double a);
+
+  default double applyAsDouble(double a) {
+    return f(a);
+  }
+
+  /**
+   * Function composition.
+   *
+   * @param g A function to compose with this one.
+   * @return The composed function such that this function is applied last.
+   */
+  default DoubleF o(final DoubleF g) {
+    return a -> f(g.f(a));
+  }
+
+  /**
+   * Converts this function to its boxed equivalent.
+   *
+   * @return A boxed function equivalent to this one.
+   */
+  default F<Double, Double> toF() {
+    return this::f;
+  }
+
+  /**
+   * The identity function on <code>double</code>.
+   *
+   * @return The identity function on <code>double</code>.
+   */
+  static DoubleF identity() {
+    return a -> a;
+  }
+}
@@ -0,0 +1,54 @@
+package fj.function;
+
+import fj.F2;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * A transformation function of arity-2 over <code>double</code> that avoids boxing.
+ *
+ * @see F2
+ */
+@FunctionalInterface
+public interface DoubleF2 extends DoubleBinaryOperator {
+  /**
+   * Transform the given pair of <code>double</code>s.
+   *
+   * @param a The first <code>double</code> to transform.
+   * @param b The second <code>double</code> to transform.
+   * @return The result of the transformation.
+   */
+  double f(double a, double b);
+
+  default double applyAsDouble(double a, double b) {
+    return f(a, b);
+  }
+
+  /**
+   * Partial application.
+   *
+   * @param a The <code>double</code> to which to apply this function.
+   * @return The function partially applied to the given argument.
+   */
+  default DoubleF f(final double a) {
+    return b -> f(a, b);
+  }
+
+  /**
+   * Flips the arguments of this function.
+   *
+   * @return A new function with the arguments of this function flipped.
+   */
+  default DoubleF2 flip() {
+    return (b, a) -> f(a, b);
+  }
+
+  /**
+   * Converts this function to its boxed equivalent.
+   *
+   * @return A boxed function equivalent to this one.
+   */
+  default F2<Double, Double, Double> toF2() {
+    return this::f;
+  }
+}
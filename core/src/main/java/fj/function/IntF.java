@@ -0,0 +1,53 @@
+package fj.function;
+
+import fj.F;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A transformation function from <code>int</code> to <code>int</code> that avoids boxing.
+ *
+ * @see F
+ */
+@FunctionalInterface
+public interface IntF extends IntUnaryOperator {
+  /**
+   * Transform the given <code>int</code>.
+   *
+   * @param a The <code>int</code> to transform.
+   * @return The result of the transformation.
+   */
+  int f(int a);
+
+  default int applyAsInt(int a) {
+    return f(a);
+  }
+
+  /**
+   * Function composition.
+   *
+   * @param g A function to compose with this one.
+   * @return The composed function such that this function is applied last.
+   */
+  default IntF o(final IntF g) {
+    return a -> f(g.f(a));
+  }
+
+  /**
+   * Converts this function to its boxed equivalent.
+   *
+   * @return A boxed function equivalent to this one.
+   */
+  default F<Integer, Integer> toF() {
+    return this::f;
+  }
+
+  /**
+   * The identity function on <code>int</code>.
+   *
+   * @return The identity function on <code>int</code>.
+   */
+  static IntF identity() {
+    return a -> a;
+  }
+}
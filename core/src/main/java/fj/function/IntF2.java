@@ -0,0 +1,54 @@
+package fj.function;
+
+import fj.F2;
+
+import java.util.function.IntBinaryOperator;
+
+/**
+ * A transformation function of arity-2 over <code>int</code> that avoids boxing.
+ *
+ * @see F2
+ */
+@FunctionalInterface
+public interface IntF2 extends IntBinaryOperator {
+  /**
+   * Transform the given pair of <code>int</code>s.
+   *
+   * @param a The first <code>int</code> to transform.
+   * @param b The second <code>int</code> to transform.
+   * @return The result of the transformation.
+   */
+  int f(int a, int b);
+
+  default int applyAsInt(int a, int b) {
+    return f(a, b);
+  }
+
+  /**
+   * Partial application.
+   *
+   * @param a The <code>int</code> to which to apply this function.
+   * @return The function partially applied to the given argument.
+   */
+  default IntF f(final int a) {
+    return b -> f(a, b);
+  }
+
+  /**
+   * Flips the arguments of this function.
+   *
+   * @return A new function with the arguments of this function flipped.
+   */
+  default IntF2 flip() {
+    return (b, a) -> f(a, b);
+  }
+
+  /**
+   * Converts this function to its boxed equivalent.
+   *
+   * @return A boxed function equivalent to this one.
+   */
+  default F2<Integer, Integer, Integer> toF2() {
+    return this::f;
+  }
+}
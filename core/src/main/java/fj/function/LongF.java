@@ -0,0 +1,53 @@
+package fj.function;
+
+import fj.F;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A transformation function from <code>long</code> to <code>long</code> that avoids boxing.
+ *
+ * @see F
+ */
+@FunctionalInterface
+public interface LongF extends LongUnaryOperator {
+  /**
+   * Transform the given <code>long</code>.
+   *
+   * @param a The <code>long</code> to transform.
+   * @return The result of the transformation.
+   */
+  long f(long a);
+
+  default long applyAsLong(long a) {
+    return f(a);
+  }
+
+  /**
+   * Function composition.
+   *
+   * @param g A function to compose with this one.
+   * @return The composed function such that this function is applied last.
+   */
+  default LongF o(final LongF g) {
+    return a -> f(g.f(a));
+  }
+
+  /**
+   * Converts this function to its boxed equivalent.
+   *
+   * @return A boxed function equivalent to this one.
+   */
+  default F<Long, Long> toF() {
+    return this::f;
+  }
+
+  /**
+   * The identity function on <code>long</code>.
+   *
+   * @return The identity function on <code>long</code>.
+   */
+  static LongF identity() {
+    return a -> a;
+  }
+}
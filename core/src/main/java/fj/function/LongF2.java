@@ -0,0 +1,54 @@
+package fj.function;
+
+import fj.F2;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A transformation function of arity-2 over <code>long</code> that avoids boxing.
+ *
+ * @see F2
+ */
+@FunctionalInterface
+public interface LongF2 extends LongBinaryOperator {
+  /**
+   * Transform the given pair of <code>long</code>s.
+   *
+   * @param a The first <code>long</code> to transform.
+   * @param b The second <code>long</code> to transform.
+   * @return The result of the transformation.
+   */
+  long f(long a, long b);
+
+  default long applyAsLong(long a, long b) {
+    return f(a, b);
+  }
+
+  /**
+   * Partial application.
+   *
+   * @param a The <code>long</code> to which to apply this function.
+   * @return The function partially applied to the given argument.
+   */
+  default LongF f(final long a) {
+    return b -> f(a, b);
+  }
+
+  /**
+   * Flips the arguments of this function.
+   *
+   * @return A new function with the arguments of this function flipped.
+   */
+  default LongF2 flip() {
+    return (b, a) -> f(a, b);
+  }
+
+  /**
+   * Converts this function to its boxed equivalent.
+   *
+   * @return A boxed function equivalent to this one.
+   */
+  default F2<Long, Long, Long> toF2() {
+    return this::f;
+  }
+}
@@ -0,0 +1,319 @@
+package fj.parser;
+
+import fj.F;
+import fj.F0;
+import fj.data.Stream;
+
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A cursor into a character sequence, used as parser input by {@link Parser.CharInputParser}. A
+ * cursor is the underlying sequence together with an offset, so advancing over the input allocates
+ * only a new cursor and never copies or boxes the characters. The offset of the remaining input of
+ * a {@link Result} is the position at which parsing stopped.
+ * <p>
+ * The position of a cursor never changes, but all cursors derived from the same starting input
+ * share a mutable, bounded table used by {@link Parser.CharInputParser#memo(Parser)} to remember
+ * parse results by position. The table is created with the starting input, so each call to
+ * {@link #charInput(CharSequence)} starts a parse with an empty table. Access to the table is
+ * synchronized, so parsers may run on the same input from several threads, although a result may
+ * then be computed twice. The table lives as long as any cursor derived from the starting input,
+ * such as the remaining input of a result that is kept; {@link #forget()} returns a cursor at the
+ * same position that does not hold it.
+ * <p>
+ * The cursors derived from the same starting input also share the furthest position at which a
+ * parser of {@link Parser.CharInputParser} failed, see {@link #furthestFailure()}, so that an error
+ * can be reported where the input stopped matching rather than where the last alternative was tried.
+ */
+public final class CharInput {
+  /**
+   * The default maximum number of memoised parse results per input.
+   */
+  public static final int DEFAULT_MEMO_CAPACITY = 1 << 16;
+
+  private final CharSequence cs;
+  private final int offset;
+  private final Memo memo;
+
+  private CharInput(final CharSequence cs, final int offset, final Memo memo) {
+    this.cs = cs;
+    this.offset = offset;
+    this.memo = memo;
+  }
+
+  // The memoised parse results of a parse, the least recently used first, and its furthest failure.
+  private static final class Memo {
+    private final int capacity;
+    private final LinkedHashMap<Long, Object> results = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile int furthest = -1;
+
+    Memo(final int capacity) {
+      this.capacity = capacity;
+    }
+
+    synchronized Object get(final long key) {
+      return results.get(key);
+    }
+
+    synchronized void put(final long key, final Object value) {
+      results.put(key, value);
+      if (results.size() > capacity) {
+        final Iterator<Long> eldest = results.keySet().iterator();
+        eldest.next();
+        eldest.remove();
+      }
+    }
+
+    int furthest() {
+      return furthest;
+    }
+
+    void failed(final int offset) {
+      if (offset > furthest) {
+        synchronized (this) {
+          if (offset > furthest)
+            furthest = offset;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the input at the start of the given character sequence.
+   *
+   * @param cs The characters to parse.
+   * @return The input at the start of the given character sequence.
+   */
+  public static CharInput charInput(final CharSequence cs) {
+    return charInput(cs, DEFAULT_MEMO_CAPACITY);
+  }
+
+  /**
+   * Returns the input at the start of the given character sequence, keeping at most the given
+   * number of memoised parse results.
+   *
+   * @param cs           The characters to parse.
+   * @param memoCapacity The maximum number of memoised parse results.
+   * @return The input at the start of the given character sequence.
+   */
+  public static CharInput charInput(final CharSequence cs, final int memoCapacity) {
+    return new CharInput(cs, 0, new Memo(memoCapacity));
+  }
+
+  /**
+   * Returns the input at the start of the given character array. The array is not copied.
+   *
+   * @param cs The characters to parse.
+   * @return The input at the start of the given character array.
+   */
+  public static CharInput charInput(final char[] cs) {
+    return charInput(CharBuffer.wrap(cs));
+  }
+
+  /**
+   * A first-class version of {@link #charInput(CharSequence)}.
+   *
+   * @return A function that returns the input at the start of a given character sequence.
+   */
+  public static F<CharSequence, CharInput> charInput() {
+    return CharInput::charInput;
+  }
+
+  /**
+   * Returns the position of this cursor in the underlying character sequence.
+   *
+   * @return The position of this cursor in the underlying character sequence.
+   */
+  public int offset() {
+    return offset;
+  }
+
+  /**
+   * Returns the number of characters remaining in this input.
+   *
+   * @return The number of characters remaining in this input.
+   */
+  public int remaining() {
+    return cs.length() - offset;
+  }
+
+  /**
+   * Returns <code>true</code> if there are no characters remaining, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if there are no characters remaining, <code>false</code> otherwise.
+   */
+  public boolean isEmpty() {
+    return offset >= cs.length();
+  }
+
+  /**
+   * Returns the character at this position. Undefined for empty input.
+   *
+   * @return The character at this position.
+   */
+  public char head() {
+    return cs.charAt(offset);
+  }
+
+  /**
+   * Returns the character at the given distance from this position. Undefined past the end of the
+   * input.
+   *
+   * @param i The distance from this position.
+   * @return The character at the given distance from this position.
+   */
+  public char charAt(final int i) {
+    return cs.charAt(offset + i);
+  }
+
+  /**
+   * Returns the input following the character at this position.
+   *
+   * @return The input following the character at this position.
+   */
+  public CharInput tail() {
+    return new CharInput(cs, offset + 1, memo);
+  }
+
+  /**
+   * Returns the input after skipping the given number of characters, or the empty input if fewer
+   * characters remain.
+   *
+   * @param n The number of characters to skip.
+   * @return The input after skipping the given number of characters.
+   */
+  public CharInput drop(final int n) {
+    return n <= 0 ? this : new CharInput(cs, Math.min(cs.length(), offset + n), memo);
+  }
+
+  /**
+   * Returns the next given number of characters as a string, or the remaining characters if fewer
+   * are available.
+   *
+   * @param n The number of characters to take.
+   * @return The next given number of characters as a string.
+   */
+  public String take(final int n) {
+    return cs.subSequence(offset, Math.min(cs.length(), offset + Math.max(0, n))).toString();
+  }
+
+  /**
+   * Returns <code>true</code> if the remaining input starts with the given characters.
+   *
+   * @param prefix The characters to compare.
+   * @return <code>true</code> if the remaining input starts with the given characters.
+   */
+  public boolean startsWith(final CharSequence prefix) {
+    final int n = prefix.length();
+    if (remaining() < n)
+      return false;
+    for (int i = 0; i < n; i++) {
+      if (cs.charAt(offset + i) != prefix.charAt(i))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of characters from this position that satisfy the given predicate.
+   *
+   * @param f The predicate the characters should satisfy.
+   * @return The number of characters from this position that satisfy the given predicate.
+   */
+  public int span(final F<Character, Boolean> f) {
+    final int length = cs.length();
+    int i = offset;
+    while (i < length && f.f(cs.charAt(i)))
+      i++;
+    return i - offset;
+  }
+
+  /**
+   * Returns the furthest position in the underlying character sequence at which a parser of
+   * {@link Parser.CharInputParser} failed on a cursor derived from the same starting input, or -1 if
+   * none has failed.
+   *
+   * @return The furthest position at which a parser failed, or -1 if none has failed.
+   */
+  public int furthestFailure() {
+    return memo.furthest();
+  }
+
+  /**
+   * Records a failure at the given distance from this position.
+   */
+  void failed(final int i) {
+    memo.failed(offset + i);
+  }
+
+  /**
+   * Returns a cursor at the same position as this one, with an empty table of memoised parse
+   * results and no recorded failure, so that keeping it does not keep the table of this input
+   * alive.
+   *
+   * @return A cursor at the same position with an empty table of memoised parse results.
+   */
+  public CharInput forget() {
+    return new CharInput(cs, offset, new Memo(memo.capacity));
+  }
+
+  /**
+   * Returns the memoised value for the given key, computing and remembering it if absent.
+   */
+  @SuppressWarnings("unchecked")
+  <A> A memo(final long key, final F0<A> f) {
+    final Object o = memo.get(key);
+    if (o != null)
+      return (A) o;
+    final A a = f.f();
+    memo.put(key, a);
+    return a;
+  }
+
+  /**
+   * Returns the remaining characters as a stream.
+   *
+   * @return The remaining characters as a stream.
+   */
+  public Stream<Character> toStream() {
+    return Stream.fromString(toString());
+  }
+
+  /**
+   * Returns the remaining characters.
+   *
+   * @return The remaining characters.
+   */
+  @Override
+  public String toString() {
+    return cs.subSequence(offset, cs.length()).toString();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o)
+      return true;
+    if (!(o instanceof CharInput))
+      return false;
+    final CharInput that = (CharInput) o;
+    final int n = remaining();
+    if (offset != that.offset || n != that.remaining())
+      return false;
+    for (int i = 0; i < n; i++) {
+      if (charAt(i) != that.charAt(i))
+        return false;
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int h = offset;
+    final int length = cs.length();
+    for (int i = offset; i < length; i++)
+      h = 31 * h + cs.charAt(i);
+    return h;
+  }
+}
@@ -4,10 +4,14 @@ import fj.*;
 
 import static fj.P.p;
 import static fj.Unit.unit;
+import fj.data.Iteratee.Input;
+import fj.data.Iteratee.IterV;
 import fj.data.List;
-import static fj.data.List.cons_;
+import fj.data.Option;
 import fj.data.Stream;
 import fj.data.Validation;
+
+import java.util.concurrent.atomic.AtomicInteger;
 import static fj.data.Validation.success;
 import static fj.parser.Result.result;
 
@@ -255,6 +259,38 @@ public final class Parser<I, A, E> {
     return or(p(alt), s);
   }
 
+  /**
+   * Returns a parser that commits to the given continuation once this parser succeeds. If this parser fails, the
+   * alternative is tried from the same input; if this parser succeeds, the result of the continuation is final and the
+   * alternative is never tried, even if the continuation fails. Used as a guard on a distinguishing prefix, this prunes
+   * the backtracking that {@link #or(F0)} would otherwise perform.
+   *
+   * @param f   The continuation to commit to once this parser succeeds.
+   * @param alt The parser to try if this parser fails.
+   * @return A parser that commits to the given continuation once this parser succeeds.
+   */
+  public <B> Parser<I, B, E> commit(final F<A, Parser<I, B, E>> f, final F0<Parser<I, B, E>> alt) {
+    return parser(i -> {
+      final Validation<E, Result<I, A>> r = parse(i);
+      return r.isSuccess() ?
+          f.f(r.success().value()).parse(r.success().rest()) :
+          alt.f().parse(i);
+    });
+  }
+
+  /**
+   * Returns a parser that commits to the given continuation once this parser succeeds. If this parser fails, the
+   * alternative is tried from the same input.
+   *
+   * @param f   The continuation to commit to once this parser succeeds.
+   * @param alt The parser to try if this parser fails.
+   * @return A parser that commits to the given continuation once this parser succeeds.
+   * @see #commit(F, F0)
+   */
+  public <B> Parser<I, B, E> commit(final F<A, Parser<I, B, E>> f, final Parser<I, B, E> alt) {
+    return commit(f, p(alt));
+  }
+
   /**
    * Returns a parser that negates this parser. If this parser succeeds, then the returned parser fails and vice versa.
    *
@@ -278,12 +314,14 @@ public final class Parser<I, A, E> {
   }
 
   /**
-   * Returns a parser that repeats application of this parser zero or many times.
+   * Returns a parser that repeats application of this parser zero or many times. The repetition runs in a loop in
+   * constant stack space, and stops after an application that succeeds without consuming input (returns the very same
+   * input).
    *
    * @return A parser that repeats application of this parser zero or many times.
    */
   public Parser<I, Stream<A>, E> repeat() {
-    return repeat1().or(() -> value(Stream.nil()));
+    return parser(i -> success(repeatFrom(i, List.Buffer.empty())));
   }
 
   /**
@@ -292,7 +330,24 @@ public final class Parser<I, A, E> {
    * @return A parser that repeats application of this parser one or many times.
    */
   public Parser<I, Stream<A>, E> repeat1() {
-      return bind(a -> repeat().map(as -> as.cons(a)));
+    return parser(i -> parse(i).map(r -> {
+      final List.Buffer<A> b = List.Buffer.empty();
+      b.snoc(r.value());
+      return r.rest() == i ? result(i, b.toList().toStream()) : repeatFrom(r.rest(), b);
+    }));
+  }
+
+  private Result<I, Stream<A>> repeatFrom(final I i, final List.Buffer<A> b) {
+    I in = i;
+    while (true) {
+      final Validation<E, Result<I, A>> r = parse(in);
+      if (r.isFail())
+        return result(in, b.toList().toStream());
+      b.snoc(r.success().value());
+      if (r.success().rest() == in)
+        return result(in, b.toList().toStream());
+      in = r.success().rest();
+    }
   }
 
   /**
@@ -342,9 +397,18 @@ public final class Parser<I, A, E> {
    * @return A parser after sequencing.
    */
   public static <I, A, E> Parser<I, List<A>, E> sequence(final List<Parser<I, A, E>> ps) {
-    return ps.isEmpty() ?
-        Parser.value(List.nil()) :
-        ps.head().bind(a -> sequence(ps.tail()).map(cons_(a)));
+    return parser(i -> {
+      final List.Buffer<A> b = List.Buffer.empty();
+      I in = i;
+      for (final Parser<I, A, E> p : ps) {
+        final Validation<E, Result<I, A>> r = p.parse(in);
+        if (r.isFail())
+          return Validation.fail(r.fail());
+        b.snoc(r.success().value());
+        in = r.success().rest();
+      }
+      return success(result(in, b.toList()));
+    });
   }
 
   /**
@@ -985,4 +1049,793 @@ public final class Parser<I, A, E> {
       return whitespace(p(missing), sat);
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Parsers that accept {@link CharInput} input. These are equivalent to the parsers of
+   * {@link CharsParser} but advance an offset into a character sequence instead of consuming a
+   * stream, so no character is boxed into a stream cell and multi-character tokens are produced
+   * as strings with a single allocation.
+   */
+  public static final class CharInputParser {
+    private static final AtomicInteger memoIds = new AtomicInteger();
+
+    private CharInputParser() {
+
+    }
+
+    /**
+     * Returns a packrat parser that remembers the result of the given parser at each input position for the duration
+     * of a parse, so that alternatives sharing a prefix, or a rule reached again after backtracking, do not parse the
+     * same input twice. With every rule memoised, a PEG-style grammar parses in linear time. The results are kept in
+     * the bounded table of the input (see {@link CharInput#charInput(CharSequence, int)}). Left recursive rules are not
+     * supported.
+     *
+     * @param p The parser to memoise.
+     * @return A parser that remembers the result of the given parser at each input position.
+     */
+    public static <A, E> Parser<CharInput, A, E> memo(final Parser<CharInput, A, E> p) {
+      final long id = (long) memoIds.incrementAndGet() << 32;
+      return parser(in -> in.memo(id | in.offset(), () -> p.parse(in)));
+    }
+
+    /**
+     * Returns a parser that fails with the error of the given parser together with the furthest position in the
+     * input at which a parser of this class failed during the parse, or the position at which the given parser
+     * started if that is further. Alternatives that backtrack report the error of the last alternative tried, so the
+     * furthest failure is usually a better indication of where the input stopped matching the grammar.
+     *
+     * @param p The parser whose failures are given a position.
+     * @return A parser that fails with the error of the given parser and the furthest position of a failure.
+     * @see CharInput#furthestFailure()
+     */
+    public static <A, E> Parser<CharInput, A, P2<E, Integer>> positioned(final Parser<CharInput, A, E> p) {
+      return parser(in -> p.parse(in).f().map(e -> p(e, Math.max(in.offset(), in.furthestFailure()))));
+    }
+
+    // fails with the given error, recording the failure at the given distance from the position of the input
+    private static <A, E> Validation<E, Result<CharInput, A>> fail(final CharInput in, final int i, final E e) {
+      in.failed(i);
+      return Validation.fail(e);
+    }
+
+    /**
+     * The default maximum length of a record for {@link #records(Parser, IterV)}.
+     */
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 1 << 20;
+
+    /**
+     * Returns an iteratee that consumes character chunks, such as those produced by
+     * {@link fj.data.IOFunctions#enumFileCharChunks}, parses them into records with the given parser and feeds each
+     * record to the given iteratee as soon as it is complete. Only the characters of the record being parsed are
+     * kept between chunks, so input of any size is parsed in memory bounded by the longest record.
+     * <p>
+     * A parse that fails or that consumes all of the characters received so far is resumed from the start of the
+     * record once the next chunk arrives. The failure is reported when the input ends or when the unparsed record
+     * grows beyond the given maximum length. Parsing stops when the given iteratee is done or when the record parser
+     * succeeds without consuming input.
+     *
+     * @param record          The parser of a single record.
+     * @param i               The iteratee fed with the parsed records.
+     * @param maxRecordLength The number of characters after which a record that fails to parse is reported.
+     * @return An iteratee that parses character chunks into records and feeds them to the given iteratee.
+     */
+    public static <R, A, E> IterV<char[], Validation<E, A>> records(final Parser<CharInput, R, E> record,
+                                                                   final IterV<R, A> i,
+                                                                   final int maxRecordLength) {
+      return IterV.cont(new Records<>(record, maxRecordLength, "", i));
+    }
+
+    /**
+     * Returns an iteratee that consumes character chunks, parses them into records with the given parser and feeds
+     * each record to the given iteratee, keeping at most {@link #DEFAULT_MAX_RECORD_LENGTH} characters of an
+     * incomplete record. See {@link #records(Parser, IterV, int)}.
+     *
+     * @param record The parser of a single record.
+     * @param i      The iteratee fed with the parsed records.
+     * @return An iteratee that parses character chunks into records and feeds them to the given iteratee.
+     */
+    public static <R, A, E> IterV<char[], Validation<E, A>> records(final Parser<CharInput, R, E> record,
+                                                                   final IterV<R, A> i) {
+      return records(record, i, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    private static final class Records<R, A, E> implements F<Input<char[]>, IterV<char[], Validation<E, A>>> {
+      private final Parser<CharInput, R, E> record;
+      private final int maxRecordLength;
+      private final String pending;
+      private final IterV<R, A> i;
+
+      Records(final Parser<CharInput, R, E> record, final int maxRecordLength, final String pending,
+              final IterV<R, A> i) {
+        this.record = record;
+        this.maxRecordLength = maxRecordLength;
+        this.pending = pending;
+        this.i = i;
+      }
+
+      @Override
+      public IterV<char[], Validation<E, A>> f(final Input<char[]> s) {
+        return s.apply(() -> IterV.cont(this), () -> this::chunk, this::eof);
+      }
+
+      private IterV<char[], Validation<E, A>> chunk(final char[] cs) {
+        final CharInput in = pending.isEmpty() ?
+            CharInput.charInput(cs) :
+            CharInput.charInput(new StringBuilder(pending.length() + cs.length).append(pending).append(cs));
+        return feed(in, false);
+      }
+
+      private IterV<char[], Validation<E, A>> eof() {
+        return feed(CharInput.charInput(pending), true);
+      }
+
+      // use loop instead of recursion because of missing TCO
+      private IterV<char[], Validation<E, A>> feed(final CharInput start, final boolean eof) {
+        CharInput in = start;
+        IterV<R, A> it = i;
+        while (!in.isEmpty() && doneValue(it).isNone()) {
+          final boolean partial = !eof && in.remaining() <= maxRecordLength;
+          final Validation<E, Result<CharInput, R>> v = record.parse(in);
+          if (v.isFail()) {
+            if (partial)
+              break;
+            return IterV.done(Validation.fail(v.fail()), Input.eof());
+          }
+          final CharInput rest = v.success().rest();
+          if (rest.offset() == in.offset() || rest.isEmpty() && partial)
+            break;
+          final R r = v.success().value();
+          it = it.fold(x -> IterV.done(x._1(), x._2()), k -> k.f(Input.el(r)));
+          in = rest;
+        }
+        final Option<A> a = doneValue(it);
+        if (a.isSome())
+          return IterV.done(Validation.success(a.some()), Input.empty());
+        else if (eof)
+          return IterV.done(Validation.success(it.run()), Input.eof());
+        else
+          return IterV.cont(new Records<>(record, maxRecordLength, in.toString(), it));
+      }
+
+      private static <R, A> Option<A> doneValue(final IterV<R, A> it) {
+        return it.fold(x -> Option.some(x._1()), k -> Option.none());
+      }
+    }
+
+    /**
+     * Returns a parser that produces a character if one is available or fails with the given error.
+     *
+     * @param e The error to fail with if a character is unavailable.
+     * @return A parser that produces a character if one is available or fails with the given error.
+     */
+    public static <E> Parser<CharInput, Character, E> character(final F0<E> e) {
+      return parser(in -> in.isEmpty() ?
+          fail(in, 0, e.f()) :
+          Validation.success(result(in.tail(), in.head())));
+    }
+
+    /**
+     * Returns a parser that produces a character if one is available or fails with the given error.
+     *
+     * @param e The error to fail with if a character is unavailable.
+     * @return A parser that produces a character if one is available or fails with the given error.
+     */
+    public static <E> Parser<CharInput, Character, E> character(final E e) {
+      return character(p(e));
+    }
+
+    /**
+     * Returns a parser that produces a character that satisfies the given predicate, or fails.
+     *
+     * @param missing The error if no character is available.
+     * @param sat     The error if the character does not satisfy the predicate.
+     * @param f       The predicate that the character should satisfy.
+     * @return A parser that produces a character that satisfies the given predicate, or fails.
+     */
+    public static <E> Parser<CharInput, Character, E> satisfy(final F0<E> missing, final F<Character, E> sat,
+                                                              final F<Character, Boolean> f) {
+      return parser(in -> {
+        if (in.isEmpty())
+          return fail(in, 0, missing.f());
+        final char c = in.head();
+        return f.f(c) ?
+            Validation.success(result(in.tail(), c)) :
+            fail(in, 0, sat.f(c));
+      });
+    }
+
+    /**
+     * Returns a parser that produces a character that satisfies the given predicate, or fails.
+     *
+     * @param missing The error if no character is available.
+     * @param sat     The error if the character does not satisfy the predicate.
+     * @param f       The predicate that the character should satisfy.
+     * @return A parser that produces a character that satisfies the given predicate, or fails.
+     */
+    public static <E> Parser<CharInput, Character, E> satisfy(final E missing, final F<Character, E> sat,
+                                                              final F<Character, Boolean> f) {
+      return satisfy(p(missing), sat, f);
+    }
+
+    /**
+     * Returns a parser that produces the given character or fails otherwise.
+     *
+     * @param missing The error if no character is available.
+     * @param sat     The error if the produced character is not the one given.
+     * @param c       The character to produce in the parser.
+     * @return A parser that produces the given character or fails otherwise.
+     */
+    public static <E> Parser<CharInput, Character, E> character(final F0<E> missing, final F<Character, E> sat,
+                                                                final char c) {
+      return satisfy(missing, sat, x -> x == c);
+    }
+
+    /**
+     * Returns a parser that produces the given character or fails otherwise.
+     *
+     * @param missing The error if no character is available.
+     * @param sat     The error if the produced character is not the one given.
+     * @param c       The character to produce in the parser.
+     * @return A parser that produces the given character or fails otherwise.
+     */
+    public static <E> Parser<CharInput, Character, E> character(final E missing, final F<Character, E> sat,
+                                                                final char c) {
+      return character(p(missing), sat, c);
+    }
+
+    /**
+     * Returns a parser that produces the given number of characters, or fails with the given error.
+     *
+     * @param missing The error if the given number of characters is unavailable.
+     * @param n       The number of characters to produce in the parse result.
+     * @return A parser that produces the given number of characters, or fails with the given error.
+     */
+    public static <E> Parser<CharInput, String, E> characters(final F0<E> missing, final int n) {
+      return parser(in -> in.remaining() < n ?
+          fail(in, in.remaining(), missing.f()) :
+          Validation.success(result(in.drop(n), in.take(n))));
+    }
+
+    /**
+     * Returns a parser that produces the given number of characters, or fails with the given error.
+     *
+     * @param missing The error if the given number of characters is unavailable.
+     * @param n       The number of characters to produce in the parse result.
+     * @return A parser that produces the given number of characters, or fails with the given error.
+     */
+    public static <E> Parser<CharInput, String, E> characters(final E missing, final int n) {
+      return characters(p(missing), n);
+    }
+
+    /**
+     * Returns a parser that produces the given string or fails otherwise.
+     *
+     * @param missing The error if the input could not supply more characters.
+     * @param sat     The error if a character was produced that is not the given string.
+     * @param s       The string to produce.
+     * @return A parser that produces the given string or fails otherwise.
+     */
+    public static <E> Parser<CharInput, String, E> string(final F0<E> missing, final F<Character, E> sat,
+                                                          final String s) {
+      return parser(in -> {
+        final int n = s.length();
+        for (int i = 0; i < n; i++) {
+          if (i >= in.remaining())
+            return fail(in, i, missing.f());
+          final char c = in.charAt(i);
+          if (c != s.charAt(i))
+            return fail(in, i, sat.f(c));
+        }
+        return Validation.success(result(in.drop(n), s));
+      });
+    }
+
+    /**
+     * Returns a parser that produces the given string or fails otherwise.
+     *
+     * @param missing The error if the input could not supply more characters.
+     * @param sat     The error if a character was produced that is not the given string.
+     * @param s       The string to produce.
+     * @return A parser that produces the given string or fails otherwise.
+     */
+    public static <E> Parser<CharInput, String, E> string(final E missing, final F<Character, E> sat,
+                                                          final String s) {
+      return string(p(missing), sat, s);
+    }
+
+    /**
+     * Returns a parser that produces the longest, possibly empty, string of characters that satisfy
+     * the given predicate. This parser never fails.
+     *
+     * @param f The predicate that the characters should satisfy.
+     * @return A parser that produces the longest string of characters that satisfy the given predicate.
+     */
+    public static <E> Parser<CharInput, String, E> takeWhile(final F<Character, Boolean> f) {
+      return parser(in -> {
+        final int n = in.span(f);
+        return Validation.success(result(in.drop(n), in.take(n)));
+      });
+    }
+
+    /**
+     * Returns a parser that produces the longest non-empty string of characters that satisfy the
+     * given predicate, or fails.
+     *
+     * @param missing The error if no character is available.
+     * @param sat     The error if the first character does not satisfy the predicate.
+     * @param f       The predicate that the characters should satisfy.
+     * @return A parser that produces the longest non-empty string of characters that satisfy the given predicate.
+     */
+    public static <E> Parser<CharInput, String, E> takeWhile1(final F0<E> missing, final F<Character, E> sat,
+                                                              final F<Character, Boolean> f) {
+      return parser(in -> {
+        if (in.isEmpty())
+          return fail(in, 0, missing.f());
+        final int n = in.span(f);
+        return n == 0 ?
+            fail(in, 0, sat.f(in.head())) :
+            Validation.success(result(in.drop(n), in.take(n)));
+      });
+    }
+
+    /**
+     * Returns a parser that produces the longest non-empty string of characters that satisfy the
+     * given predicate, or fails.
+     *
+     * @param missing The error if no character is available.
+     * @param sat     The error if the first character does not satisfy the predicate.
+     * @param f       The predicate that the characters should satisfy.
+     * @return A parser that produces the longest non-empty string of characters that satisfy the given predicate.
+     */
+    public static <E> Parser<CharInput, String, E> takeWhile1(final E missing, final F<Character, E> sat,
+                                                              final F<Character, Boolean> f) {
+      return takeWhile1(p(missing), sat, f);
+    }
+
+    /**
+     * Returns a parser that produces a digit (0 to 9).
+     *
+     * @param missing The error if there is no character in the input to produce a digit with.
+     * @param sat     The error if the produced character is not a digit.
+     * @return A parser that produces a digit (0 to 9).
+     */
+    public static <E> Parser<CharInput, Digit, E> digit(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isDigit).map(c1 -> Digit.fromChar(c1).some());
+    }
+
+    /**
+     * Returns a parser that produces a digit (0 to 9).
+     *
+     * @param missing The error if there is no character in the input to produce a digit with.
+     * @param sat     The error if the produced character is not a digit.
+     * @return A parser that produces a digit (0 to 9).
+     */
+    public static <E> Parser<CharInput, Digit, E> digit(final E missing, final F<Character, E> sat) {
+      return digit(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a lower-case character.
+     *
+     * @param missing The error if there is no character in the input to produce a lower-case character with.
+     * @param sat     The error if the produced character is not a lower-case character.
+     * @return A parser that produces a lower-case character.
+     * @see Character#isLowerCase(char)
+     */
+    public static <E> Parser<CharInput, Character, E> lower(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isLowerCase);
+    }
+
+    /**
+     * Returns a parser that produces a lower-case character.
+     *
+     * @param missing The error if there is no character in the input to produce a lower-case character with.
+     * @param sat     The error if the produced character is not a lower-case character.
+     * @return A parser that produces a lower-case character.
+     * @see Character#isLowerCase(char)
+     */
+    public static <E> Parser<CharInput, Character, E> lower(final E missing, final F<Character, E> sat) {
+      return lower(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a upper-case character.
+     *
+     * @param missing The error if there is no character in the input to produce a upper-case character with.
+     * @param sat     The error if the produced character is not a upper-case character.
+     * @return A parser that produces a upper-case character.
+     * @see Character#isUpperCase(char)
+     */
+    public static <E> Parser<CharInput, Character, E> upper(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isUpperCase);
+    }
+
+    /**
+     * Returns a parser that produces a upper-case character.
+     *
+     * @param missing The error if there is no character in the input to produce a upper-case character with.
+     * @param sat     The error if the produced character is not a upper-case character.
+     * @return A parser that produces a upper-case character.
+     * @see Character#isUpperCase(char)
+     */
+    public static <E> Parser<CharInput, Character, E> upper(final E missing, final F<Character, E> sat) {
+      return upper(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a defined character.
+     *
+     * @param missing The error if there is no character in the input to produce a defined character with.
+     * @param sat     The error if the produced character is not a defined character.
+     * @return A parser that produces a defined character.
+     * @see Character#isDefined(char)
+     */
+    public static <E> Parser<CharInput, Character, E> defined(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isDefined);
+    }
+
+    /**
+     * Returns a parser that produces a defined character.
+     *
+     * @param missing The error if there is no character in the input to produce a defined character with.
+     * @param sat     The error if the produced character is not a defined character.
+     * @return A parser that produces a defined character.
+     * @see Character#isDefined(char)
+     */
+    public static <E> Parser<CharInput, Character, E> defined(final E missing, final F<Character, E> sat) {
+      return defined(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a high-surrogate character.
+     *
+     * @param missing The error if there is no character in the input to produce a high-surrogate character with.
+     * @param sat     The error if the produced character is not a high-surrogate character.
+     * @return A parser that produces a high-surrogate character.
+     * @see Character#isHighSurrogate(char)
+     */
+    public static <E> Parser<CharInput, Character, E> highSurrogate(final F0<E> missing,
+                                                                    final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isHighSurrogate);
+    }
+
+    /**
+     * Returns a parser that produces a high-surrogate character.
+     *
+     * @param missing The error if there is no character in the input to produce a high-surrogate character with.
+     * @param sat     The error if the produced character is not a high-surrogate character.
+     * @return A parser that produces a high-surrogate character.
+     * @see Character#isHighSurrogate(char)
+     */
+    public static <E> Parser<CharInput, Character, E> highSurrogate(final E missing,
+                                                                    final F<Character, E> sat) {
+      return highSurrogate(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces an identifier-ignorable character.
+     *
+     * @param missing The error if there is no character in the input to produce an identifier-ignorable character with.
+     * @param sat     The error if the produced character is not an identifier-ignorable character.
+     * @return A parser that produces an identifier-ignorable character.
+     * @see Character#isIdentifierIgnorable(char)
+     */
+    public static <E> Parser<CharInput, Character, E> identifierIgnorable(final F0<E> missing,
+                                                                          final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isIdentifierIgnorable);
+    }
+
+    /**
+     * Returns a parser that produces an identifier-ignorable character.
+     *
+     * @param missing The error if there is no character in the input to produce an identifier-ignorable character with.
+     * @param sat     The error if the produced character is not an identifier-ignorable character.
+     * @return A parser that produces an identifier-ignorable character.
+     * @see Character#isIdentifierIgnorable(char)
+     */
+    public static <E> Parser<CharInput, Character, E> identifierIgnorable(final E missing,
+                                                                          final F<Character, E> sat) {
+      return identifierIgnorable(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces an ISO control character.
+     *
+     * @param missing The error if there is no character in the input to produce an ISO control character with.
+     * @param sat     The error if the produced character is not an ISO control character.
+     * @return A parser that produces an ISO control character.
+     * @see Character#isISOControl(char)
+     */
+    public static <E> Parser<CharInput, Character, E> isoControl(final F0<E> missing,
+                                                                 final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isISOControl);
+    }
+
+    /**
+     * Returns a parser that produces an ISO control character.
+     *
+     * @param missing The error if there is no character in the input to produce an ISO control character with.
+     * @param sat     The error if the produced character is not an ISO control character.
+     * @return A parser that produces an ISO control character.
+     * @see Character#isISOControl(char)
+     */
+    public static <E> Parser<CharInput, Character, E> isoControl(final E missing, final F<Character, E> sat) {
+      return isoControl(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a Java identifier part character.
+     *
+     * @param missing The error if there is no character in the input to produce a Java identifier part character with.
+     * @param sat     The error if the produced character is not a Java identifier part character.
+     * @return A parser that produces a Java identifier part character.
+     * @see Character#isJavaIdentifierPart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> javaIdentifierPart(final F0<E> missing,
+                                                                         final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isJavaIdentifierPart);
+    }
+
+    /**
+     * Returns a parser that produces a Java identifier part character.
+     *
+     * @param missing The error if there is no character in the input to produce a Java identifier part character with.
+     * @param sat     The error if the produced character is not a Java identifier part character.
+     * @return A parser that produces a Java identifier part character.
+     * @see Character#isJavaIdentifierPart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> javaIdentifierPart(final E missing,
+                                                                         final F<Character, E> sat) {
+      return javaIdentifierPart(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a Java identifier start character.
+     *
+     * @param missing The error if there is no character in the input to produce a Java identifier start character with.
+     * @param sat     The error if the produced character is not a Java identifier start character.
+     * @return A parser that produces a Java identifier start character.
+     * @see Character#isJavaIdentifierStart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> javaIdentifierStart(final F0<E> missing,
+                                                                          final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isJavaIdentifierStart);
+    }
+
+    /**
+     * Returns a parser that produces a Java identifier start character.
+     *
+     * @param missing The error if there is no character in the input to produce a Java identifier start character with.
+     * @param sat     The error if the produced character is not a Java identifier start character.
+     * @return A parser that produces a Java identifier start character.
+     * @see Character#isJavaIdentifierStart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> javaIdentifierStart(final E missing,
+                                                                          final F<Character, E> sat) {
+      return javaIdentifierStart(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces an alpha character.
+     *
+     * @param missing The error if there is no character in the input to produce an alpha character with.
+     * @param sat     The error if the produced character is not an alpha character.
+     * @return A parser that produces an alpha character.
+     * @see Character#isLetter(char)
+     */
+    public static <E> Parser<CharInput, Character, E> alpha(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isLetter);
+    }
+
+    /**
+     * Returns a parser that produces an alpha character.
+     *
+     * @param missing The error if there is no character in the input to produce an alpha character with.
+     * @param sat     The error if the produced character is not an alpha character.
+     * @return A parser that produces an alpha character.
+     * @see Character#isLetter(char)
+     */
+    public static <E> Parser<CharInput, Character, E> alpha(final E missing, final F<Character, E> sat) {
+      return alpha(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces an alpha-numeric character.
+     *
+     * @param missing The error if there is no character in the input to produce an alpha-numeric character with.
+     * @param sat     The error if the produced character is not an alpha-numeric character.
+     * @return A parser that produces an alpha-numeric character.
+     * @see Character#isLetterOrDigit(char)
+     */
+    public static <E> Parser<CharInput, Character, E> alphaNum(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isLetterOrDigit);
+    }
+
+    /**
+     * Returns a parser that produces an alpha-numeric character.
+     *
+     * @param missing The error if there is no character in the input to produce an alpha-numeric character with.
+     * @param sat     The error if the produced character is not an alpha-numeric character.
+     * @return A parser that produces an alpha-numeric character.
+     * @see Character#isLetterOrDigit(char)
+     */
+    public static <E> Parser<CharInput, Character, E> alphaNum(final E missing, final F<Character, E> sat) {
+      return alphaNum(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a low-surrogate character.
+     *
+     * @param missing The error if there is no character in the input to produce a low-surrogate character with.
+     * @param sat     The error if the produced character is not a low-surrogate character.
+     * @return A parser that produces a low-surrogate character.
+     * @see Character#isLowSurrogate(char)
+     */
+    public static <E> Parser<CharInput, Character, E> lowSurrogate(final F0<E> missing,
+                                                                   final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isLowSurrogate);
+    }
+
+    /**
+     * Returns a parser that produces a low-surrogate character.
+     *
+     * @param missing The error if there is no character in the input to produce a low-surrogate character with.
+     * @param sat     The error if the produced character is not a low-surrogate character.
+     * @return A parser that produces a low-surrogate character.
+     * @see Character#isLowSurrogate(char)
+     */
+    public static <E> Parser<CharInput, Character, E> lowSurrogate(final E missing, final F<Character, E> sat) {
+      return lowSurrogate(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a mirrored character.
+     *
+     * @param missing The error if there is no character in the input to produce a mirrored character with.
+     * @param sat     The error if the produced character is not a mirrored character.
+     * @return A parser that produces a mirrored character.
+     * @see Character#isMirrored(char)
+     */
+    public static <E> Parser<CharInput, Character, E> mirrored(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isMirrored);
+    }
+
+    /**
+     * Returns a parser that produces a mirrored character.
+     *
+     * @param missing The error if there is no character in the input to produce a mirrored character with.
+     * @param sat     The error if the produced character is not a mirrored character.
+     * @return A parser that produces a mirrored character.
+     * @see Character#isMirrored(char)
+     */
+    public static <E> Parser<CharInput, Character, E> mirrored(final E missing, final F<Character, E> sat) {
+      return mirrored(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a space character.
+     *
+     * @param missing The error if there is no character in the input to produce a space character with.
+     * @param sat     The error if the produced character is not a space character.
+     * @return A parser that produces a space character.
+     * @see Character#isSpace(char)
+     */
+    public static <E> Parser<CharInput, Character, E> space(final F0<E> missing, final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isSpaceChar);
+    }
+
+    /**
+     * Returns a parser that produces a space character.
+     *
+     * @param missing The error if there is no character in the input to produce a space character with.
+     * @param sat     The error if the produced character is not a space character.
+     * @return A parser that produces a space character.
+     * @see Character#isSpace(char)
+     */
+    public static <E> Parser<CharInput, Character, E> space(final E missing, final F<Character, E> sat) {
+      return space(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a title-case character.
+     *
+     * @param missing The error if there is no character in the input to produce a title-case character with.
+     * @param sat     The error if the produced character is not a title-case character.
+     * @return A parser that produces a title-case character.
+     * @see Character#isTitleCase(char)
+     */
+    public static <E> Parser<CharInput, Character, E> titleCase(final F0<E> missing,
+                                                                final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isTitleCase);
+    }
+
+    /**
+     * Returns a parser that produces a title-case character.
+     *
+     * @param missing The error if there is no character in the input to produce a title-case character with.
+     * @param sat     The error if the produced character is not a title-case character.
+     * @return A parser that produces a title-case character.
+     * @see Character#isTitleCase(char)
+     */
+    public static <E> Parser<CharInput, Character, E> titleCase(final E missing, final F<Character, E> sat) {
+      return titleCase(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a unicode identifier part character.
+     *
+     * @param missing The error if there is no character in the input to produce a unicode identifier part character with.
+     * @param sat     The error if the produced character is not a unicode identifier part character.
+     * @return A parser that produces a unicode identifier part character.
+     * @see Character#isUnicodeIdentifierPart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> unicodeIdentiferPart(final F0<E> missing,
+                                                                           final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isUnicodeIdentifierPart);
+    }
+
+    /**
+     * Returns a parser that produces a unicode identifier part character.
+     *
+     * @param missing The error if there is no character in the input to produce a unicode identifier part character with.
+     * @param sat     The error if the produced character is not a unicode identifier part character.
+     * @return A parser that produces a unicode identifier part character.
+     * @see Character#isUnicodeIdentifierPart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> unicodeIdentiferPart(final E missing,
+                                                                           final F<Character, E> sat) {
+      return unicodeIdentiferPart(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a unicode identifier start character.
+     *
+     * @param missing The error if there is no character in the input to produce a unicode identifier start character with.
+     * @param sat     The error if the produced character is not a unicode identifier start character.
+     * @return A parser that produces a unicode identifier start character.
+     * @see Character#isUnicodeIdentifierStart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> unicodeIdentiferStart(final F0<E> missing,
+                                                                            final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isUnicodeIdentifierStart);
+    }
+
+    /**
+     * Returns a parser that produces a unicode identifier start character.
+     *
+     * @param missing The error if there is no character in the input to produce a unicode identifier start character with.
+     * @param sat     The error if the produced character is not a unicode identifier start character.
+     * @return A parser that produces a unicode identifier start character.
+     * @see Character#isUnicodeIdentifierStart(char)
+     */
+    public static <E> Parser<CharInput, Character, E> unicodeIdentiferStart(final E missing,
+                                                                            final F<Character, E> sat) {
+      return unicodeIdentiferStart(p(missing), sat);
+    }
+
+    /**
+     * Returns a parser that produces a white-space character.
+     *
+     * @param missing The error if there is no character in the input to produce a white-space character with.
+     * @param sat     The error if the produced character is not a white-space character.
+     * @return A parser that produces a white-space character.
+     * @see Character#isWhitespace(char)
+     */
+    public static <E> Parser<CharInput, Character, E> whitespace(final F0<E> missing,
+                                                                 final F<Character, E> sat) {
+      return satisfy(missing, sat, Character::isWhitespace);
+    }
+
+    /**
+     * Returns a parser that produces a white-space character.
+     *
+     * @param missing The error if there is no character in the input to produce a white-space character with.
+     * @param sat     The error if the produced character is not a white-space character.
+     * @return A parser that produces a white-space character.
+     * @see Character#isWhitespace(char)
+     */
+    public static <E> Parser<CharInput, Character, E> whitespace(final E missing, final F<Character, E> sat) {
+      return whitespace(p(missing), sat);
+    }
+  }
+}
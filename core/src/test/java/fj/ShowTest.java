@@ -1,9 +1,17 @@
 package fj;
 
 import fj.data.Array;
+import fj.data.Enumerator;
+import fj.data.Option;
+import fj.data.Stream;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+
 import static fj.data.Array.array;
+import static fj.data.List.list;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class ShowTest {
@@ -13,4 +21,41 @@ public class ShowTest {
         String s = Show.arrayShow(Show.intShow).showS(a);
         assertTrue(s.equals("Array(3,5,7)"));
     }
+
+    @Test
+    public void appendTo() {
+        Show<P2<Option<Integer>, String>> s = Show.p2Show(Show.optionShow(Show.intShow), Show.stringShow);
+        StringBuilder sb = new StringBuilder("x = ");
+        assertTrue(s.appendTo(sb, P.p(Option.some(1), "a")) == sb);
+        assertEquals("x = (Some(1),a)", sb.toString());
+        assertEquals("(None,a)", Stream.asString(s.show(P.p(Option.none(), "a"))));
+    }
+
+    @Test
+    public void writeTo() throws IOException {
+        StringWriter w = new StringWriter();
+        Show.listShow(Show.intShow).writeTo(w, list(1, 2, 3));
+        assertEquals("List(1,2,3)", w.toString());
+    }
+
+    @Test
+    public void streamShowIsLazy() {
+        Stream<Character> cs = Show.streamShow(Show.intShow).show(Stream.forever(Enumerator.intEnumerator, 0));
+        assertEquals("Stream(0,1,2", Stream.asString(cs.take(12)));
+    }
+
+    @Test
+    public void compositeShowIsLazy() {
+        Stream<Integer> naturals = Stream.forever(Enumerator.intEnumerator, 0);
+        Show<Stream<Integer>> s = Show.streamShow(Show.intShow);
+        assertEquals("Some(Stream(0,1", Stream.asString(Show.optionShow(s).show(Option.some(naturals)).take(15)));
+        assertEquals("(Stream(0,1", Stream.asString(Show.p2Show(s, Show.intShow).show(P.p(naturals, 1)).take(11)));
+        assertEquals("List(Stream(0,1", Stream.asString(Show.listShow(s).show(list(naturals)).take(15)));
+    }
+
+    @Test
+    public void streamFunctionShow() {
+        Show<Integer> s = Show.show(i -> Stream.fromString("<" + i + ">"));
+        assertEquals("List(<1>,<2>)", Show.listShow(s).showS(list(1, 2)));
+    }
 }
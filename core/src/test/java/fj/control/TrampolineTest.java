@@ -0,0 +1,54 @@
+package fj.control;
+
+import fj.data.Either;
+import org.junit.Test;
+
+import static fj.control.Trampoline.pure;
+import static fj.control.Trampoline.suspend;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class TrampolineTest {
+
+    private static Trampoline<Integer> sumLeft(final int n) {
+        Trampoline<Integer> t = pure(0);
+        for (int i = 1; i <= n; i++) {
+            final int k = i;
+            t = t.bind(acc -> pure(acc + k));
+        }
+        return t;
+    }
+
+    private static Trampoline<Integer> sumRight(final int n) {
+        return n == 0 ? pure(0) : suspend(() -> sumRight(n - 1)).map(acc -> acc + n);
+    }
+
+    private static <A> A resumeAll(final Trampoline<A> t) {
+        Trampoline<A> current = t;
+        while (true) {
+            final Either<fj.P1<Trampoline<A>>, A> x = current.resume();
+            if (x.isRight())
+                return x.right().value();
+            current = x.left().value()._1();
+        }
+    }
+
+    @Test
+    public void testRunDeepLeftBinds() {
+        assertThat(sumLeft(100000).run(), is(705082704));
+    }
+
+    @Test
+    public void testRunDeepRightBinds() {
+        assertThat(sumRight(100000).run(), is(705082704));
+    }
+
+    @Test
+    public void testRunAgreesWithResume() {
+        final Trampoline<Integer> t = sumLeft(1000).bind(a -> sumRight(1000).map(b -> a - b))
+            .zipWith(sumRight(10), (a, b) -> a + b);
+        assertThat(t.run(), is(resumeAll(t)));
+        assertThat(t.run(), is(55));
+    }
+
+}
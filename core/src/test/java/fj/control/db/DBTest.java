@@ -0,0 +1,116 @@
+package fj.control.db;
+
+import fj.data.Iteratee.IterV;
+import fj.data.List;
+import fj.data.Option;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import static fj.data.List.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class DBTest {
+
+    /**
+     * A stub JDBC connection whose queries return the rows 0 until a given count, one integer column each.
+     */
+    static final class StubConnection {
+        final java.util.List<Integer> batchSizes = new ArrayList<>();
+        final java.util.List<Integer> batch = new ArrayList<>();
+        int rows;
+        int fetchSize;
+        int rowsRead;
+
+        Connection connection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "prepareStatement": return statement();
+                    default: throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        }
+
+        private PreparedStatement statement() {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "setInt": rows = (Integer) args[1]; batch.add(rows); return null;
+                    case "addBatch": return null;
+                    case "executeBatch":
+                        final int[] counts = new int[batch.size()];
+                        java.util.Arrays.fill(counts, 1);
+                        batchSizes.add(batch.size());
+                        batch.clear();
+                        return counts;
+                    case "setFetchSize": fetchSize = (Integer) args[0]; return null;
+                    case "executeQuery": return resultSet();
+                    case "close": return null;
+                    default: throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        }
+
+        private ResultSet resultSet() {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "next":
+                        if (rowsRead == rows) {
+                            return false;
+                        }
+                        rowsRead++;
+                        return true;
+                    case "getInt": return rowsRead - 1;
+                    case "close": return null;
+                    default: throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testBatch() throws SQLException {
+        final StubConnection stub = new StubConnection();
+        final DB<Long> insert = DB.batch("INSERT INTO T VALUES (?)", range(0, 10), (ps, i) -> ps.setInt(1, i), 4);
+        assertThat(insert.run(stub.connection()), is(10L));
+        assertThat(List.iterableList(stub.batchSizes), is(List.list(4, 4, 2)));
+    }
+
+    @Test
+    public void testQueryIteratee() throws SQLException {
+        final StubConnection stub = new StubConnection();
+        final DB<Integer> sum = DB.query("SELECT ID FROM T WHERE ID < ?", ps -> ps.setInt(1, 1000), rs -> rs.getInt(1), 100,
+            IterV.<Integer, Integer>foldLeft((acc, i) -> acc + i, 0));
+        assertThat(sum.run(stub.connection()), is(499500));
+        assertThat(stub.fetchSize, is(100));
+
+        final StubConnection stub2 = new StubConnection();
+        final DB<Option<Integer>> head = DB.query("SELECT ID FROM T WHERE ID < ?", ps -> ps.setInt(1, 1000), rs -> rs.getInt(1), 10,
+            IterV.<Integer>head());
+        assertThat(head.run(stub2.connection()), is(Option.some(0)));
+        assertThat(stub2.rowsRead, is(1));
+    }
+
+    @Test
+    public void testQueryStream() throws SQLException {
+        final StubConnection stub = new StubConnection();
+        final DB<List<Integer>> evens = DB.queryStream("SELECT ID FROM T WHERE ID < ?", ps -> ps.setInt(1, 1000000), rs -> rs.getInt(1), 1000,
+            s -> s.filter(i -> i % 2 == 0).take(3).toList());
+        assertThat(evens.run(stub.connection()), is(List.list(0, 2, 4)));
+        assertThat(stub.rowsRead, is(5));
+    }
+
+    @Test(expected = SQLException.class)
+    public void testQueryStreamFailure() throws SQLException {
+        final StubConnection stub = new StubConnection();
+        DB.queryStream("SELECT ID FROM T WHERE ID < ?", ps -> ps.setInt(1, 10), rs -> {
+            throw new SQLException("broken");
+        }, 0, s -> s.length()).run(stub.connection());
+    }
+
+}
@@ -0,0 +1,160 @@
+package fj.control.db;
+
+import fj.Unit;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class PooledConnectorTest {
+
+    /**
+     * A stub JDBC connection counting the statements it prepares.
+     */
+    static final class StubConnection {
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        final AtomicInteger prepared = new AtomicInteger();
+        final AtomicInteger rollbacks = new AtomicInteger();
+        final AtomicInteger batched = new AtomicInteger();
+        boolean autoCommit = true;
+
+        Connection connection() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "close": closed.set(true); return null;
+                    case "isClosed": return closed.get();
+                    case "isValid": return valid.get();
+                    case "getAutoCommit": return autoCommit;
+                    case "setAutoCommit": autoCommit = (Boolean) args[0]; return null;
+                    case "rollback": rollbacks.incrementAndGet(); return null;
+                    case "commit": return null;
+                    case "prepareStatement":
+                        prepared.incrementAndGet();
+                        return statement();
+                    default: throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        }
+
+        private PreparedStatement statement() {
+            final AtomicBoolean closed = new AtomicBoolean();
+            final AtomicInteger fetchSize = new AtomicInteger();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, m, args) -> {
+                switch (m.getName()) {
+                    case "close": closed.set(true); return null;
+                    case "isClosed": return closed.get();
+                    case "clearParameters": case "setInt": case "setMaxRows": case "setQueryTimeout": return null;
+                    case "getMaxRows": case "getQueryTimeout": case "getResultSet": return m.getName().startsWith("getR") ? null : 0;
+                    case "getFetchSize": return fetchSize.get();
+                    case "setFetchSize": fetchSize.set((Integer) args[0]); return null;
+                    case "addBatch": batched.incrementAndGet(); return null;
+                    case "clearBatch": batched.set(0); return null;
+                    case "executeUpdate": return 1;
+                    default: throw new UnsupportedOperationException(m.getName());
+                }
+            });
+        }
+    }
+
+    static final class StubConnector extends Connector {
+        final java.util.List<StubConnection> opened = new java.util.ArrayList<>();
+
+        public synchronized Connection connect() {
+            final StubConnection c = new StubConnection();
+            opened.add(c);
+            return c.connection();
+        }
+    }
+
+    @Test
+    public void testReuseAndStatementCache() throws SQLException {
+        final StubConnector stub = new StubConnector();
+        final PooledConnector pool = PooledConnector.pooled(stub, 2);
+        final DB<Integer> insert = DB.prepare("INSERT INTO T VALUES (?)", ps -> {
+            ps.setInt(1, 1);
+            return ps.executeUpdate();
+        });
+        final DbState writer = DbState.writer(pool);
+        for (int i = 0; i < 5; i++) {
+            assertThat(writer.run(insert), is(1));
+        }
+        assertThat(stub.opened.size(), is(1));
+        assertThat(stub.opened.get(0).prepared.get(), is(1));
+        assertThat(pool.acquireCount(), is(5L));
+        assertThat(pool.createdCount(), is(1L));
+        assertThat(pool.idleCount(), is(1));
+        pool.close();
+        assertThat(stub.opened.get(0).closed.get(), is(true));
+    }
+
+    @Test
+    public void testStatementResetAndSharing() throws SQLException {
+        final StubConnector stub = new StubConnector();
+        final PooledConnector pool = PooledConnector.pooled(stub, 1);
+        final Connection c = pool.connect();
+        final PreparedStatement first = c.prepareStatement("INSERT INTO T VALUES (?)");
+        first.setFetchSize(100);
+        first.addBatch();
+        final PreparedStatement second = c.prepareStatement("INSERT INTO T VALUES (?)");
+        assertThat(stub.opened.get(0).prepared.get(), is(2));
+        second.close();
+        first.close();
+        assertThat(first.isClosed(), is(true));
+        assertThat(stub.opened.get(0).batched.get(), is(0));
+        final PreparedStatement third = c.prepareStatement("INSERT INTO T VALUES (?)");
+        assertThat(stub.opened.get(0).prepared.get(), is(2));
+        assertThat(third.getFetchSize(), is(0));
+        c.close();
+        final Connection d = pool.connect();
+        d.prepareStatement("INSERT INTO T VALUES (?)").close();
+        assertThat(stub.opened.get(0).prepared.get(), is(2));
+        d.close();
+    }
+
+    @Test
+    public void testBoundedPool() throws SQLException {
+        final StubConnector stub = new StubConnector();
+        final PooledConnector pool = PooledConnector.pooled(stub, 1, 60000, 10, 1, 8);
+        final Connection c = pool.connect();
+        try {
+            pool.connect();
+            throw new AssertionError("expected the pool to be exhausted");
+        } catch (SQLException e) {
+            assertThat(e.getMessage().startsWith("Timed out"), is(true));
+        }
+        c.setAutoCommit(false);
+        c.close();
+        assertThat(c.isClosed(), is(true));
+        assertThat(stub.opened.get(0).rollbacks.get(), is(1));
+        pool.connect().close();
+        assertThat(stub.opened.size(), is(1));
+    }
+
+    @Test
+    public void testValidationAndEviction() throws SQLException, InterruptedException {
+        final StubConnector stub = new StubConnector();
+        final PooledConnector pool = PooledConnector.pooled(stub, 2, 20, 1000, 1, 8);
+        pool.connect().close();
+        stub.opened.get(0).valid.set(false);
+        pool.connect().close();
+        assertThat(stub.opened.size(), is(2));
+        assertThat(stub.opened.get(0).closed.get(), is(true));
+        Thread.sleep(50);
+        pool.evictIdle();
+        assertThat(pool.idleCount(), is(0));
+        assertThat(pool.evictedCount(), is(1L));
+        assertThat(stub.opened.get(1).closed.get(), is(true));
+        final DB<Unit> nothing = DB.unit(Unit.unit());
+        DbState.reader(pool).run(nothing);
+        assertThat(stub.opened.size(), is(3));
+    }
+
+}
@@ -0,0 +1,83 @@
+package fj.data;
+
+import fj.Unit;
+import fj.control.parallel.Strategy;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static fj.data.List.list;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AsyncIOTest {
+
+  private final Strategy<Unit> s = Strategy.simpleThreadStrategy();
+
+  private static Path tempFile() throws IOException {
+    final File f = File.createTempFile("fj-async", ".txt");
+    f.deleteOnExit();
+    return f.toPath();
+  }
+
+  @Test
+  public void testWriteAndReadFile() throws IOException {
+    final Path p = tempFile();
+    final AsyncIO<String> io = AsyncIO.writeFile(p, "hello async".getBytes(StandardCharsets.UTF_8))
+        .append(AsyncIO.readFile(p))
+        .map(bs -> new String(bs, StandardCharsets.UTF_8));
+    assertThat(io.runAsync(s).claim().success(), is("hello async"));
+  }
+
+  @Test
+  public void testParTraverse() throws IOException {
+    final List<Path> ps = list(tempFile(), tempFile(), tempFile());
+    final AsyncIO<List<Integer>> io = AsyncIO.parTraverse(ps.zipIndex(), p -> AsyncIO.writeFile(p._1(), new byte[p._2()]))
+        .append(AsyncIO.parTraverse(ps, p -> AsyncIO.readFile(p).map(bs -> bs.length)));
+    assertThat(io.runAsync(s).claim().success(), is(list(0, 1, 2)));
+    final AsyncIO<List<Integer>> failing = AsyncIO.parTraverse(list(1, 2), i -> i == 2 ? AsyncIO.failure(new IOException("two")) : AsyncIO.unit(i));
+    assertThat(failing.runAsync(s).claim().fail().getMessage(), is("two"));
+  }
+
+  @Test
+  public void testRace() {
+    final AsyncIO<Integer> never = k -> {};
+    assertThat(AsyncIO.race(never, AsyncIO.unit(1)).runAsync(s).claim().success(), is(1));
+  }
+
+  @Test
+  public void testBracketReleasesOnFailure() {
+    final AtomicBoolean released = new AtomicBoolean();
+    final AsyncIO<Integer> io = AsyncIO.bracket(AsyncIO.unit("resource"), r -> k -> {
+      released.set(true);
+      k.f(Validation.success(Unit.unit()));
+    }, r -> AsyncIO.failure(new IOException("boom")));
+    assertThat(io.runAsync(s).claim().fail().getMessage(), is("boom"));
+    assertThat(released.get(), is(true));
+  }
+
+  @Test
+  public void testBracketReleasesOnException() {
+    final AtomicBoolean released = new AtomicBoolean();
+    final AsyncIO<Integer> io = AsyncIO.bracket(AsyncIO.unit("resource"), r -> k -> {
+      released.set(true);
+      k.f(Validation.success(Unit.unit()));
+    }, r -> k -> {
+      throw new IllegalStateException("boom");
+    });
+    assertThat(io.runAsync(s).claim().fail().getCause().getMessage(), is("boom"));
+    assertThat(released.get(), is(true));
+  }
+
+  @Test
+  public void testIORunAsync() {
+    final IO<Integer> io = () -> 42;
+    assertThat(io.runAsync(s).claim().success(), is(42));
+    assertThat(io.toAsync(s).map(i -> i + 1).runAsync(s).claim().success(), is(43));
+  }
+
+}
@@ -29,4 +29,27 @@ public class DListTest {
         DList<Integer> d = iteratorDList(List.range(0, 1000).iterator());
         assertThat(d.toJavaList(), is(List.range(0, 1000).toJavaList()));
     }
+
+    @Test
+    public void testDeepAppends() {
+        DList<Integer> left = nil();
+        DList<Integer> right = nil();
+        for (int i = 0; i < 100000; i++) {
+            left = left.snoc(i);
+            right = right.cons(99999 - i);
+        }
+        assertThat(left.run(), is(List.range(0, 100000)));
+        assertThat(right.run(), is(List.range(0, 100000)));
+        assertThat(left.foldLeft((acc, i) -> acc + 1, 0), is(100000));
+    }
+
+    @Test
+    public void testIteratorAndFunction() {
+        DList<Integer> d = listDList(List.range(0, 3))
+            .append(dlist(tail -> fj.control.Trampoline.pure(tail.cons(3))))
+            .append(arrayDList(4, 5));
+        assertThat(List.iterableList(d), is(List.range(0, 6)));
+        assertThat(d.run(), is(List.range(0, 6)));
+        assertThat(d.toJavaList(), is(List.range(0, 6).toJavaList()));
+    }
 }
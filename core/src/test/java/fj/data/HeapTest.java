@@ -0,0 +1,52 @@
+package fj.data;
+
+import fj.P2;
+import org.junit.Test;
+
+import static fj.Ord.intOrd;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class HeapTest {
+
+  @Test
+  public void testEmpty() {
+    Heap<Integer> h = Heap.empty(intOrd);
+    assertThat(h.isEmpty(), equalTo(true));
+    assertThat(h.findMin(), equalTo(Option.none()));
+    assertThat(h.deleteMin().size(), equalTo(0));
+  }
+
+  @Test
+  public void testInsertDeleteMin() {
+    Heap<Integer> h = Heap.heap(intOrd, 5, 3, 9, 1, 7, 3);
+    assertThat(h.size(), equalTo(6));
+    assertThat(h.findMin(), equalTo(Option.some(1)));
+    assertThat(h.toList(), equalTo(List.list(1, 3, 3, 5, 7, 9)));
+    assertThat(h.deleteMin().findMin(), equalTo(Option.some(3)));
+  }
+
+  @Test
+  public void testMax() {
+    Heap<Integer> h = Heap.iterableHeap(intOrd.reverse(), List.range(0, 10));
+    assertThat(Heap.<Integer>emptyMax(intOrd).meld(h).toStream().take(3).toList(), equalTo(List.list(9, 8, 7)));
+  }
+
+  @Test
+  public void testMeld() {
+    Heap<Integer> h1 = Heap.iterableHeap(intOrd, List.range(0, 1000).filter(i -> i % 2 == 0));
+    Heap<Integer> h2 = Heap.iterableHeap(intOrd, List.range(0, 1000).filter(i -> i % 2 == 1));
+    Heap<Integer> h = h1.meld(h2);
+    assertThat(h.size(), equalTo(1000));
+    assertThat(h.toList(), equalTo(List.range(0, 1000)));
+  }
+
+  @Test
+  public void testLarge() {
+    Heap<Integer> h = Heap.iterableHeap(intOrd, List.range(0, 100000).reverse());
+    Option<P2<Integer, Heap<Integer>>> u = h.uncons();
+    assertThat(u.map(P2.__1()), equalTo(Option.some(0)));
+    assertThat(h.toList(), equalTo(List.range(0, 100000)));
+  }
+
+}
@@ -1,11 +1,14 @@
 package fj.data;
 
 import fj.*;
+import fj.control.parallel.Strategy;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.*;
 import java.io.Reader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static fj.data.IOFunctions.*;
@@ -114,6 +117,67 @@ public class IOFunctionsTest {
     assertThat(readAndPrintUpperCasedName.run(), is("FOO"));
   }
 
+  @Test
+  public void testFileEnumerators() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      sb.append("line ").append(i).append(" \u00e9\u20ac\n");
+    }
+    final String content = sb.toString();
+    final File f = File.createTempFile("fj-enum", ".txt");
+    f.deleteOnExit();
+    final byte[] bytes = content.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    try (OutputStream out = new FileOutputStream(f)) {
+      out.write(bytes);
+    }
+    final Option<java.nio.charset.Charset> utf8 = Option.some(java.nio.charset.StandardCharsets.UTF_8);
+
+    final List<char[]> chunks = enumFileCharChunks(f, utf8, Iteratee.IterV.<char[]>list()).run().run();
+    assertThat(chunks.reverse().foldLeft((acc, cs) -> acc.append(cs), new StringBuilder()).toString(), is(content));
+    assertThat(enumFileChars(f, utf8, Iteratee.IterV.<Character>length()).run().run(), is(content.length()));
+    assertThat(enumFileChars(f, utf8, Iteratee.IterV.<Character>drop(3).bind(u -> Iteratee.IterV.<Character>head())).run().run(), is(Option.some('e')));
+
+    assertThat(enumFileByteChunks(f, Iteratee.IterV.byteLength()).run().run(), is((long) bytes.length));
+    assertThat(enumFileByteChunks(f, Iteratee.IterV.byteCount((byte) '\n')).run().run(), is(5000L));
+    assertThat(enumFileMappedByteChunks(f, Iteratee.IterV.byteCount((byte) '\n')).run().run(), is(5000L));
+  }
+
+  @Test
+  public void testParEnumFileLines() throws IOException {
+    final File f = File.createTempFile("fj-par", ".txt");
+    f.deleteOnExit();
+    int chars = 0;
+    try (java.io.Writer out = new OutputStreamWriter(new FileOutputStream(f), java.nio.charset.StandardCharsets.UTF_8)) {
+      for (int i = 0; i < 200000; i++) {
+        final String line = "line " + i + " \u00e9";
+        out.write(line);
+        out.write(i % 2 == 0 ? "\n" : "\r\n");
+        chars += line.length();
+      }
+    }
+    final ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      final Strategy<Integer> s = Strategy.executorStrategy(pool);
+      final Option<java.nio.charset.Charset> utf8 = Option.some(java.nio.charset.StandardCharsets.UTF_8);
+      assertThat(parEnumFileLines(f, utf8, s, Iteratee.IterV.<String>length(), Monoid.intAdditionMonoid).run(), is(200000));
+      final Iteratee.IterV<String, Integer> lengths = Iteratee.IterV.foldLeft((n, l) -> n + l.length(), 0);
+      assertThat(parEnumFileLines(f, utf8, s, lengths, Monoid.intAdditionMonoid).run(), is(chars));
+    } finally {
+      pool.shutdown();
+    }
+    final List<P2<Long, Long>> ranges = lineRanges(f, 7, 1).run();
+    assertThat(ranges.length(), is(7));
+    assertThat(ranges.head()._1(), is(0L));
+    assertThat(ranges.last()._2(), is(f.length()));
+    try (RandomAccessFile raf = new RandomAccessFile(f, "r")) {
+      for (P2<Long, Long> r : ranges.tail()) {
+        raf.seek(r._1() - 1);
+        assertThat(raf.read(), is((int) '\n'));
+      }
+    }
+    assertThat(ranges.zip(ranges.tail()).forall(p -> p._1()._2().equals(p._2()._1())), is(true));
+  }
+
   private IO<String> println(final String s) {
     return () -> {
       return s;
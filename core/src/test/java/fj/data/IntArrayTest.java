@@ -0,0 +1,67 @@
+package fj.data;
+
+import org.junit.Test;
+
+import static fj.data.IntArray.intArray;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class IntArrayTest {
+
+  @Test
+  public void testFoldAndSum() {
+    IntArray a = IntArray.range(0, 1000);
+    assertThat(a.sum(), equalTo(499500));
+    assertThat(a.foldLeft((x, y) -> x + y, 0), equalTo(499500));
+    assertThat(intArray(1, 2, 3).foldRight((x, y) -> x - y, 0), equalTo(2));
+  }
+
+  @Test
+  public void testMapFilter() {
+    assertThat(intArray(1, 2, 3, 4).map(x -> x * 10).filter(x -> x > 15), equalTo(intArray(20, 30, 40)));
+  }
+
+  @Test
+  public void testScan() {
+    assertThat(intArray(1, 2, 3).scanLeft((x, y) -> x + y, 0), equalTo(intArray(1, 3, 6)));
+    assertThat(intArray(1, 2, 3).scanLeft1((x, y) -> x + y), equalTo(intArray(1, 3, 6)));
+    assertThat(intArray(1, 2, 3).scanRight((x, y) -> x + y, 0), equalTo(intArray(6, 5, 3)));
+    assertThat(intArray(1, 2, 3).scanRight1((x, y) -> x + y), equalTo(intArray(6, 5, 3)));
+  }
+
+  @Test
+  public void testAppendSlice() {
+    IntArray a = intArray(1, 2).append(intArray(3, 4, 5));
+    assertThat(a, equalTo(IntArray.range(1, 6)));
+    assertThat(a.slice(1, 3), equalTo(intArray(2, 3)));
+    assertThat(a.slice(-1, 10), equalTo(a));
+    assertThat(a.take(2).append(a.drop(2)), equalTo(a));
+    assertThat(a.reverse(), equalTo(intArray(5, 4, 3, 2, 1)));
+  }
+
+  @Test
+  public void testConversions() {
+    assertThat(IntArray.range(0, 100).toList(), equalTo(List.range(0, 100)));
+    assertThat(IntArray.iterableIntArray(List.range(0, 100)), equalTo(IntArray.range(0, 100)));
+    assertThat(IntArray.iterableIntArray(Array.range(0, 100)), equalTo(IntArray.range(0, 100)));
+    assertThat(IntArray.iterableIntArray(Stream.range(0, 100)).toStream().toList(), equalTo(List.range(0, 100)));
+    assertThat(IntArray.range(0, 3).toArray(), equalTo(Array.range(0, 3)));
+  }
+
+  @Test
+  public void testLongAndDouble() {
+    assertThat(LongArray.range(0L, 4L).sum(), equalTo(6L));
+    assertThat(DoubleArray.doubleArray(0.5, 1.5).map(x -> x * 2).sum(), equalTo(4.0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLongRangeTooLarge() {
+    LongArray.range(0L, 1L << 32);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIntRangeTooLarge() {
+    IntArray.range(Integer.MIN_VALUE, Integer.MAX_VALUE);
+  }
+
+}
@@ -0,0 +1,70 @@
+package fj.data;
+
+import fj.Equal;
+import fj.data.Iteratee.Enumeratee;
+import fj.data.Iteratee.Input;
+import fj.data.Iteratee.IterV;
+import org.junit.Test;
+
+import static fj.data.Array.array;
+import static fj.data.List.list;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class IterateeTest {
+
+  @SafeVarargs
+  private static <E, A> A enumerate(final IterV<E, A> i, final E... es) {
+    IterV<E, A> it = i;
+    for (final E e : es) {
+      it = it.fold(x -> IterV.done(x._1(), x._2()), k -> k.f(Input.el(e)));
+    }
+    return it.run();
+  }
+
+  private static <A> IterV<Array<A>, List<A>> elements() {
+    return Enumeratee.<A>unbatch().apply(IterV.<A>list()).bind(as -> IterV.done(as.reverse(), Input.empty()));
+  }
+
+  @Test
+  public void testMapFilter() {
+    final Enumeratee<Array<Integer>, Array<Integer>> e =
+        Enumeratee.<Integer, Integer>map(x -> x * 10).andThen(Enumeratee.filter(x -> x > 15));
+    assertThat(enumerate(e.apply(elements()), array(1, 2), array(), array(3, 1)), is(list(20, 30)));
+  }
+
+  @Test
+  public void testTake() {
+    final IterV<Array<Integer>, List<Integer>> it = Enumeratee.<Integer>take(3).apply(elements());
+    assertThat(enumerate(it, array(1, 2), array(3, 4, 5), array(6)), is(list(1, 2, 3)));
+    final IterV<Array<Integer>, List<Integer>> twice = it.bind(as -> IterateeTest.<Integer>elements().bind(bs -> IterV.done(as.append(bs), Input.empty())));
+    assertThat(enumerate(twice, array(1, 2), array(3, 4, 5), array(6)), is(list(1, 2, 3, 4, 5, 6)));
+  }
+
+  @Test
+  public void testLines() {
+    final IterV<char[], List<String>> it = Enumeratee.lines().apply(elements());
+    assertThat(enumerate(it, "ab\r\nc".toCharArray(), "d\n\ne".toCharArray(), "f".toCharArray()), is(list("ab", "cd", "", "ef")));
+    final IterV<char[], List<String>> words = Enumeratee.splitOn(' ').apply(elements());
+    assertThat(enumerate(words, "a b".toCharArray(), "c d ".toCharArray()), is(list("a", "bc", "d")));
+    assertThat(enumerate(it, "a".toCharArray(), "".toCharArray(), "bc\r".toCharArray(), "\nd".toCharArray(), "e".toCharArray()), is(list("abc", "de")));
+  }
+
+  @Test
+  public void testSplitOnAndGroupBy() {
+    final IterV<Array<Integer>, List<List<Integer>>> split = Enumeratee.<Integer>splitOn(x -> x == 0).apply(elements());
+    assertThat(enumerate(split, array(1, 2, 0, 3), array(4, 0), array(5)), is(list(list(1, 2), list(3, 4), list(5))));
+    final IterV<Array<Integer>, List<List<Integer>>> groups = Enumeratee.groupBy(Equal.intEqual).apply(elements());
+    assertThat(enumerate(groups, array(1, 1, 2), array(2, 3), array(3)), is(list(list(1, 1), list(2, 2), list(3, 3))));
+    assertThat(enumerate(groups, array(1), array(1), array(1, 2)), is(list(list(1, 1, 1), list(2))));
+  }
+
+  @Test
+  public void testBatch() {
+    final IterV<Integer, List<Array<Integer>>> it = Enumeratee.<Integer>batch(2).apply(IterV.<Array<Integer>>list());
+    assertThat(enumerate(it, 1, 2, 3, 4, 5).reverse(), is(list(array(1, 2), array(3, 4), array(5))));
+    final IterV<Integer, Integer> length = Enumeratee.<Integer>batch(2).andThen(Enumeratee.unbatch()).apply(IterV.length());
+    assertThat(enumerate(length, 1, 2, 3, 4, 5), is(5));
+  }
+
+}
@@ -16,4 +16,38 @@ public class LazyStringTest {
         assertThat(s.toString(), is(equalTo("Cons(LazyString(a, ?), ?)")));
     }
 
+    @Test
+    public void testRope() {
+        LazyString s = LazyString.empty;
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            s = s.append(Integer.toString(i)).append(LazyString.str(" "));
+            sb.append(i).append(' ');
+        }
+        final String expected = sb.toString();
+        assertThat(s.length(), is(expected.length()));
+        assertThat(s.eval(), is(expected));
+        for (int i = 0; i < expected.length(); i += 997) {
+            assertThat(s.charAt(i), is(expected.charAt(i)));
+            assertThat(s.subSequence(i, i + 50).toString().length() > 0, is(true));
+            assertThat(((LazyString) s.subSequence(i, i + 50)).eval(), is(expected.substring(i, Math.min(expected.length(), i + 50))));
+        }
+        assertThat(s.indexOf(LazyString.str("9999")), is(Option.some(expected.indexOf("9999"))));
+        assertThat(s.indexOf('7'), is(Option.some(14)));
+        assertThat(s.words().length(), is(10000));
+        assertThat(s.startsWith(LazyString.str("0 1 2")), is(true));
+        assertThat(s.endsWith(LazyString.str("9999 ")), is(true));
+    }
+
+    @Test
+    public void testLazyLines() {
+        final LazyString s = LazyString.fromStream(Stream.cycle(Stream.fromString("ab\ncd\n\n")));
+        assertThat(s.lines().take(3).map(LazyString::eval).toList(), is(List.list("ab", "cd", "ab")));
+        assertThat(s.tail().head(), is('b'));
+        assertThat(((LazyString) s.subSequence(3, 5)).eval(), is("cd"));
+        assertThat(s.indexOf(LazyString.str("cd")), is(Option.some(3)));
+        assertThat(LazyString.unlines(s.lines()).startsWith(LazyString.str("ab\ncd\nab")), is(true));
+        assertThat(LazyString.str("a b").map(Character::toUpperCase).bind(c -> LazyString.str(c + "-")).eval(), is("A- -B-"));
+    }
+
 }
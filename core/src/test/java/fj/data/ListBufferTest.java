@@ -19,4 +19,39 @@ public class ListBufferTest {
 		assertThat(list2, equalTo(Stream.range(1, 5).toList()));
 	}
 
+	@Test
+	public void testPrepend() {
+		List.Buffer<Integer> buf = List.Buffer.empty();
+		buf.prepend(3).prepend(2).snoc(4).prependAll(List.list(0, 1));
+		assertThat(buf.toList(), equalTo(List.range(0, 5)));
+		buf.prepend(-1).snoc(5);
+		assertThat(buf.toList(), equalTo(List.range(-1, 6)));
+		assertThat(buf.length(), equalTo(7));
+	}
+
+	@Test
+	public void testAppendAll() {
+		List.Buffer<Integer> buf = List.Buffer.empty();
+		buf.appendAll(Array.range(0, 3)).appendAll(Stream.range(3, 6));
+		assertThat(buf.toList(), equalTo(List.range(0, 6)));
+	}
+
+	@Test
+	public void testAppendBuffer() {
+		List.Buffer<Integer> b1 = List.Buffer.iterableBuffer(List.range(0, 3));
+		List.Buffer<Integer> b2 = List.Buffer.iterableBuffer(List.range(3, 6));
+		List<Integer> exported = b1.toList();
+		b1.append(b2).snoc(6);
+		assertThat(b1.toList(), equalTo(List.range(0, 7)));
+		assertThat(exported, equalTo(List.range(0, 3)));
+		assertThat(b2.isEmpty(), equalTo(true));
+		assertThat(b1.length(), equalTo(7));
+	}
+
+	@Test
+	public void testCollector() {
+		assertThat(java.util.stream.IntStream.range(0, 10000).boxed().parallel().collect(Collectors.toList()),
+				equalTo(List.range(0, 10000)));
+	}
+
 }
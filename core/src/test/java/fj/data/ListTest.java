@@ -297,4 +297,27 @@ public class ListTest {
     assertEquals(success(nil()), nil().traverseValidation(listSemigroup(), constant(Validation.success(0))));
     assertEquals(success(single(0)), single("zero").traverseValidation(listSemigroup(), constant(Validation.success(0))));
   }
+
+  @Test
+  public void testStackSafety() {
+    final List<Integer> big = range(0, 100000);
+    assertEquals(100001, big.tails().length());
+    assertTrue(big.forall(i -> i >= 0));
+    assertTrue(replicate(100000, 1).allEqual(Equal.intEqual));
+    assertEquals(50000, big.map(i -> i / 2).group(Equal.intEqual).length());
+    assertEquals(big.length(), big.zipIndex().length());
+    assertEquals(big, big.intersperse(-1).filter(i -> i >= 0));
+  }
+
+  @Test
+  public void testSegmentsAndBinds() {
+    assertEquals(list(nil(), list(1), list(1, 2), list(1, 2, 3)), list(1, 2, 3).inits());
+    assertEquals(list(list(1, 2, 3), list(2, 3), list(3), nil()), list(1, 2, 3).tails());
+    assertEquals(list(list(1, 1), list(2), list(1)), list(1, 1, 2, 1).group(Equal.intEqual));
+    assertEquals(list(11, 21, 12, 22), list(1, 2).bind(list(10, 20), (a, b) -> a + b));
+    assertEquals(list(3, 1, 2), list(3, 1, 3, 2, 1).nub(Equal.intEqual));
+    assertEquals(p(list(2, 4), list(1, 3)), list(1, 2, 3, 4).partition(i -> i % 2 == 0));
+    assertEquals(p(list(1, 2), list(3)), list(1, 2, 3).splitAt(2));
+    assertEquals(some(2), list(5, 6, 7).elementIndex(Equal.intEqual, 7));
+  }
 }
@@ -1,5 +1,7 @@
 package fj.data;
 
+import fj.F;
+import fj.P2;
 import org.junit.Test;
 
 import static fj.P.p;
@@ -27,6 +29,39 @@ public class StateTest {
     assertEquals(p(4, "?"), state().flatMap(state -> State.constant("?")).run(3));
   }
 
+  @Test
+  public void testTraverse() {
+    final State<Integer, List<Integer>> counter = State.traverse(List.range(0, 100000), i -> State.<Integer>units(n -> n + i));
+    final P2<Integer, List<Integer>> result = counter.run(0);
+    assertEquals(Integer.valueOf(704982704), result._1());
+    assertEquals(100000, result._2().length());
+    assertEquals(List.list(0, 1, 3, 6), result._2().take(4));
+    assertEquals(p(0, List.nil()), State.traverse(List.<Integer>nil(), i -> State.<Integer>init()).run(0));
+  }
+
+  @Test
+  public void testTraverseSeqAndArray() {
+    final F<Integer, State<Integer, Integer>> next = i -> State.<Integer>init().flatMap(n -> State.put(n + i).map(u -> n));
+    assertEquals(p(10, Seq.seq(0, 1, 3, 6)), State.traverse(Seq.seq(1, 2, 3, 4), next).run(0));
+    assertEquals(p(10, Array.array(0, 1, 3, 6)), State.traverse(Array.array(1, 2, 3, 4), next).run(0));
+    assertEquals(p(10, Seq.seq(0, 1, 3, 6)), State.sequence(Seq.seq(1, 2, 3, 4).map(next)).run(0));
+    assertEquals(p(10, Array.array(0, 1, 3, 6)), State.sequence(Array.array(1, 2, 3, 4).map(next)).run(0));
+  }
+
+  @Test
+  public void testDeepBinds() {
+    State<Integer, Integer> left = State.constant(0);
+    for (int i = 0; i < 100000; i++) {
+      left = left.flatMap(a -> State.<Integer>modify(n -> n + 1).map(u -> a + 1)).withs(n -> n + 1);
+    }
+    assertEquals(p(200000, 100000), left.run(0));
+    assertEquals(Integer.valueOf(100000), deepRight(100000).eval(0));
+  }
+
+  private static State<Integer, Integer> deepRight(final int n) {
+    return n == 0 ? State.init() : State.<Integer>modify(i -> i + 1).flatMap(u -> deepRight(n - 1));
+  }
+
   private static final State<Integer, String> state() {
     return State.<Integer, String>unit(i -> p(i + 1, toLapine(i)));
   }
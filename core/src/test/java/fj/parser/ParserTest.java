@@ -2,6 +2,11 @@ package fj.parser;
 
 import fj.F;
 import fj.F0;
+import fj.P;
+import fj.P2;
+import fj.data.Iteratee.Input;
+import fj.data.Iteratee.IterV;
+import fj.data.List;
 import fj.data.Stream;
 import fj.data.Validation;
 import org.junit.Test;
@@ -42,6 +47,125 @@ public class ParserTest {
         assertThat(r, is(Result.result(Stream.fromString("bc"), 'a')));
     }
 
+    @Test
+    public void testCharInput() {
+        final CharInput in = CharInput.charInput("abc123 rest");
+        final Parser<CharInput, String, String> word = Parser.CharInputParser.takeWhile1("eof", c -> "unexpected " + c, Character::isLetter);
+        final Parser<CharInput, String, String> number = Parser.CharInputParser.takeWhile1("eof", c -> "unexpected " + c, Character::isDigit);
+        final Result<CharInput, String> r = word.bind(w -> number.map(n -> w + n)).parse(in).success();
+        assertThat(r.value(), is("abc123"));
+        assertThat(r.rest().offset(), is(6));
+        assertThat(r.rest().toString(), is(" rest"));
+        assertThat(number.parse(in).fail(), is("unexpected a"));
+    }
+
+    @Test
+    public void testCharInputString() {
+        final CharInput in = CharInput.charInput("hello world".toCharArray());
+        final Parser<CharInput, String, String> hello = Parser.CharInputParser.string("eof", c -> "unexpected " + c, "hello");
+        assertThat(hello.parse(in).success(), is(Result.result(in.drop(5), "hello")));
+        assertThat(hello.parse(in.drop(6)).fail(), is("unexpected w"));
+        assertThat(hello.parse(CharInput.charInput("hell")).fail(), is("eof"));
+        final Result<CharInput, Character> r = Parser.CharInputParser.<String>whitespace("eof", c -> "unexpected " + c).parse(in.drop(5)).success();
+        assertThat(r.value(), is(' '));
+        assertThat(Parser.CharInputParser.characters("eof", 3).parse(r.rest()).success().value(), is("wor"));
+    }
+
+    @Test
+    public void testRepeatIsStackSafe() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append('a');
+        }
+        final Parser<CharInput, Character, String> a = Parser.CharInputParser.character("eof", c -> "unexpected " + c, 'a');
+        final Result<CharInput, Stream<Character>> r = a.repeat().parse(CharInput.charInput(sb.append('b'))).success();
+        assertThat(r.value().length(), is(100000));
+        assertThat(r.rest().toString(), is("b"));
+        assertThat(a.repeat1().parse(r.rest()).fail(), is("unexpected b"));
+    }
+
+    @Test
+    public void testCommit() {
+        final Parser<CharInput, Character, String> open = Parser.CharInputParser.character("eof", c -> "unexpected " + c, '(');
+        final Parser<CharInput, Character, String> close = Parser.CharInputParser.character("eof", c -> "unexpected " + c, ')');
+        final Parser<CharInput, String, String> other = Parser.CharInputParser.takeWhile1("eof", c -> "unexpected " + c, Character::isLetter);
+        final Parser<CharInput, String, String> p = open.commit(o -> other.bind(s -> close.map(c -> "(" + s + ")")), other);
+        assertThat(p.parse(CharInput.charInput("(ab)")).success().value(), is("(ab)"));
+        assertThat(p.parse(CharInput.charInput("ab")).success().value(), is("ab"));
+        assertThat(p.parse(CharInput.charInput("(ab")).fail(), is("eof"));
+    }
+
+    @Test
+    public void testPositioned() {
+        final Parser<CharInput, String, String> abc = Parser.CharInputParser.string("eof", c -> "unexpected " + c, "abc");
+        final Parser<CharInput, String, String> abd = Parser.CharInputParser.string("eof", c -> "unexpected " + c, "abd");
+        final Parser<CharInput, String, String> x = Parser.CharInputParser.string("eof", c -> "unexpected " + c, "x");
+        final Parser<CharInput, String, P2<String, Integer>> p = Parser.CharInputParser.positioned(abc.or(abd).or(x));
+        final CharInput in = CharInput.charInput("--abz");
+        assertThat(p.parse(in.drop(2)).fail(), is(P.p("unexpected a", 4)));
+        assertThat(in.furthestFailure(), is(4));
+        assertThat(in.forget().furthestFailure(), is(-1));
+        assertThat(p.parse(CharInput.charInput("ab")).fail(), is(P.p("unexpected a", 2)));
+        assertThat(p.parse(CharInput.charInput("abd")).success().value(), is("abd"));
+    }
+
+    @Test
+    public void testMemo() {
+        // expr := term '+' expr | term '-' expr | term ; term := '(' expr ')' | 'x'
+        // Without memoisation the nested parentheses below take 3^30 steps.
+        final int[] calls = {0};
+        final Parser<CharInput, Character, String> plus = Parser.CharInputParser.character("eof", c -> "unexpected " + c, '+');
+        final Parser<CharInput, Character, String> minus = Parser.CharInputParser.character("eof", c -> "unexpected " + c, '-');
+        final Parser<CharInput, Character, String> open = Parser.CharInputParser.character("eof", c -> "unexpected " + c, '(');
+        final Parser<CharInput, Character, String> close = Parser.CharInputParser.character("eof", c -> "unexpected " + c, ')');
+        final Parser<CharInput, Character, String> x = Parser.CharInputParser.character("eof", c -> "unexpected " + c, 'x');
+        final Object[] expr = new Object[1];
+        @SuppressWarnings("unchecked")
+        final Parser<CharInput, Integer, String> exprRef = Parser.parser(i -> ((Parser<CharInput, Integer, String>) expr[0]).parse(i));
+        final Parser<CharInput, Integer, String> term = Parser.CharInputParser.memo(Parser.<CharInput, Integer, String>parser(i -> {
+            calls[0]++;
+            return open.bind(o -> exprRef.bind(e -> close.map(c -> e + 1))).or(x.map(c -> 0)).parse(i);
+        }));
+        expr[0] = term.bind(t -> plus.sequence(exprRef)).or(term.bind(t -> minus.sequence(exprRef))).or(term);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            sb.append('(');
+        }
+        sb.append('x');
+        for (int i = 0; i < 30; i++) {
+            sb.append(')');
+        }
+        final CharInput in = CharInput.charInput(sb);
+        assertThat(exprRef.parse(in).success().value(), is(30));
+        assertThat(calls[0], is(31));
+        assertThat(exprRef.parse(in).success().value(), is(30));
+        assertThat(calls[0], is(31));
+        assertThat(exprRef.parse(in.forget()).success().value(), is(30));
+        assertThat(calls[0], is(62));
+    }
+
+    @Test
+    public void testRecords() {
+        final Parser<CharInput, String, String> word = Parser.CharInputParser.takeWhile1("eof", c -> "unexpected " + c, Character::isLetter);
+        final Parser<CharInput, Character, String> newline = Parser.CharInputParser.character("eof", c -> "unexpected " + c, '\n');
+        final Parser<CharInput, String, String> line = word.bind(w -> newline.map(c -> w));
+        final String text = "one\ntwo\nthree\nfour\nfive\n";
+        for (int size = 1; size <= text.length(); size++) {
+            IterV<char[], Validation<String, List<String>>> it = Parser.CharInputParser.records(line, IterV.<String>list());
+            for (int i = 0; i < text.length(); i += size) {
+                final Input<char[]> chunk = Input.el(text.substring(i, Math.min(text.length(), i + size)).toCharArray());
+                it = it.fold(x -> IterV.done(x._1(), x._2()), k -> k.f(chunk));
+            }
+            assertThat(it.run().success().reverse(), is(List.list("one", "two", "three", "four", "five")));
+        }
+        final IterV<char[], Validation<String, List<String>>> unterminated =
+            Parser.CharInputParser.records(line, IterV.<String>list()).fold(x -> null, k -> k.f(Input.el((text + "six").toCharArray())));
+        assertThat(unterminated.run().fail(), is("eof"));
+        final IterV<char[], Validation<String, List<String>>> bad =
+            Parser.CharInputParser.records(line, IterV.<String>list(), 4).fold(x -> null, k -> k.f(Input.el("one\n2345678".toCharArray())));
+        assertThat(bad.fold(x -> x._1().fail(), k -> "cont"), is("unexpected 2"));
+    }
+
     class ParseException extends Exception {
         @Override
         public boolean equals (Object obj) {
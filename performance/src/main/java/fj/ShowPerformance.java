@@ -0,0 +1,63 @@
+package fj;
+
+import fj.data.List;
+import fj.data.Stream;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Show performance benchmark over 10 runs of rendering a list of 1000000 integers, appended
+ * to a builder, written to a writer, and as the stream of characters the list show used to
+ * be rendered through.
+ */
+public class ShowPerformance {
+
+    static final int TOTAL_RUNS = 10;
+    static final int SIZE = 1000000;
+
+    private interface Benchmark {
+        int run(List<Integer> as) throws IOException;
+    }
+
+    private static double benchmark(Benchmark b, List<Integer> as) throws IOException {
+        long msStart = System.currentTimeMillis();
+        int length = 0;
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            length += b.run(as);
+        }
+        if (length == 0) {
+            System.out.println();
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) throws IOException {
+        System.out.println("Starting show performance benchmark...");
+        final List<Integer> as = List.range(0, SIZE);
+        final Show<List<Integer>> listShow = Show.listShow(Show.intShow);
+        final Show<Stream<Integer>> streamShow = Show.streamShow(Show.intShow, "List(", ",", ")");
+        final Benchmark builder = xs -> listShow.showS(xs).length();
+        final Benchmark writer = xs -> {
+            final StringWriter w = new StringWriter();
+            listShow.writeTo(w, xs);
+            return w.getBuffer().length();
+        };
+        final Benchmark stream = xs -> Stream.asString(streamShow.show(xs.toStream())).length();
+        // warm up
+        System.out.println("warm up...");
+        benchmark(builder, as);
+        benchmark(writer, as);
+        benchmark(stream, as);
+        // actual run
+        System.out.println("running benchmark...");
+        double builderTime = benchmark(builder, as);
+        double writerTime = benchmark(writer, as);
+        double streamTime = benchmark(stream, as);
+        System.out.println("Average over " + TOTAL_RUNS + " runs of " + SIZE + " elements...");
+        System.out.println("StringBuilder:     " + builderTime + "ms");
+        System.out.println("Writer:            " + writerTime + "ms");
+        System.out.println("Stream<Character>: " + streamTime + "ms");
+    }
+}
@@ -0,0 +1,100 @@
+package fj.control;
+
+import fj.P1;
+import fj.data.Either;
+
+import static fj.control.Trampoline.pure;
+import static fj.control.Trampoline.suspend;
+
+/**
+ * Trampoline performance benchmarks comparing the run loop to stepping with resume
+ * over 10 runs of deep left-nested and right-nested binds, against plain recursion.
+ */
+public class TrampolinePerformance {
+
+    static final int TOTAL_RUNS = 10;
+
+    static final int DEPTH = 100000;
+
+    private static Trampoline<Long> sumLeft(final int n) {
+        Trampoline<Long> t = pure(0L);
+        for (int i = 1; i <= n; i++) {
+            final long k = i;
+            t = t.bind(acc -> pure(acc + k));
+        }
+        return t;
+    }
+
+    private static Trampoline<Long> sumRight(final int n) {
+        return n == 0 ? pure(0L) : suspend(() -> sumRight(n - 1)).map(acc -> acc + n);
+    }
+
+    private static long sumRecursive(final int n) {
+        return n == 0 ? 0L : sumRecursive(n - 1) + n;
+    }
+
+    // the former run loop, stepping through the computation with resume
+    private static <A> A resumeAll(final Trampoline<A> t) {
+        Trampoline<A> current = t;
+        while (true) {
+            final Either<P1<Trampoline<A>>, A> x = current.resume();
+            for (final P1<Trampoline<A>> p : x.left()) {
+                current = p._1();
+            }
+            for (final A a : x.right()) {
+                return a;
+            }
+        }
+    }
+
+    private interface Benchmark {
+        long run(int depth);
+    }
+
+    private static double benchmark(Benchmark b, int depth) {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            if (b.run(depth) != (long) depth * (depth + 1) / 2) {
+                throw new AssertionError("wrong sum");
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) {
+        System.out.println("Starting Trampoline performance benchmark...");
+        final Benchmark leftRun = n -> sumLeft(n).run();
+        final Benchmark leftResume = n -> resumeAll(sumLeft(n));
+        final Benchmark rightRun = n -> sumRight(n).run();
+        final Benchmark rightResume = n -> resumeAll(sumRight(n));
+        // plain recursion does not fit deep stacks, so it sums in chunks of 1000
+        final Benchmark recursive = n -> {
+            long sum = 0;
+            for (int i = 0; i < n; i += 1000) {
+                sum += sumRecursive(1000) + 1000L * i;
+            }
+            return sum;
+        };
+        // warm up
+        System.out.println("warm up...");
+        benchmark(leftRun, DEPTH);
+        benchmark(leftResume, DEPTH);
+        benchmark(rightRun, DEPTH);
+        benchmark(rightResume, DEPTH);
+        benchmark(recursive, DEPTH);
+        // actual run
+        System.out.println("running benchmark...");
+        double leftRunTime = benchmark(leftRun, DEPTH);
+        double leftResumeTime = benchmark(leftResume, DEPTH);
+        double rightRunTime = benchmark(rightRun, DEPTH);
+        double rightResumeTime = benchmark(rightResume, DEPTH);
+        double recursiveTime = benchmark(recursive, DEPTH);
+        System.out.println("Average over " + TOTAL_RUNS + " runs of depth " + DEPTH + "...");
+        System.out.println("left binds, run:     " + leftRunTime + "ms");
+        System.out.println("left binds, resume:  " + leftResumeTime + "ms");
+        System.out.println("right binds, run:    " + rightRunTime + "ms");
+        System.out.println("right binds, resume: " + rightResumeTime + "ms");
+        System.out.println("plain recursion:     " + recursiveTime + "ms");
+    }
+}
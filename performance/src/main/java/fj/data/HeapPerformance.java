@@ -0,0 +1,59 @@
+package fj.data;
+
+import fj.Ord;
+
+/**
+ * Heap performance benchmark comparing {@link Heap} to {@link PriorityQueue}
+ * over 10 runs of enqueuing and then dequeuing every element.
+ */
+public class HeapPerformance {
+
+    static final int TOTAL_RUNS = 10;
+    static final int SIZE = 100000;
+
+    private static double benchmarkPriorityQueue() {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            PriorityQueue<Integer, Integer> pq = PriorityQueue.emptyInt();
+            for (int i = 0; i < SIZE; ++i) {
+                final int k = (i * 7919) % SIZE;
+                pq = pq.enqueue(k, k);
+            }
+            while (!pq.isEmpty()) {
+                pq = pq.dequeue();
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    private static double benchmarkHeap() {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            Heap<Integer> h = Heap.emptyMax(Ord.intOrd);
+            for (int i = 0; i < SIZE; ++i) {
+                h = h.insert((i * 7919) % SIZE);
+            }
+            while (!h.isEmpty()) {
+                h = h.deleteMin();
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) {
+        System.out.println("Starting heap performance benchmark...");
+        // warm up
+        System.out.println("warm up...");
+        benchmarkPriorityQueue();
+        benchmarkHeap();
+        // actual run
+        System.out.println("running benchmark...");
+        double pqTime = benchmarkPriorityQueue();
+        double heapTime = benchmarkHeap();
+        System.out.println("Average over " + TOTAL_RUNS + " runs of " + SIZE + " elements...");
+        System.out.println("PriorityQueue: " + pqTime + "ms");
+        System.out.println("Heap:          " + heapTime + "ms");
+    }
+}
@@ -0,0 +1,81 @@
+package fj.data;
+
+/**
+ * LazyString performance benchmark over 10 runs of splitting a 100 MB input into lines,
+ * measuring its length and reading characters at random positions. For comparison the same
+ * operations are run on a 1 MB stream of characters, which is how LazyString used to be held.
+ */
+public class LazyStringPerformance {
+
+    static final int TOTAL_RUNS = 10;
+    static final int SIZE = 100 * 1024 * 1024;
+    static final int STREAM_SIZE = 1024 * 1024;
+    static final int LOOKUPS = 1000;
+
+    private static String chunk() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 4000; ++i) {
+            sb.append("2016-01-01 00:00:00 INFO request ").append(i).append(" served\n");
+        }
+        return sb.toString();
+    }
+
+    private static Stream<String> input(final String chunk, final int size) {
+        return Stream.range(0, size / chunk.length()).map(i -> chunk);
+    }
+
+    private static double benchmarkRope(final String chunk) {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            final LazyString s = LazyString.fromChunks(input(chunk, SIZE));
+            int lines = 0;
+            for (LazyString ignored : s.lines()) {
+                ++lines;
+            }
+            final int length = s.length();
+            int sum = lines;
+            for (int i = 0; i < LOOKUPS; ++i) {
+                sum += s.charAt((int) ((i * 7919L) % length));
+            }
+            if (sum == 0) {
+                System.out.println();
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    private static double benchmarkStream(final String chunk) {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            final Stream<Character> s = Stream.join(input(chunk, STREAM_SIZE).map(Stream::fromString));
+            final int lines = s.split(c -> c == '\n')._2().length();
+            final int length = s.length();
+            int sum = lines;
+            for (int i = 0; i < LOOKUPS / 100; ++i) {
+                sum += s.index((int) ((i * 7919L) % length));
+            }
+            if (sum == 0) {
+                System.out.println();
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) {
+        System.out.println("Starting lazy string performance benchmark...");
+        final String chunk = chunk();
+        // warm up
+        System.out.println("warm up...");
+        benchmarkStream(chunk);
+        benchmarkRope(chunk);
+        // actual run
+        System.out.println("running benchmark...");
+        double streamTime = benchmarkStream(chunk);
+        double ropeTime = benchmarkRope(chunk);
+        System.out.println("Average over " + TOTAL_RUNS + " runs...");
+        System.out.println("Stream<Character>, " + STREAM_SIZE + " chars, " + LOOKUPS / 100 + " lookups: " + streamTime + "ms");
+        System.out.println("LazyString, " + SIZE + " chars, " + LOOKUPS + " lookups:          " + ropeTime + "ms");
+    }
+}
@@ -0,0 +1,59 @@
+package fj.data;
+
+import fj.Equal;
+import fj.F;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * List performance benchmarks measuring time and allocated bytes of the
+ * common List combinators on a list of 10^6 elements over 10 runs.
+ * Allocation is read from the HotSpot per thread allocation counter.
+ */
+public class ListPerformance {
+
+    static final int TOTAL_RUNS = 10;
+    static final int SIZE = 1000000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void benchmark(String name, List<Integer> xs, F<List<Integer>, ?> f) {
+        // warm up
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            f.f(xs);
+        }
+        long bytesStart = allocated();
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            f.f(xs);
+        }
+        long msEnd = System.currentTimeMillis();
+        long bytesEnd = allocated();
+        System.out.println(String.format("%-10s %8.1fms %10.1f bytes/element",
+            name,
+            (msEnd - msStart) / ((double) TOTAL_RUNS),
+            (bytesEnd - bytesStart) / ((double) TOTAL_RUNS * SIZE)));
+    }
+
+    public static void main(String[] params) {
+        System.out.println("Starting List performance benchmark on " + SIZE + " elements...");
+        final List<Integer> xs = List.range(0, SIZE);
+        benchmark("map", xs, l -> l.map(i -> i + 1));
+        benchmark("filter", xs, l -> l.filter(i -> i % 2 == 0));
+        benchmark("foldRight", xs, l -> l.foldRight((i, acc) -> acc + i, 0));
+        benchmark("bind", xs, l -> l.bind(i -> List.single(i)));
+        benchmark("zipWith", xs, l -> l.zipWith(l, (a, b) -> a + b));
+        benchmark("zip", xs, l -> l.zip(l));
+        benchmark("zipIndex", xs, List::zipIndex);
+        benchmark("tails", xs, List::tails);
+        benchmark("group", xs, l -> l.group(Equal.intEqual));
+        benchmark("append", xs, l -> l.append(l));
+        benchmark("take", xs, l -> l.take(SIZE / 2));
+        benchmark("reverse", xs, List::reverse);
+    }
+}
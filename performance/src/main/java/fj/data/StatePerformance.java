@@ -0,0 +1,73 @@
+package fj.data;
+
+/**
+ * State performance benchmarks over 10 runs of a traversal, left-nested binds and
+ * right-nested binds of a counter, against a plain loop.
+ */
+public class StatePerformance {
+
+    static final int TOTAL_RUNS = 10;
+
+    static final int STEPS = 1000000;
+
+    private interface Benchmark {
+        long run(int steps);
+    }
+
+    private static State<Long, Long> tick(long i) {
+        return State.<Long>init().flatMap(n -> State.<Long>put(n + i).map(u -> n));
+    }
+
+    private static State<Long, Long> countdown(int n) {
+        return n == 0 ? State.init() : tick(n).flatMap(u -> countdown(n - 1));
+    }
+
+    private static double benchmark(Benchmark b, int steps) {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            if (b.run(steps) != (long) steps * (steps + 1) / 2) {
+                throw new AssertionError("wrong sum");
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) {
+        System.out.println("Starting State performance benchmark...");
+        final Benchmark traverse = n -> State.traverse(List.range(1, n + 1), i -> tick(i)).exec(0L);
+        final Benchmark leftBinds = n -> {
+            State<Long, Long> s = State.constant(0L);
+            for (int i = 1; i <= n; i++) {
+                final long k = i;
+                s = s.flatMap(u -> tick(k));
+            }
+            return s.exec(0L);
+        };
+        final Benchmark rightBinds = n -> countdown(n).exec(0L);
+        final Benchmark loop = n -> {
+            long sum = 0;
+            for (int i = 1; i <= n; i++) {
+                sum += i;
+            }
+            return sum;
+        };
+        // warm up
+        System.out.println("warm up...");
+        benchmark(traverse, STEPS);
+        benchmark(leftBinds, STEPS);
+        benchmark(rightBinds, STEPS);
+        benchmark(loop, STEPS);
+        // actual run
+        System.out.println("running benchmark...");
+        double traverseTime = benchmark(traverse, STEPS);
+        double leftBindsTime = benchmark(leftBinds, STEPS);
+        double rightBindsTime = benchmark(rightBinds, STEPS);
+        double loopTime = benchmark(loop, STEPS);
+        System.out.println("Average over " + TOTAL_RUNS + " runs of " + STEPS + " steps...");
+        System.out.println("traverse:    " + traverseTime + "ms");
+        System.out.println("left binds:  " + leftBindsTime + "ms");
+        System.out.println("right binds: " + rightBindsTime + "ms");
+        System.out.println("plain loop:  " + loopTime + "ms");
+    }
+}
@@ -0,0 +1,77 @@
+package fj.data;
+
+import fj.Monoid;
+
+/**
+ * Writer performance benchmarks comparing eager and accumulating writers
+ * over 3 runs of 100000 tells, with the string and list monoids. Eager
+ * writers with the list monoid take quadratic time, and only run 10000 tells.
+ */
+public class WriterPerformance {
+
+    static final int TOTAL_RUNS = 3;
+
+    static final int TELLS = 100000;
+
+    static final int EAGER_LIST_TELLS = 10000;
+
+    private interface Benchmark {
+        int run(int tells);
+    }
+
+    private static double benchmark(Benchmark b, int tells) {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            if (b.run(tells) != tells) {
+                throw new AssertionError("wrong log length");
+            }
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    private static Benchmark strings(Writer<String, Integer> start) {
+        return n -> {
+            Writer<String, Integer> w = start;
+            for (int i = 0; i < n; i++) {
+                w = w.flatMap(x -> Writer.unit(x + 1).tell("x"));
+            }
+            return w.log().length();
+        };
+    }
+
+    private static Benchmark lists(Writer<List<Integer>, Integer> start) {
+        return n -> {
+            Writer<List<Integer>, Integer> w = start;
+            for (int i = 0; i < n; i++) {
+                w = w.tell(List.single(i));
+            }
+            return w.log().length();
+        };
+    }
+
+    public static void main(String[] params) {
+        System.out.println("Starting Writer performance benchmark...");
+        final Benchmark eagerStrings = strings(Writer.unit(0));
+        final Benchmark accumulatingStrings = strings(Writer.accumulating(0, Monoid.stringMonoid));
+        final Benchmark eagerLists = lists(Writer.unit(0, Monoid.listMonoid()));
+        final Benchmark accumulatingLists = lists(Writer.accumulating(0, Monoid.listMonoid()));
+        // warm up
+        System.out.println("warm up...");
+        benchmark(eagerStrings, TELLS);
+        benchmark(accumulatingStrings, TELLS);
+        benchmark(eagerLists, EAGER_LIST_TELLS);
+        benchmark(accumulatingLists, TELLS);
+        // actual run
+        System.out.println("running benchmark...");
+        double eagerStringsTime = benchmark(eagerStrings, TELLS);
+        double accumulatingStringsTime = benchmark(accumulatingStrings, TELLS);
+        double eagerListsTime = benchmark(eagerLists, EAGER_LIST_TELLS);
+        double accumulatingListsTime = benchmark(accumulatingLists, TELLS);
+        System.out.println("Average over " + TOTAL_RUNS + " runs of " + TELLS + " tells...");
+        System.out.println("String, eager:        " + eagerStringsTime + "ms");
+        System.out.println("String, accumulating: " + accumulatingStringsTime + "ms");
+        System.out.println("List, eager:          " + eagerListsTime + "ms (" + EAGER_LIST_TELLS + " tells)");
+        System.out.println("List, accumulating:   " + accumulatingListsTime + "ms");
+    }
+}
@@ -0,0 +1,115 @@
+package fj.parser;
+
+import fj.F;
+
+import static fj.parser.Parser.CharInputParser.character;
+import static fj.parser.Parser.CharInputParser.memo;
+import static fj.parser.Parser.CharInputParser.string;
+import static fj.parser.Parser.CharInputParser.takeWhile;
+import static fj.parser.Parser.CharInputParser.takeWhile1;
+
+/**
+ * Parser performance benchmark on a JSON grammar over {@link CharInput}, comparing plain
+ * backtracking alternatives, committed choice ({@link Parser#commit}) and packrat memoisation
+ * ({@link Parser.CharInputParser#memo}) over 10 runs. Each parse counts the JSON values.
+ */
+public class JsonParserPerformance {
+
+    static final int TOTAL_RUNS = 10;
+    static final int RECORDS = 20000;
+
+    private static final F<Character, String> unexpected = c -> "unexpected " + c;
+
+    private static Parser<CharInput, Character, String> ch(char c) {
+        return character("eof", unexpected, c);
+    }
+
+    private static final Parser<CharInput, String, String> ws = takeWhile(Character::isWhitespace);
+
+    private static <A> Parser<CharInput, A, String> token(Parser<CharInput, A, String> p) {
+        return p.bind(a -> ws.map(s -> a));
+    }
+
+    private static Parser<CharInput, Integer, String> sepBy(Parser<CharInput, Integer, String> p, char sep) {
+        final Parser<CharInput, Integer, String> rest = token(ch(sep)).sequence(p).repeat()
+            .map(s -> s.foldLeft((a, b) -> a + b, 0));
+        return p.bind(n -> rest.map(m -> n + m)).or(Parser.value(0));
+    }
+
+    private static Parser<CharInput, Integer, String> grammar(final boolean committed, final boolean memoised) {
+        final Object[] value = new Object[1];
+        @SuppressWarnings("unchecked")
+        final Parser<CharInput, Integer, String> valueRef =
+            Parser.parser(i -> ((Parser<CharInput, Integer, String>) value[0]).parse(i));
+
+        final Parser<CharInput, Integer, String> str = token(ch('"')
+            .sequence(takeWhile(c -> c != '"'))
+            .bind(s -> ch('"').map(c -> 1)));
+        final Parser<CharInput, Integer, String> number = token(
+            takeWhile1("eof", unexpected, c -> c == '-' || c == '.' || Character.isDigit(c)).map(s -> 1));
+        final Parser<CharInput, Integer, String> literal = token(
+            string("eof", unexpected, "true").or(string("eof", unexpected, "false")).or(string("eof", unexpected, "null"))
+                .map(s -> 1));
+        final Parser<CharInput, Integer, String> member = str.bind(k -> token(ch(':')).sequence(valueRef));
+        final Parser<CharInput, Integer, String> members = sepBy(member, ',');
+        final Parser<CharInput, Integer, String> elements = sepBy(valueRef, ',');
+
+        final Parser<CharInput, Integer, String> object;
+        final Parser<CharInput, Integer, String> array;
+        final Parser<CharInput, Integer, String> v;
+        if (committed) {
+            v = token(ch('{')).commit(o -> members.bind(n -> token(ch('}')).map(c -> n + 1)),
+                token(ch('[')).commit(o -> elements.bind(n -> token(ch(']')).map(c -> n + 1)),
+                    str.or(number).or(literal)));
+        } else {
+            object = token(ch('{')).sequence(members).bind(n -> token(ch('}')).map(c -> n + 1));
+            array = token(ch('[')).sequence(elements).bind(n -> token(ch(']')).map(c -> n + 1));
+            v = object.or(array).or(str).or(number).or(literal);
+        }
+        value[0] = memoised ? memo(v) : v;
+        return ws.sequence(valueRef);
+    }
+
+    private static String input() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < RECORDS; ++i) {
+            if (i != 0) sb.append(",\n");
+            sb.append("{\"id\": ").append(i)
+                .append(", \"name\": \"record").append(i)
+                .append("\", \"tags\": [\"a\", \"b\", null, true], \"nested\": {\"x\": -1.5, \"y\": [1, 2, 3]}}");
+        }
+        return sb.append("]").toString();
+    }
+
+    private static double benchmark(Parser<CharInput, Integer, String> p, String s) {
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            final int n = p.parse(CharInput.charInput(s)).success().value();
+            if (n != RECORDS * 14 + 1) throw new AssertionError(n);
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) {
+        final String s = input();
+        final Parser<CharInput, Integer, String> backtracking = grammar(false, false);
+        final Parser<CharInput, Integer, String> committed = grammar(true, false);
+        final Parser<CharInput, Integer, String> memoised = grammar(false, true);
+        System.out.println("Starting JSON parser performance benchmark on " + s.length() + " characters...");
+        // warm up
+        System.out.println("warm up...");
+        benchmark(backtracking, s);
+        benchmark(committed, s);
+        benchmark(memoised, s);
+        // actual run
+        System.out.println("running benchmark...");
+        double backtrackingTime = benchmark(backtracking, s);
+        double committedTime = benchmark(committed, s);
+        double memoisedTime = benchmark(memoised, s);
+        System.out.println("Average over " + TOTAL_RUNS + " runs...");
+        System.out.println("Backtracking: " + backtrackingTime + "ms");
+        System.out.println("Committed:    " + committedTime + "ms");
+        System.out.println("Memoised:     " + memoisedTime + "ms");
+    }
+}
@@ -0,0 +1,83 @@
+package fj.parser;
+
+import fj.data.Stream;
+import fj.data.Validation;
+
+/**
+ * Character parser performance benchmark comparing {@link Parser.CharsParser} on
+ * <code>Stream&lt;Character&gt;</code> to {@link Parser.CharInputParser} on {@link CharInput}
+ * over 10 runs of tokenising a line of comma separated words.
+ */
+public class ParserPerformance {
+
+    static final int TOTAL_RUNS = 10;
+    static final int WORDS = 100000;
+
+    private static String input() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < WORDS; ++i) {
+            sb.append("word").append(i).append(',');
+        }
+        return sb.toString();
+    }
+
+    private static double benchmarkStream(String s) {
+        final Parser<Stream<Character>, Character, String> letter =
+            Parser.CharsParser.alphaNum("eof", c -> "unexpected " + c);
+        final Parser<Stream<Character>, Character, String> comma =
+            Parser.CharsParser.character("eof", c -> "unexpected " + c, ',');
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            Stream<Character> in = Stream.fromString(s);
+            int tokens = 0;
+            while (!in.isEmpty()) {
+                Validation<String, Result<Stream<Character>, Character>> r = letter.parse(in);
+                while (r.isSuccess()) {
+                    in = r.success().rest();
+                    r = letter.parse(in);
+                }
+                in = comma.parse(in).success().rest();
+                tokens++;
+            }
+            if (tokens != WORDS) throw new AssertionError(tokens);
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    private static double benchmarkCharInput(String s) {
+        final Parser<CharInput, String, String> word =
+            Parser.CharInputParser.takeWhile1("eof", c -> "unexpected " + c, Character::isLetterOrDigit);
+        final Parser<CharInput, Character, String> comma =
+            Parser.CharInputParser.character("eof", c -> "unexpected " + c, ',');
+        final Parser<CharInput, String, String> token = word.bind(w -> comma.map(c -> w));
+        long msStart = System.currentTimeMillis();
+        for (int runNumber = 0; runNumber < TOTAL_RUNS; ++runNumber) {
+            CharInput in = CharInput.charInput(s);
+            int tokens = 0;
+            while (!in.isEmpty()) {
+                in = token.parse(in).success().rest();
+                tokens++;
+            }
+            if (tokens != WORDS) throw new AssertionError(tokens);
+        }
+        long msEnd = System.currentTimeMillis();
+        return (msEnd - msStart) / ((double) TOTAL_RUNS);
+    }
+
+    public static void main(String[] params) {
+        final String s = input();
+        System.out.println("Starting parser performance benchmark on " + s.length() + " characters...");
+        // warm up
+        System.out.println("warm up...");
+        benchmarkStream(s);
+        benchmarkCharInput(s);
+        // actual run
+        System.out.println("running benchmark...");
+        double streamTime = benchmarkStream(s);
+        double charInputTime = benchmarkCharInput(s);
+        System.out.println("Average over " + TOTAL_RUNS + " runs...");
+        System.out.println("CharsParser:     " + streamTime + "ms");
+        System.out.println("CharInputParser: " + charInputTime + "ms");
+    }
+}
@@ -1,6 +1,7 @@
 package fj.data;
 
 import fj.Equal;
+import fj.Monoid;
 import fj.F;
 import fj.P;
 import fj.test.Gen;
@@ -104,6 +105,46 @@ public class WriterTest {
         assertResult(p);
     }
 
+    @Test
+    public void testAccumulatingAgreesWithEager() {
+        Property p = property(
+                arbWriterStringInt(),
+                arbF(cogenInteger, arbWriterStringInt()),
+                arbString,
+                (w, f, s) -> prop(eq.eq(w.accumulating().flatMap(f).tell(s), w.flatMap(f).tell(s))
+                        && eq.eq(w.flatMap(x -> f.f(x).accumulating()).tell(s), w.flatMap(f).tell(s))));
+        assertResult(p);
+    }
+
+    @Test
+    public void testAccumulatingTells() {
+        Writer<String, Integer> w = Writer.accumulating(0, Monoid.stringMonoid);
+        Writer<List<Integer>, Integer> lw = Writer.accumulating(0, Monoid.listMonoid());
+        for (int i = 0; i < 100000; i++) {
+            w = w.tell("x");
+            lw = lw.tell(List.single(i));
+        }
+        assertThat(w.isAccumulating(), is(true));
+        assertThat(w.log().length(), is(100000));
+        assertThat(lw.log(), is(List.range(0, 100000)));
+    }
+
+    @Test
+    public void testAccumulatingLogIsKept() {
+        final int[] sums = {0};
+        final Monoid<Integer> counting = Monoid.monoid((a, b) -> {
+            sums[0]++;
+            return a + b;
+        }, 0);
+        Writer<Integer, Integer> w = Writer.accumulating(0, counting);
+        for (int i = 0; i < 1000; i++) {
+            w = w.tell(1);
+            assertThat(w.log(), is(i + 1));
+            assertThat(w.run()._1(), is(i + 1));
+        }
+        assertThat(sums[0] <= 2 * 1000, is(true));
+    }
+
     @Test
     public void testUnit() {
         Writer<String, String> w = Writer.unit("+").tell("foo").tell("bar");
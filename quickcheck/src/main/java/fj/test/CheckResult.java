@@ -2,6 +2,8 @@ package fj.test;
 
 import static fj.Bottom.decons;
 import fj.F;
+import fj.P;
+import fj.P2;
 import fj.Show;
 import fj.data.List;
 import fj.data.Option;
@@ -35,6 +37,9 @@ public final class CheckResult {
   private final Option<Throwable> ex;
   private final int succeeded;
   private final int discarded;
+  private final Option<P2<Long, Integer>> trial;
+  private final Coverage trialCoverage;
+  private final Coverage coverage;
 
   private enum R {
     Passed, Proven, Falsified, Exhausted, PropException, GenException
@@ -42,11 +47,20 @@ public final class CheckResult {
 
   private CheckResult(final R r, final Option<List<Arg<?>>> args, final Option<Throwable> ex, final int succeeded,
                       final int discarded) {
+    this(r, args, ex, succeeded, discarded, Option.none(), Coverage.empty, Coverage.empty);
+  }
+
+  private CheckResult(final R r, final Option<List<Arg<?>>> args, final Option<Throwable> ex, final int succeeded,
+                      final int discarded, final Option<P2<Long, Integer>> trial, final Coverage trialCoverage,
+                      final Coverage coverage) {
     this.r = r;
     this.args = args;
     this.ex = ex;
     this.succeeded = succeeded;
     this.discarded = discarded;
+    this.trial = trial;
+    this.trialCoverage = trialCoverage;
+    this.coverage = coverage;
   }
 
   /**
@@ -123,12 +137,23 @@ public final class CheckResult {
   }
 
   /**
-   * Returns <code>true</code> if this result is passed, <code>false</code> otherwise.
+   * Returns <code>true</code> if this result is passed with a {@link Coverage#isSatisfied() satisfied} coverage,
+   * <code>false</code> otherwise.
    *
    * @return <code>true</code> if this result is passed, <code>false</code> otherwise.
    */
   public boolean isPassed() {
-    return r == R.Passed;
+    return r == R.Passed && coverage.isSatisfied();
+  }
+
+  /**
+   * Returns <code>true</code> if every test of this result passed but their coverage is not
+   * {@link Coverage#isSatisfied() satisfied}, <code>false</code> otherwise.
+   *
+   * @return <code>true</code> if this result is insufficiently covered, <code>false</code> otherwise.
+   */
+  public boolean isInsufficientlyCovered() {
+    return r == R.Passed && !coverage.isSatisfied();
   }
 
   /**
@@ -221,6 +246,80 @@ public final class CheckResult {
     return discarded;
   }
 
+  /**
+   * Returns the seed and the size of the check that decided this result, if it was decided by one check, that is if
+   * the result is one of; proven, falsified, exception during property execution or exception during argument
+   * value generation. The check is repeated by {@link Property#replay(long, int) replaying} the property with them.
+   *
+   * @return The seed and the size of the check that decided this result.
+   */
+  public Option<P2<Long, Integer>> trial() {
+    return trial;
+  }
+
+  /**
+   * Returns this result, recording that it was decided by the check with the given seed and size.
+   *
+   * @param seed The seed of the random generator of the check.
+   * @param size The size of the check.
+   * @return This result, decided by the check with the given seed and size.
+   */
+  public CheckResult trial(final long seed, final int size) {
+    return trial(seed, size, Coverage.empty);
+  }
+
+  /**
+   * Returns this result, recording that it was decided by the check with the given seed and size, whose random
+   * generator had the given {@link Rand#coverage() coverage}.
+   *
+   * @param seed The seed of the random generator of the check.
+   * @param size The size of the check.
+   * @param c    The coverage of the random generator of the check.
+   * @return This result, decided by the check with the given seed, size and coverage.
+   */
+  public CheckResult trial(final long seed, final int size, final Coverage c) {
+    return new CheckResult(r, args, ex, succeeded, discarded, some(P.p(seed, size)), c, coverage);
+  }
+
+  /**
+   * Returns the coverage of the tests performed before the check that decided this result, which the check gave to
+   * its random generator. The values generated with {@link Gen#coverFrequency(List)} depend on it, so that the check
+   * is repeated by {@link Property#replay(long, int, Coverage) replaying} the property with it as well.
+   *
+   * @return The coverage the check that decided this result ran with, empty if it was not decided by one check.
+   */
+  public Coverage trialCoverage() {
+    return trialCoverage;
+  }
+
+  /**
+   * Returns the coverage of the classes of tests performed before this result was reached. A result that passed
+   * with a coverage that is not {@link Coverage#isSatisfied() satisfied} is
+   * {@link #isInsufficientlyCovered() insufficiently covered} rather than passed.
+   *
+   * @return The coverage of the classes of tests performed before this result was reached.
+   */
+  public Coverage coverage() {
+    return coverage;
+  }
+
+  /**
+   * Returns this result, reached after tests of the given coverage.
+   *
+   * @param c The coverage of the tests performed before this result was reached.
+   * @return This result, reached after tests of the given coverage.
+   */
+  public CheckResult coverage(final Coverage c) {
+    return new CheckResult(r, args, ex, succeeded, discarded, trial, trialCoverage, c);
+  }
+
+  /**
+   * Returns this result with the given numbers of succeeded and discarded checks.
+   */
+  CheckResult counts(final int succeeded, final int discarded) {
+    return new CheckResult(r, args, ex, succeeded, discarded, trial, trialCoverage, coverage);
+  }
+
   /**
    * A rendering of a check result that summarises in one line.
    *
@@ -235,16 +334,25 @@ public final class CheckResult {
 
       private String arguments(final CheckResult r) {
         final List<Arg<?>> args = r.args().some();
-        return args.length() == 1 ? "argument: " + sa.showS(args.head()) : "arguments: " + listShow(sa).showS(args);
+        return (args.length() == 1 ? "argument: " + sa.showS(args.head()) : "arguments: " + listShow(sa).showS(args)) +
+            trial(r);
+      }
+
+      private String trial(final CheckResult r) {
+        return r.trial().option("", t -> " (seed " + t._1() + ", size " + t._2() +
+            (r.trialCoverage().labels().isEmpty() ? "" : ", coverage " + r.trialCoverage().encode()) + ')');
       }
 
       @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
       public String f(final CheckResult r) {
         if (r.isProven())
           return "OK, property proven with " + arguments(r);
+        else if (r.isInsufficientlyCovered())
+          return "Insufficient coverage after " + r.succeeded() + " passed " + test(r) + ": " + r.coverage() + '.';
         else if (r.isPassed())
           return "OK, passed " + r.succeeded() + ' ' + test(r) +
-              (r.discarded() > 0 ? " (" + r.discarded() + " discarded)" : "") + '.';
+              (r.discarded() > 0 ? " (" + r.discarded() + " discarded)" : "") + '.' +
+              (r.coverage().labels().isEmpty() ? "" : " " + r.coverage() + '.');
         else if (r.isFalsified())
           return "Falsified after " + r.succeeded() + " passed " + test(r) + " with " + arguments(r);
         else if (r.isExhausted())
@@ -259,7 +367,7 @@ public final class CheckResult {
           final StringWriter sw = new StringWriter();
           final PrintWriter pw = new PrintWriter(sw);
           r.exception().some().printStackTrace(pw);
-          return "Exception on argument generation " + Strings.lineSeparator + sw;
+          return "Exception on argument generation" + trial(r) + ' ' + Strings.lineSeparator + sw;
         } else
           throw decons(r.getClass());
       }
@@ -273,24 +381,25 @@ public final class CheckResult {
 
   /**
    * A rendering of a check result that summarises in one line but throws an exception in the result
-   * is a failure (falsified, property exception or generator exception).
+   * is a failure (falsified, property exception, generator exception or insufficient coverage).
    */
   public static final Show<CheckResult> summaryEx = summaryEx(argShow);
 
   /**
    * A rendering of a check result that summarises in one line but throws an exception in the result
-   * is a failure (falsified, property exception or generator exception).
+   * is a failure (falsified, property exception, generator exception or insufficient coverage).
    *
    * @param sa The rendering of arguments.
    * @return A rendering of a check result that summarises in one line but throws an exception in
-   *         the result is a failure (falsified, property exception or generator exception).
+   *         the result is a failure (falsified, property exception, generator exception or insufficient
+   *         coverage).
    */
   public static Show<CheckResult> summaryEx(final Show<Arg<?>> sa) {
     return showS(r -> {
       final String s = summary(sa).showS(r);
       if (r.isProven() || r.isPassed() || r.isExhausted())
         return s;
-      else if (r.isFalsified() || r.isPropException() || r.isGenException())
+      else if (r.isInsufficientlyCovered() || r.isFalsified() || r.isPropException() || r.isGenException())
         throw new Error(s);
       else
         throw decons(r.getClass());
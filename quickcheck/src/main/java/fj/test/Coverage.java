@@ -0,0 +1,206 @@
+package fj.test;
+
+import fj.data.List;
+import fj.data.Option;
+import fj.data.TreeMap;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+
+import static fj.Ord.stringOrd;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The coverage of the classes of tests of a property: how many of the tests performed so far were
+ * {@link Property#classify(boolean, String) classified} with each label, and the percentage of tests that
+ * {@link Property#cover(boolean, double, String) cover} requires for the label. While a property is checked,
+ * the coverage of the tests performed so far is available to generators from their {@link Rand#coverage()
+ * random generator}, so that {@link Gen#coverFrequency(List) generators} can favour the under-covered classes.
+ *
+ * @version %build.number%
+ */
+public final class Coverage {
+  private final int tests;
+  private final TreeMap<String, Integer> counts;
+  private final TreeMap<String, Double> required;
+
+  private Coverage(final int tests, final TreeMap<String, Integer> counts, final TreeMap<String, Double> required) {
+    this.tests = tests;
+    this.counts = counts;
+    this.required = required;
+  }
+
+  /**
+   * The coverage of no tests.
+   */
+  public static final Coverage empty = new Coverage(0, TreeMap.empty(stringOrd), TreeMap.empty(stringOrd));
+
+  /**
+   * Returns the number of tests counted by this coverage.
+   *
+   * @return The number of tests counted by this coverage.
+   */
+  public int tests() {
+    return tests;
+  }
+
+  /**
+   * Returns the labels of the tests or of the requirements of this coverage, in order.
+   *
+   * @return The labels of this coverage.
+   */
+  public List<String> labels() {
+    return counts.union(required.map(p -> 0)).keys();
+  }
+
+  /**
+   * Returns the number of tests classified with the given label.
+   *
+   * @param label The label of the class of tests.
+   * @return The number of tests classified with the given label.
+   */
+  public int count(final String label) {
+    return counts.get(label).orSome(0);
+  }
+
+  /**
+   * Returns the percentage of tests classified with the given label, zero if no test was counted.
+   *
+   * @param label The label of the class of tests.
+   * @return The percentage of tests classified with the given label.
+   */
+  public double percentage(final String label) {
+    return tests == 0 ? 0 : 100.0 * count(label) / tests;
+  }
+
+  /**
+   * Returns the percentage of tests required to be classified with the given label, if any.
+   *
+   * @param label The label of the class of tests.
+   * @return The percentage of tests required to be classified with the given label.
+   */
+  public Option<Double> required(final String label) {
+    return required.get(label);
+  }
+
+  /**
+   * Returns the labels whose classes of tests do not reach their required percentage.
+   *
+   * @return The labels whose classes of tests are under-covered.
+   */
+  public List<String> insufficient() {
+    return required.keys().filter(l -> percentage(l) < required.get(l).some());
+  }
+
+  /**
+   * Returns whether every class of tests reaches its required percentage.
+   *
+   * @return <code>true</code> if every class of tests reaches its required percentage.
+   */
+  public boolean isSatisfied() {
+    return insufficient().isEmpty();
+  }
+
+  /**
+   * Returns the percentage of the next tests that should be of the class with the given label for it to reach its
+   * required percentage, if it is under-covered: twice the required percentage, so that a class behind its
+   * requirement catches up quickly.
+   *
+   * @param label The label of the class of tests.
+   * @return The percentage of the next tests that should be of the class, if it is under-covered.
+   */
+  public Option<Double> target(final String label) {
+    return required.get(label).filter(p -> percentage(label) < p).map(p -> min(100, 2 * p));
+  }
+
+  /**
+   * Returns this coverage with one more test, classified with the labels of the given result and adding its
+   * requirements. A label requirement keeps the largest percentage required.
+   *
+   * @param r The result of the test.
+   * @return This coverage with one more test.
+   */
+  public Coverage add(final Result r) {
+    final TreeMap<String, Integer> cs = r.labels().nub(stringOrd).foldLeft((m, l) -> m.update(l, n -> n + 1, 1), counts);
+    final TreeMap<String, Double> rs = r.covers().foldLeft((m, c) -> m.update(c._1(), p -> max(p, c._2()), c._2()), required);
+    return new Coverage(tests + 1, cs, rs);
+  }
+
+  /**
+   * Returns the coverage of the tests of this coverage and of the given coverage.
+   *
+   * @param c The coverage to add to this coverage.
+   * @return The coverage of the tests of both coverages.
+   */
+  public Coverage append(final Coverage c) {
+    final TreeMap<String, Integer> cs = c.counts.toList().foldLeft((m, p) -> m.update(p._1(), n -> n + p._2(), p._2()), counts);
+    final TreeMap<String, Double> rs = c.required.toList().foldLeft((m, p) -> m.update(p._1(), q -> max(q, p._2()), p._2()), required);
+    return new Coverage(tests + c.tests, cs, rs);
+  }
+
+  /**
+   * Returns an encoding of this coverage, made of the number of tests followed by the count and the required
+   * percentage of every label, that {@link #decode(String)} turns back into this coverage. A failing check records
+   * the encoding of the coverage it ran with, so that it can be {@link Property#replay(long, int, Coverage)
+   * replayed}.
+   *
+   * @return An encoding of this coverage.
+   */
+  public String encode() {
+    final StringBuilder sb = new StringBuilder().append(tests);
+    for (final String l : labels()) {
+      sb.append(';').append(urlCode(l, true)).append('=').append(count(l)).append('/');
+      required(l).foreachDoEffect(sb::append);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns the coverage of the given {@link #encode() encoding}.
+   *
+   * @param s The encoding of a coverage.
+   * @return The coverage of the given encoding.
+   * @throws IllegalArgumentException If the given string is not the encoding of a coverage.
+   */
+  public static Coverage decode(final String s) {
+    try {
+      final String[] parts = s.split(";");
+      TreeMap<String, Integer> counts = TreeMap.empty(stringOrd);
+      TreeMap<String, Double> required = TreeMap.empty(stringOrd);
+      for (int i = 1; i < parts.length; i++) {
+        final int eq = parts[i].lastIndexOf('=');
+        final int slash = parts[i].lastIndexOf('/');
+        final String label = urlCode(parts[i].substring(0, eq), false);
+        final int count = Integer.parseInt(parts[i].substring(eq + 1, slash));
+        if (count > 0)
+          counts = counts.set(label, count);
+        if (slash + 1 < parts[i].length())
+          required = required.set(label, Double.parseDouble(parts[i].substring(slash + 1)));
+      }
+      return new Coverage(Integer.parseInt(parts[0]), counts, required);
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Not the encoding of a coverage: " + s, e);
+    }
+  }
+
+  private static String urlCode(final String s, final boolean encode) {
+    try {
+      return encode ? URLEncoder.encode(s, "UTF-8") : URLDecoder.decode(s, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new Error(e);
+    }
+  }
+
+  /**
+   * Returns the percentages of the classes of tests, and their requirements, separated by commas.
+   *
+   * @return The percentages of the classes of tests.
+   */
+  @Override
+  public String toString() {
+    return String.join(", ", labels().map(l -> Math.round(percentage(l)) + "% " + l +
+        required(l).option("", p -> " (required " + Math.round(p) + "%)")));
+  }
+}
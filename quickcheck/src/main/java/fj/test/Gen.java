@@ -3,7 +3,9 @@ package fj.test;
 import fj.F;
 import fj.Function;
 import fj.Ord;
+import fj.P;
 import fj.P2;
+import fj.P3;
 import fj.Unit;
 import fj.control.Trampoline;
 import fj.data.Array;
@@ -454,6 +456,33 @@ public final class Gen<A> {
     return frequency(as.map(p -> p.map2(Gen::value)));
   }
 
+  /**
+   * Returns a generator that uses values from the given generators, each with the given frequency and producing
+   * the class of tests with the given label. While a property is checked, a generator whose class of tests is
+   * under-covered so far, with respect to the percentage that {@link Property#cover(boolean, double, String)}
+   * requires for its label, is used for the {@link Coverage#target(String) share} of values that lets the class
+   * catch up, and the other generators share the remaining values by frequency; so that the required coverage is
+   * reached with fewer tests. Outside of a check, or when no class is under-covered, the returned generator
+   * behaves as {@link #frequency(List)}.
+   *
+   * @param gs The frequencies, labels and generators from which to return values in the returned generator.
+   * @return A new generator that uses the given generators, favouring the under-covered classes of tests.
+   */
+  public static <A> Gen<A> coverFrequency(final List<P3<Integer, String, Gen<A>>> gs) {
+    return gen(i -> r -> {
+      final Coverage c = r.coverage();
+      final double targets = gs.foldLeft((acc, g) -> acc + c.target(g._2()).orSome(0.0), 0.0);
+      if (targets == 0)
+        return frequency(gs.map(g -> P.p(g._1(), g._3()))).gen(i, r);
+      // weights out of 10000: the under-covered classes get their target share, the others the rest by frequency
+      final double scale = max(100, targets);
+      final int others = gs.foldLeft((acc, g) -> c.target(g._2()).isSome() ? acc : acc + g._1(), 0);
+      return frequency(gs.map(g -> P.p(c.target(g._2()).option(
+          others == 0 ? 0 : (int) Math.round(10000 * (1 - targets / scale) * g._1() / others),
+          t -> (int) Math.round(10000 * t / scale)), g._3()))).gen(i, r);
+    });
+  }
+
   /**
    * Returns a generator that produces values from the given arguments.
    *
@@ -729,6 +758,10 @@ public final class Gen<A> {
    * @return A generator for functions.
    */
   public static <A, B> Gen<F<A, B>> promote(final F<A, Gen<B>> f) {
-    return new Gen<>(i -> r -> a -> f.f(a).f.f(i).f(r));
+    return new Gen<>(i -> r -> {
+      // the function draws from its own generator, so that it does not depend on when it is applied
+      final Rand s = r.split();
+      return a -> f.f(a).f.f(i).f(s);
+    });
   }
 }
@@ -6,11 +6,15 @@ import static fj.P.p;
 
 import fj.*;
 
+import fj.control.parallel.Strategy;
+
 import static fj.P2.__2;
+import fj.data.Array;
 import fj.data.List;
 import fj.data.Option;
 import static fj.data.Option.none;
 import fj.data.Stream;
+import fj.data.Tree;
 import static fj.test.Arg.arg;
 import static fj.test.CheckResult.exhausted;
 import static fj.test.CheckResult.falsified;
@@ -21,6 +25,9 @@ import static fj.test.CheckResult.proven;
 import static fj.test.Result.noResult;
 import static java.lang.Math.round;
 
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents an algebraic property about a program that may be {@link #check(Rand, int, int, int,
  * int) checked} for its truth value. For example, it is true that "for all integers (call it x) and
@@ -64,7 +71,7 @@ public final class Property {
    * @return A conjunction of this property with the given property.
    */
   public Property and(final Property p) {
-    return fromGen(gen().bind(p.gen(), res1 -> res2 -> res1.isException() || res1.isFalsified() ? res1 : res2.isException() || res2.isFalsified() ? res2 : res1.isProven() || res1.isUnfalsified() ? res2 : res2.isProven() || res2.isUnfalsified() ? res1 : noResult()));
+    return fromGen(gen().bind(p.gen(), res1 -> res2 -> classified(res1, res2, res1.isException() || res1.isFalsified() ? res1 : res2.isException() || res2.isFalsified() ? res2 : res1.isProven() || res1.isUnfalsified() ? res2 : res2.isProven() || res2.isUnfalsified() ? res1 : noResult())));
   }
 
   /**
@@ -74,7 +81,7 @@ public final class Property {
    * @return A disjunction of this property with the given property.
    */
   public Property or(final Property p) {
-    return fromGen(gen().bind(p.gen(), res1 -> res2 -> res1.isException() || res1.isFalsified() ? res1 : res2.isException() || res2.isFalsified() ? res2 : res1.isProven() || res1.isUnfalsified() ? res1 : res2.isProven() || res2.isUnfalsified() ? res2 : noResult()));
+    return fromGen(gen().bind(p.gen(), res1 -> res2 -> classified(res1, res2, res1.isException() || res1.isFalsified() ? res1 : res2.isException() || res2.isFalsified() ? res2 : res1.isProven() || res1.isUnfalsified() ? res1 : res2.isProven() || res2.isUnfalsified() ? res2 : noResult())));
   }
 
   /**
@@ -87,7 +94,56 @@ public final class Property {
    * @return A sequence of this property with the given property.
    */
   public Property sequence(final Property p) {
-    return fromGen(gen().bind(p.gen(), res1 -> res2 -> res1.isException() || res1.isProven() || res1.isUnfalsified() ? res1 : res2.isException() || res2.isProven() || res2.isUnfalsified() ? res2 : res1.isFalsified() ? res2 : res2.isFalsified() ? res1 : noResult()));
+    return fromGen(gen().bind(p.gen(), res1 -> res2 -> classified(res1, res2, res1.isException() || res1.isProven() || res1.isUnfalsified() ? res1 : res2.isException() || res2.isProven() || res2.isUnfalsified() ? res2 : res1.isFalsified() ? res2 : res2.isFalsified() ? res1 : noResult())));
+  }
+
+  /**
+   * Returns the given result of combining the given results, classified with the labels of both of them.
+   */
+  private static Result classified(final Result res1, final Result res2, final Result res) {
+    return res == res1 ? res.classifiedAs(res2) : res == res2 ? res.classifiedAs(res1) : res;
+  }
+
+  /**
+   * Classifies the tests of this property with the given label. The percentage of tests with each label is
+   * reported in the {@link CheckResult#coverage() coverage} of the result of checking the property.
+   *
+   * @param label The label to classify the tests of this property with.
+   * @return This property, classifying its tests with the given label.
+   */
+  public Property label(final String label) {
+    return prop(i -> r -> f.f(i).f(r).label(label));
+  }
+
+  /**
+   * Classifies the tests of this property with the given label if the given condition holds.
+   *
+   * @param b     The condition for the tests to be classified with the label.
+   * @param label The label to classify the tests of this property with.
+   * @return This property, classifying its tests with the given label if the condition holds.
+   * @see #label(String)
+   */
+  public Property classify(final boolean b, final String label) {
+    return b ? label(label) : this;
+  }
+
+  /**
+   * Classifies the tests of this property with the given label if the given condition holds, and requires at
+   * least the given percentage of tests to be classified with it. Checking the property goes on past the minimum
+   * number of successful tests until every requirement is met, trying at most ten times as many tests; a
+   * property passing its tests without meeting its requirements is reported as insufficiently covered.
+   * Generators built with {@link Gen#coverFrequency(List)} favour the classes of tests that are under-covered.
+   *
+   * @param b          The condition for the tests to be classified with the label.
+   * @param percentage The percentage of tests required to be classified with the label.
+   * @param label      The label to classify the tests of this property with.
+   * @return This property, classifying its tests with the given label and requiring them to be covered.
+   */
+  public Property cover(final boolean b, final double percentage, final String label) {
+    return prop(i -> r -> {
+      final Result x = f.f(i).f(r).cover(percentage, label);
+      return b ? x.label(label) : x;
+    });
   }
 
   /**
@@ -101,21 +157,45 @@ public final class Property {
    * @param maxSize       The maximum size to use for checking.
    * @return A result after checking this property.
    */
-  @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
   public CheckResult check(final Rand r,
                            final int minSuccessful,
                            final int maxDiscarded,
                            final int minSize,
                            final int maxSize) {
+    return check(r, minSuccessful, maxDiscarded, minSize, maxSize, () -> false);
+  }
+
+  /**
+   * Checks this property as {@link #check(Rand, int, int, int, int)} does, until the given condition holds. If it
+   * holds before a result is reached, the tests performed so far are reported as passed.
+   */
+  @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
+  private CheckResult check(final Rand r,
+                            final int minSuccessful,
+                            final int maxDiscarded,
+                            final int minSize,
+                            final int maxSize,
+                            final F0<Boolean> stop) {
     int s = 0;
     int d = 0;
     float sz = minSize;
+    Coverage c = Coverage.empty;
     CheckResult res;
 
     while (true) {
-      final float size = s == 0 && d == 0 ? minSize : sz + (maxSize - sz) / (minSuccessful - s);
+      if (stop.f()) {
+        res = passed(s, d);
+        break;
+      }
+      // past the minimum number of successful tests, the sizes are swept again until the coverage is reached
+      final float size = s == 0 && d == 0 ? minSize : s >= minSuccessful && minSuccessful > 0 ?
+          minSize + (maxSize - minSize) * (float) ((s - minSuccessful) % minSuccessful) / minSuccessful :
+          sz + (maxSize - sz) / (minSuccessful - s);
+      // every check gets its own seed, so that it can be replayed alone
+      final long seed = r.choose(Long.MIN_VALUE, Long.MAX_VALUE);
+      final Coverage before = c;
       try {
-        final Result x = f.f(round(size)).f(r);
+        final Result x = f.f(round(size)).f(r.reseed(seed).coverage(c));
         if (x.isNoResult())
           if (d + 1 >= maxDiscarded) {
             res = exhausted(s, d + 1);
@@ -125,30 +205,128 @@ public final class Property {
             d++;
           }
         else if (x.isProven()) {
-          res = proven(x.args().some(), s + 1, d);
+          c = c.add(x);
+          res = proven(x.args().some(), s + 1, d).trial(seed, round(size), before);
           break;
-        } else if (x.isUnfalsified())
-          if (s + 1 >= minSuccessful) {
+        } else if (x.isUnfalsified()) {
+          c = c.add(x);
+          if (s + 1 >= minSuccessful && (c.isSatisfied() || s + 1 >= minSuccessful * COVERAGE_TESTS)) {
             res = passed(s + 1, d);
             break;
           } else {
             sz = size;
             s++;
           }
-        else if (x.isFalsified()) {
-          res = falsified(x.args().some(), s, d);
+        } else if (x.isFalsified()) {
+          res = falsified(x.args().some(), s, d).trial(seed, round(size), before);
           break;
         } else if (x.isException()) {
-          res = propException(x.args().some(), x.exception().some(), s, d);
+          res = propException(x.args().some(), x.exception().some(), s, d).trial(seed, round(size), before);
           break;
         }
       } catch (final Throwable t) {
-        res = genException(t, s, d);
+        res = genException(t, s, d).trial(seed, round(size), before);
         break;
       }
     }
 
-    return res;
+    return res.coverage(c);
+  }
+
+  /**
+   * How many times the minimum number of successful tests may be tried to reach the required coverage.
+   */
+  private static final int COVERAGE_TESTS = 10;
+
+  /**
+   * Checks this property using the given arguments, spreading the tests over the given number of workers run with
+   * the given strategy. Each worker checks its share of the minimum number of successful tests and of the maximum
+   * number of discarded tests, sweeping the sizes from the minimum to the maximum, with a random generator
+   * {@link Rand#split() split} from the given random generator, so that checking with an identically seeded
+   * generator repeats the same tests. As soon as one worker falsifies the property, or reaches
+   * any other result than passing, the workers after it stop.
+   * <p>
+   * The result has the same form as the result of {@link #check(Rand, int, int, int, int)}, with the numbers of
+   * succeeded and discarded tests summed over the workers. If several workers falsified the property, the
+   * counter-example of the first of them is reported, so that it does not depend on the scheduling of the
+   * workers.
+   *
+   * @param s             The strategy to run the workers with.
+   * @param workers       The number of workers.
+   * @param r             The random generator to split the random generators of the workers from.
+   * @param minSuccessful The minimum number of successful tests before a result is reached.
+   * @param maxDiscarded  The maximum number of tests discarded because they did not satisfy
+   *                      pre-conditions (i.e. {@link #implies(boolean, F0)}).
+   * @param minSize       The minimum size to use for checking.
+   * @param maxSize       The maximum size to use for checking.
+   * @return A result after checking this property.
+   */
+  public CheckResult checkPar(final Strategy<CheckResult> s,
+                              final int workers,
+                              final Rand r,
+                              final int minSuccessful,
+                              final int maxDiscarded,
+                              final int minSize,
+                              final int maxSize) {
+    final int n = Math.max(1, Math.min(workers, minSuccessful));
+    if (n == 1)
+      return check(r, minSuccessful, maxDiscarded, minSize, maxSize);
+    final Array<Rand> rands = Array.range(0, n).map(i -> r.split());
+    // the first worker to reach a result other than passing stops the workers after it, so that the reported
+    // result only depends on the seed
+    final AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+    final List<P1<CheckResult>> checks = List.range(0, n).map(i -> P.lazy(() -> {
+      final CheckResult res = check(rands.get(i), share(minSuccessful, n, i),
+          Math.max(1, share(maxDiscarded, n, i)), minSize, maxSize, () -> first.get() < i);
+      // the coverage of a worker is only a share of the coverage of the check
+      if (!res.isPassed() && !res.isInsufficientlyCovered())
+        first.accumulateAndGet(i, Math::min);
+      return res;
+    }));
+    final List<CheckResult> results = s.parList(checks)._1();
+
+    final int succeeded = results.foldLeft((acc, res) -> acc + res.succeeded(), 0);
+    final int discarded = results.foldLeft((acc, res) -> acc + res.discarded(), 0);
+    final Coverage coverage = results.foldLeft((acc, res) -> acc.append(res.coverage()), Coverage.empty);
+    final Option<CheckResult> failed = results.find(res -> res.isFalsified() || res.isPropException() || res.isGenException());
+    if (failed.isSome())
+      return failed.some().counts(succeeded, discarded).coverage(coverage);
+    final Option<CheckResult> proven = results.find(CheckResult::isProven);
+    if (proven.isSome())
+      return proven.some().counts(succeeded, discarded).coverage(coverage);
+    return (results.exists(CheckResult::isExhausted) ? exhausted(succeeded, discarded) : passed(succeeded, discarded))
+        .coverage(coverage);
+  }
+
+  /**
+   * Checks this property in parallel using the given strategy, one worker per available processor, a
+   * {@link Rand#standard standard random generator}, 100 minimum successful checks, 500 maximum discarded tests,
+   * minimum size of 0 and maximum size of 100.
+   *
+   * @param s The strategy to run the workers with.
+   * @return A result after checking this property.
+   * @see #checkPar(Strategy, int, Rand, int, int, int, int)
+   */
+  public CheckResult checkPar(final Strategy<CheckResult> s) {
+    return checkPar(s, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Checks this property in parallel using the given strategy and number of workers, a
+   * {@link Rand#standard standard random generator}, 100 minimum successful checks, 500 maximum discarded tests,
+   * minimum size of 0 and maximum size of 100.
+   *
+   * @param s       The strategy to run the workers with.
+   * @param workers The number of workers.
+   * @return A result after checking this property.
+   * @see #checkPar(Strategy, int, Rand, int, int, int, int)
+   */
+  public CheckResult checkPar(final Strategy<CheckResult> s, final int workers) {
+    return checkPar(s, workers, Rand.standard, 100, 500, 0, 100);
+  }
+
+  private static int share(final int total, final int workers, final int i) {
+    return total / workers + (i < total % workers ? 1 : 0);
   }
 
   /**
@@ -310,6 +488,74 @@ public final class Property {
     return check(r, 100, 500, 0, maxSize);
   }
 
+  /**
+   * Repeats the single check of this property with the given seed and size, as recorded in the
+   * {@link CheckResult#trial() trial} of a result, using a {@link Rand#standard standard random generator}.
+   *
+   * @param seed The seed of the check.
+   * @param size The size of the check.
+   * @return The result of the single check.
+   */
+  public CheckResult replay(final long seed, final int size) {
+    return replay(Rand.standard, seed, size);
+  }
+
+  /**
+   * Repeats the single check of this property with the given seed, size and coverage, as recorded in the
+   * {@link CheckResult#trial() trial} and the {@link CheckResult#trialCoverage() trial coverage} of a result, using
+   * a {@link Rand#standard standard random generator}.
+   *
+   * @param seed The seed of the check.
+   * @param size The size of the check.
+   * @param c    The coverage of the tests performed before the check.
+   * @return The result of the single check.
+   */
+  public CheckResult replay(final long seed, final int size, final Coverage c) {
+    return replay(Rand.standard, seed, size, c);
+  }
+
+  /**
+   * Repeats the single check of this property with the given seed and size, as recorded in the
+   * {@link CheckResult#trial() trial} of a result of checking it with the given random generator, and with an
+   * empty coverage.
+   *
+   * @param r    The random generator the property was checked with.
+   * @param seed The seed of the check.
+   * @param size The size of the check.
+   * @return The result of the single check.
+   */
+  public CheckResult replay(final Rand r, final long seed, final int size) {
+    return replay(r, seed, size, Coverage.empty);
+  }
+
+  /**
+   * Repeats the single check of this property with the given seed, size and coverage, as recorded in the
+   * {@link CheckResult#trial() trial} and the {@link CheckResult#trialCoverage() trial coverage} of a result of
+   * checking it with the given random generator. The coverage is given to the random generator, so that values
+   * generated with {@link Gen#coverFrequency(List)} are generated again.
+   *
+   * @param r    The random generator the property was checked with.
+   * @param seed The seed of the check.
+   * @param size The size of the check.
+   * @param c    The coverage of the tests performed before the check.
+   * @return The result of the single check.
+   */
+  @SuppressWarnings("ThrowableResultOfMethodCallIgnored")
+  public CheckResult replay(final Rand r, final long seed, final int size, final Coverage c) {
+    CheckResult res;
+    try {
+      final Result x = f.f(size).f(r.reseed(seed).coverage(c));
+      res = x.isNoResult() ? exhausted(0, 1) :
+          x.isProven() ? proven(x.args().some(), 1, 0) :
+          x.isUnfalsified() ? passed(1, 0) :
+          x.isFalsified() ? falsified(x.args().some(), 0, 0) :
+          propException(x.args().some(), x.exception().some(), 0, 0);
+    } catch (final Throwable t) {
+      res = genException(t, 0, 0);
+    }
+    return res.isPassed() || res.isExhausted() ? res : res.trial(seed, size, c);
+  }
+
   /**
    * Returns a property that produces a result only if the given condition satisfies. The result
    * will be taken from the given property.
@@ -392,44 +638,72 @@ public final class Property {
    *         application of its arguments.
    */
   public static <A> Property forall(final Gen<A> g, final Shrink<A> shrink, final F<A, P1<Property>> f) {
-    return prop(i -> r -> {
-      final class Util {
-        @SuppressWarnings("IfMayBeConditional")
-        Option<P2<A, Result>> first(final Stream<A> as, final int shrinks) {
-          final Stream<Option<P2<A, Result>>> results = as.map(a -> {
-            final Result result = exception(f.f(a)).prop(i, r);
-
-            return result.toOption().map(result1 -> p(a, result1.provenAsUnfalsified().addArg(arg(a, shrinks))));
-          });
-
-          if (results.isEmpty())
-            return none();
-          else return results.find(this::failed).orSome(results::head);
-        }
-
-        public boolean failed(final Option<P2<A, Result>> o) {
-          return o.isSome() && o.some()._2().failed();
-        }
-      }
+    return forall(TreeGen.fromGen(g, shrink), f);
+  }
 
-      final Util u = new Util();
+  /**
+   * The default maximum number of candidates tried while shrinking a counter-example.
+   */
+  public static final int DEFAULT_MAX_SHRINKS = 1000;
 
-      Option<P2<A, Result>> x = u.first(Stream.single(g.gen(i, r)), 0);
-      final F<P2<A, Result>, Result> __2 = __2();
-      if (u.failed(x)) {
-        Option<Result> or;
-        int shrinks = 0;
+  /**
+   * Returns a property where its result is derived from universal quantification across the
+   * application of its arguments. Upon falsification, the counter-example shrinks along the tree
+   * produced by the generator, trying at most {@link #DEFAULT_MAX_SHRINKS} candidates.
+   *
+   * @param g The generator to produces values and their shrinks from to produce the property with.
+   * @param f The function to produce properties with results.
+   * @return A property where its result is derived from universal quantification across the
+   *         application of its arguments.
+   */
+  public static <A> Property forall(final TreeGen<A> g, final F<A, P1<Property>> f) {
+    return forall(g, DEFAULT_MAX_SHRINKS, f);
+  }
 
-        do {
-          shrinks++;
-          or = x.map(__2);
-          x = u.first(shrink.shrink(x.some()._1()), shrinks);
+  /**
+   * Returns a property where its result is derived from universal quantification across the
+   * application of its arguments. Upon falsification, the counter-example shrinks along the tree
+   * produced by the generator: the first of its shrinks that also falsifies the property replaces
+   * it, until none of them does or the given number of candidates has been tried. A candidate
+   * equal to one already tried is not tried again.
+   *
+   * @param g          The generator to produces values and their shrinks from to produce the property with.
+   * @param maxShrinks The maximum number of candidates to try while shrinking.
+   * @param f          The function to produce properties with results.
+   * @return A property where its result is derived from universal quantification across the
+   *         application of its arguments.
+   */
+  public static <A> Property forall(final TreeGen<A> g, final int maxShrinks, final F<A, P1<Property>> f) {
+    return prop(i -> r -> {
+      final F<A, Result> result = a -> exception(f.f(a)).prop(i, r);
+      Tree<A> t = g.gen().gen(i, r);
+      Result x = result.f(t.root());
+      if (!x.failed())
+        return x.provenAsUnfalsified().addArg(arg(t.root(), 0));
+
+      final HashSet<A> tried = new HashSet<>();
+      int shrinks = 0;
+      int candidates = 0;
+      boolean shrunk = true;
+      while (shrunk && candidates < maxShrinks) {
+        shrunk = false;
+        for (final Tree<A> c : t.subForest()._1()) {
+          if (candidates >= maxShrinks)
+            break;
+          if (!tried.add(c.root()))
+            continue;
+          candidates++;
+          final Result cx = result.f(c.root());
+          if (cx.failed()) {
+            t = c;
+            x = cx;
+            shrinks++;
+            shrunk = true;
+            break;
+          }
         }
-        while (u.failed(x));
-
-        return noResult(or);
-      } else
-        return noResult(x.map(__2));
+      }
+      return x.provenAsUnfalsified().addArg(arg(t.root(), shrinks));
     });
   }
 
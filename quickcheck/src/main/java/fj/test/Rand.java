@@ -3,7 +3,7 @@ package fj.test;
 import fj.F;
 import fj.data.Option;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static fj.data.Option.some;
 import static java.lang.Math.max;
@@ -11,22 +11,24 @@ import static java.lang.Math.min;
 
 /**
  * A random number generator.
+ * <p>
+ * A {@link #splittable(long) splittable} generator is deterministic for a given seed and {@link #split() splits}
+ * into independent generators, for instance one per thread; a single splittable generator must not be used by
+ * several threads at once. The {@link #standard standard} generator may be shared by any number of threads.
  *
  * @version %build.number%
  */
 public final class Rand {
-  private final F<Option<Long>, F<Integer, F<Integer, Integer>>> f;
-  private final F<Option<Long>, F<Double, F<Double, Double>>> g;
-  private final F<Long, Rand> onReseed;
+  private final Source source;
+  private final Coverage coverage;
 
-  private Rand(
-      F<Option<Long>, F<Integer, F<Integer, Integer>>> f,
-      F<Option<Long>, F<Double, F<Double, Double>>> g,
-      F<Long, Rand> onReseed) {
+  private Rand(final Source source) {
+    this(source, Coverage.empty);
+  }
 
-    this.f = f;
-    this.g = g;
-    this.onReseed = onReseed;
+  private Rand(final Source source, final Coverage coverage) {
+    this.source = source;
+    this.coverage = coverage;
   }
 
   /**
@@ -38,7 +40,7 @@ public final class Rand {
    * @return A random value in the given range.
    */
   public int choose(final long seed, final int from, final int to) {
-    return f.f(some(seed)).f(from).f(to);
+    return source.choose(seed, from, to);
   }
 
   /**
@@ -49,12 +51,20 @@ public final class Rand {
    * @return A random value in the given range.
    */
   public int choose(final int from, final int to) {
-    return f.f(Option.none()).f(from).f(to);
+    return source.choose(from, to);
   }
 
+  /**
+   * Randomly chooses a value between the given range (inclusive).
+   *
+   * @param from The minimum value to choose.
+   * @param to   The maximum value to choose.
+   * @return A random value in the given range.
+   */
   public long choose(final long from, final long to) {
-    return g.f(Option.none()).f((double) from).f((double) to).longValue();
+    return source.choose(from, to);
   }
+
   /**
    * Randomly chooses a value between the given range (inclusive).
    *
@@ -64,7 +74,7 @@ public final class Rand {
    * @return A random value in the given range.
    */
   public double choose(final long seed, final double from, final double to) {
-    return g.f(some(seed)).f(from).f(to);
+    return source.choose(seed, from, to);
   }
 
   /**
@@ -75,7 +85,7 @@ public final class Rand {
    * @return A random value in the given range.
    */
   public double choose(final double from, final double to) {
-    return g.f(Option.none()).f(from).f(to);
+    return source.choose(from, to);
   }
 
   /**
@@ -85,7 +95,51 @@ public final class Rand {
    * @return A random generator with the given seed.
    */
   public Rand reseed(long seed) {
-    return onReseed.f(seed);
+    return source.reseed(seed).coverage(coverage);
+  }
+
+  /**
+   * Returns a new splittable random generator whose values are independent of the values of this generator. This
+   * generator advances; splitting generators seeded identically in the same order yields identical generators.
+   *
+   * @return A new splittable random generator independent of this generator.
+   */
+  public Rand split() {
+    return source.split().coverage(coverage);
+  }
+
+  /**
+   * Returns a random generator determined by the state of this generator and the given value, without advancing
+   * this generator. Generators constructed with {@link #rand(F, F, F)} are {@link #reseed(long) reseeded} with the
+   * given value instead.
+   *
+   * @param n The value to derive the new random generator from.
+   * @return A random generator determined by this generator and the given value.
+   * @see Variant#variant(long, Gen)
+   */
+  public Rand variant(final long n) {
+    return source.variant(n).coverage(coverage);
+  }
+
+  /**
+   * Returns the coverage of the tests performed so far by the check this random generator generates a test for,
+   * {@link Coverage#empty empty} outside of a check. The generators {@link #reseed(long) reseeded},
+   * {@link #split() split} or {@link #variant(long) derived} from this generator share its coverage.
+   *
+   * @return The coverage of the tests performed so far.
+   */
+  public Coverage coverage() {
+    return coverage;
+  }
+
+  /**
+   * Returns this random generator with the given coverage of the tests performed so far.
+   *
+   * @param c The coverage of the tests performed so far.
+   * @return This random generator with the given coverage.
+   */
+  public Rand coverage(final Coverage c) {
+    return c == coverage ? this : new Rand(source, c);
   }
 
   /**
@@ -102,55 +156,201 @@ public final class Rand {
       F<Option<Long>, F<Double, F<Double, Double>>> g,
       F<Long, Rand> onReseed) {
 
-    return new Rand(f, g, onReseed);
+    return new Rand(new Curried(f, g, onReseed));
   }
 
   /**
-   * A standard random generator that uses {@link Random}.
+   * Returns a splittable random generator with the given seed, based on the SplitMix64 algorithm used by
+   * {@link java.util.SplittableRandom}.
+   *
+   * @param seed The seed of the random generator.
+   * @return A splittable random generator with the given seed.
    */
-  public static final Rand standard = createStandard(new Random());
+  public static Rand splittable(final long seed) {
+    return new Rand(new SplitMix(seed, GOLDEN_GAMMA));
+  }
 
-  private static Rand createStandard(Random defaultRandom) {
-    return rand(
-        optSeed -> from -> to ->
-            standardChooseInt(optSeed.<Random>option(() -> defaultRandom, Random::new), from, to),
-        optSeed -> from -> to ->
-            standardChooseDbl(optSeed.<Random>option(() -> defaultRandom, Random::new), from, to),
-        newSeed -> createStandard(new Random(newSeed)));
+  /**
+   * Returns a splittable random generator with a random seed.
+   *
+   * @return A splittable random generator with a random seed.
+   */
+  public static Rand splittable() {
+    return standard.split();
   }
 
-  /*
-   * Returns a uniformly distributed value between min(from,to) (inclusive) and max(from,to) (inclusive).
+  /**
+   * A standard random generator, drawing from the {@link ThreadLocalRandom} of the calling thread. It is
+   * {@link #reseed(long) reseeded} to and {@link #split() splits} into {@link #splittable(long) splittable}
+   * generators.
+   */
+  public static final Rand standard = new Rand(new Source() {
+    long nextLong() {
+      return ThreadLocalRandom.current().nextLong();
+    }
+
+    Rand reseed(final long seed) {
+      return splittable(seed);
+    }
+  });
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /**
+   * The draws of a random generator. The default implementations derive every draw from {@link #nextLong()}.
    */
-  private static int standardChooseInt(Random random, int from, int to) {
-    int result;
-    if (from != to) {
-      int min = min(from, to);
-      int max = max(from, to);
-      long range = (1L + max) - min;
-      long bound = Long.MAX_VALUE - (Long.MAX_VALUE % range);
-      long r = random.nextLong() & Long.MAX_VALUE;
-      while (r >= bound) {
-        // Ensure uniformity
-        r = random.nextLong() & Long.MAX_VALUE;
+  private abstract static class Source {
+    abstract long nextLong();
+
+    abstract Rand reseed(long seed);
+
+    int choose(final long seed, final int from, final int to) {
+      return reseed(seed).choose(from, to);
+    }
+
+    double choose(final long seed, final double from, final double to) {
+      return reseed(seed).choose(from, to);
+    }
+
+    int choose(final int from, final int to) {
+      return (int) choose((long) from, (long) to);
+    }
+
+    /*
+     * Returns a uniformly distributed value between min(from,to) (inclusive) and max(from,to) (inclusive).
+     */
+    long choose(final long from, final long to) {
+      final long lo = min(from, to);
+      final long hi = max(from, to);
+      long r = nextLong();
+      // the size of the range, 0 for the full range
+      final long n = hi - lo + 1;
+      final long m = n - 1;
+      if (n == 0) {
+        return r;
+      } else if ((n & m) == 0) {
+        return (r & m) + lo;
+      } else if (n > 0) {
+        // reject the values of the last partial range to ensure uniformity
+        for (long u = r >>> 1; u + m - (r = u % n) < 0; u = nextLong() >>> 1) {
+        }
+        return r + lo;
+      } else {
+        while (r < lo || r > hi) {
+          r = nextLong();
+        }
+        return r;
       }
-      result = (int) ((r % range) + min);
-    } else {
-      result = from;
     }
-    return result;
+
+    /*
+     * Returns a uniformly distributed value between min(from,to) (inclusive) and max(from,to) (exclusive)
+     *
+     * In theory, this differs from the choose() contract, which specifies a closed interval.
+     * In practice, the difference shouldn't matter.
+     */
+    double choose(final double from, final double to) {
+      final double lo = min(from, to);
+      final double hi = max(from, to);
+      return (hi - lo) * ((nextLong() >>> 11) * 0x1.0p-53) + lo;
+    }
+
+    Rand split() {
+      return new Rand(new SplitMix(nextLong(), mixGamma(nextLong())));
+    }
+
+    Rand variant(final long n) {
+      return reseed(n);
+    }
   }
 
-  /*
-   * Returns a uniformly distributed value between min(from,to) (inclusive) and max(from,to) (exclusive)
-   *
-   * In theory, this differs from the choose() contract, which specifies a closed interval.
-   * In practice, the difference shouldn't matter.
+  /**
+   * The SplitMix64 generator, see "Fast Splittable Pseudorandom Number Generators" by Steele, Lea and Flood.
    */
-  private static double standardChooseDbl(Random random, double from, double to) {
-    double min = min(from, to);
-    double max = max(from, to);
-    return ((max - min) * random.nextDouble()) + min;
+  private static final class SplitMix extends Source {
+    private long seed;
+    private final long gamma;
+
+    SplitMix(final long seed, final long gamma) {
+      this.seed = seed;
+      this.gamma = gamma;
+    }
+
+    long nextLong() {
+      return mix64(seed += gamma);
+    }
+
+    Rand reseed(final long seed) {
+      return splittable(seed);
+    }
+
+    Rand split() {
+      return new Rand(new SplitMix(nextLong(), mixGamma(seed += gamma)));
+    }
+
+    Rand variant(final long n) {
+      return new Rand(new SplitMix(mix64(seed ^ mix64(n + GOLDEN_GAMMA)), gamma));
+    }
+
+    private static long mix64(long z) {
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+    }
+  }
+
+  private static long mixGamma(long z) {
+    z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    z = (z ^ (z >>> 33)) | 1L;
+    // avoid gammas with too few bit transitions
+    return Long.bitCount(z ^ (z >>> 1)) < 24 ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+  }
+
+  /**
+   * A random generator given by curried functions, see {@link #rand(F, F, F)}.
+   */
+  private static final class Curried extends Source {
+    private final F<Option<Long>, F<Integer, F<Integer, Integer>>> f;
+    private final F<Option<Long>, F<Double, F<Double, Double>>> g;
+    private final F<Long, Rand> onReseed;
+
+    Curried(final F<Option<Long>, F<Integer, F<Integer, Integer>>> f,
+            final F<Option<Long>, F<Double, F<Double, Double>>> g,
+            final F<Long, Rand> onReseed) {
+      this.f = f;
+      this.g = g;
+      this.onReseed = onReseed;
+    }
+
+    long nextLong() {
+      return ((long) choose(Integer.MIN_VALUE, Integer.MAX_VALUE) << 32)
+          ^ (choose(Integer.MIN_VALUE, Integer.MAX_VALUE) & 0xFFFFFFFFL);
+    }
+
+    Rand reseed(final long seed) {
+      return onReseed.f(seed);
+    }
+
+    int choose(final long seed, final int from, final int to) {
+      return f.f(some(seed)).f(from).f(to);
+    }
+
+    double choose(final long seed, final double from, final double to) {
+      return g.f(some(seed)).f(from).f(to);
+    }
+
+    int choose(final int from, final int to) {
+      return f.f(Option.none()).f(from).f(to);
+    }
+
+    long choose(final long from, final long to) {
+      return g.f(Option.none()).f((double) from).f((double) to).longValue();
+    }
+
+    double choose(final double from, final double to) {
+      return g.f(Option.none()).f(from).f(to);
+    }
   }
 
 }
@@ -1,6 +1,8 @@
 package fj.test;
 
 import fj.F;
+import fj.P;
+import fj.P2;
 import fj.data.List;
 import fj.data.Option;
 import static fj.data.Option.none;
@@ -15,15 +17,24 @@ public final class Result {
   private final Option<List<Arg<?>>> args;
   private final R r;
   private final Option<Throwable> t;
+  private final List<String> labels;
+  private final List<P2<String, Double>> covers;
 
   private enum R {
     Unfalsified, Falsified, Proven, Exception, NoResult
   }
 
   private Result(final Option<List<Arg<?>>> args, final R r, final Option<Throwable> t) {
+    this(args, r, t, List.nil(), List.nil());
+  }
+
+  private Result(final Option<List<Arg<?>>> args, final R r, final Option<Throwable> t, final List<String> labels,
+                 final List<P2<String, Double>> covers) {
     this.args = args;
     this.r = r;
     this.t = t;
+    this.labels = labels;
+    this.covers = covers;
   }
 
   /**
@@ -46,6 +57,25 @@ public final class Result {
     return t;
   }
 
+  /**
+   * Returns the labels that {@link Property#classify(boolean, String) classify} the test of this result.
+   *
+   * @return The labels that classify the test of this result.
+   */
+  public List<String> labels() {
+    return labels;
+  }
+
+  /**
+   * Returns the labels of the classes of tests this result requires a percentage of tests for, paired with the
+   * percentages, as declared with {@link Property#cover(boolean, double, String)}.
+   *
+   * @return The coverage requirements of this result.
+   */
+  public List<P2<String, Double>> covers() {
+    return covers;
+  }
+
   /**
    * Returns <code>true</code> if this result is unfalsified; otherwise, <code>false</code>.
    *
@@ -121,7 +151,7 @@ public final class Result {
    * otherwise, return <code>this</code>.
    */
   public Result provenAsUnfalsified() {
-    return isProven() ? unfalsified(args.some()) : this;
+    return isProven() ? new Result(args, R.Unfalsified, t, labels, covers) : this;
   }
 
   /**
@@ -132,7 +162,36 @@ public final class Result {
    */
   public Result addArg(final Arg<?> a) {
     final F<Arg<?>, F<List<Arg<?>>, List<Arg<?>>>> cons = List.cons();
-    return new Result(args.map(cons.f(a)), r, t);
+    return new Result(args.map(cons.f(a)), r, t, labels, covers);
+  }
+
+  /**
+   * Classifies the test of this result with the given label.
+   *
+   * @param label The label to classify the test with.
+   * @return A result with the new label.
+   */
+  public Result label(final String label) {
+    return new Result(args, r, t, labels.snoc(label), covers);
+  }
+
+  /**
+   * Requires the given percentage of tests to be classified with the given label.
+   *
+   * @param percentage The percentage of tests required to be classified with the label.
+   * @param label      The label of the class of tests.
+   * @return A result with the new coverage requirement.
+   */
+  public Result cover(final double percentage, final String label) {
+    return new Result(args, r, t, labels, covers.snoc(P.p(label, percentage)));
+  }
+
+  /**
+   * Returns this result with the labels and coverage requirements of this result and of the given result.
+   */
+  Result classifiedAs(final Result x) {
+    return x.labels.isEmpty() && x.covers.isEmpty() ? this :
+        new Result(args, r, t, labels.append(x.labels), covers.append(x.covers));
   }
 
   /**
@@ -0,0 +1,281 @@
+package fj.test;
+
+import fj.F;
+import fj.F2;
+import fj.P;
+import fj.data.Array;
+import fj.data.List;
+import fj.data.Stream;
+import fj.data.Tree;
+
+import static fj.data.Stream.iterate;
+import static fj.data.Stream.nil;
+import static fj.data.Tree.node;
+import static java.lang.Math.abs;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A generator of values together with their shrinks. A generated value is the root of a lazy rose tree whose
+ * children are the values it shrinks to, each with its own shrinks, and so on. Unlike a separate {@link Shrink}
+ * strategy, the shrinks are built by the same combinators that build the generator, so that a value shrinks
+ * only to values the generator could have produced, and shrinking a composite value shrinks its parts.
+ * <p>
+ * Properties are built from these generators with {@link Property#forall(TreeGen, F)}.
+ *
+ * @version %build.number%
+ */
+public final class TreeGen<A> {
+  private final Gen<Tree<A>> g;
+
+  private TreeGen(final Gen<Tree<A>> g) {
+    this.g = g;
+  }
+
+  /**
+   * Returns the generator of the trees of values and their shrinks.
+   *
+   * @return The generator of the trees of values and their shrinks.
+   */
+  public Gen<Tree<A>> gen() {
+    return g;
+  }
+
+  /**
+   * Returns the generator of the values of this generator, without their shrinks.
+   *
+   * @return The generator of the values of this generator.
+   */
+  public Gen<A> values() {
+    return g.map(Tree::root);
+  }
+
+  /**
+   * Constructs a generator from a generator of trees of values and their shrinks.
+   *
+   * @param g The generator of trees of values and their shrinks.
+   * @return A generator of the roots of the generated trees, shrinking along the trees.
+   */
+  public static <A> TreeGen<A> treeGen(final Gen<Tree<A>> g) {
+    return new TreeGen<>(g);
+  }
+
+  /**
+   * Constructs a generator from a generator and a shrink strategy for its values.
+   *
+   * @param g The generator of values.
+   * @param s The shrink strategy of the values.
+   * @return A generator of the values of the given generator, shrinking with the given strategy.
+   */
+  public static <A> TreeGen<A> fromGen(final Gen<A> g, final Shrink<A> s) {
+    return treeGen(g.map(a -> shrinkTree(s, a)));
+  }
+
+  /**
+   * Returns the tree of the given value and its shrinks with the given shrink strategy.
+   *
+   * @param s The shrink strategy.
+   * @param a The value to shrink.
+   * @return The tree of the given value and its shrinks.
+   */
+  public static <A> Tree<A> shrinkTree(final Shrink<A> s, final A a) {
+    return Tree.<A, A>unfoldTree(x -> P.p(x, P.lazy(() -> s.shrink(x)))).f(a);
+  }
+
+  /**
+   * Returns a generator that always produces the given value, which does not shrink.
+   *
+   * @param a The value to always produce.
+   * @return A generator that always produces the given value.
+   */
+  public static <A> TreeGen<A> value(final A a) {
+    return treeGen(Gen.value(Tree.leaf(a)));
+  }
+
+  /**
+   * Returns a generator that produces values between the given range (inclusive), shrinking towards the bound
+   * closest to zero.
+   *
+   * @param from The value for the generator to produce values from.
+   * @param to   The value for the generator to produce values from.
+   * @return A generator that produces values between the given range (inclusive).
+   */
+  public static TreeGen<Integer> choose(final int from, final int to) {
+    return choose((long) from, (long) to).map(Long::intValue);
+  }
+
+  /**
+   * Returns a generator that produces values between the given range (inclusive), shrinking towards the bound
+   * closest to zero.
+   *
+   * @param from The value for the generator to produce values from.
+   * @param to   The value for the generator to produce values from.
+   * @return A generator that produces values between the given range (inclusive).
+   */
+  public static TreeGen<Long> choose(final long from, final long to) {
+    final long lo = min(from, to);
+    final long hi = max(from, to);
+    final long origin = lo > 0 ? lo : hi < 0 ? hi : 0;
+    return treeGen(Gen.choose(lo, hi).map(x -> towards(origin, x)));
+  }
+
+  /**
+   * Returns the tree of the given value shrinking towards the given origin, first to the origin itself, then
+   * halving the distance to it.
+   */
+  private static Tree<Long> towards(final long origin, final long x) {
+    return node(x, P.lazy(() -> x == origin ? Stream.<Tree<Long>>nil() :
+        iterate(d -> d / 2, x - origin).takeWhile(d -> d != 0).map(d -> towards(origin, x - d))));
+  }
+
+  /**
+   * Returns a generator that uses the size to choose the generator to use.
+   *
+   * @param f The function choosing the generator from the size.
+   * @return A generator that uses the size to choose the generator to use.
+   */
+  public static <A> TreeGen<A> sized(final F<Integer, TreeGen<A>> f) {
+    return treeGen(Gen.sized(i -> f.f(i).g));
+  }
+
+  /**
+   * Maps the given function across this generator, and the shrinks of its values.
+   *
+   * @param f The function to map across this generator.
+   * @return A generator of the results of applying the given function to the values of this generator.
+   */
+  public <B> TreeGen<B> map(final F<A, B> f) {
+    return treeGen(g.map(t -> t.fmap(f)));
+  }
+
+  /**
+   * Binds the given function across this generator. The value produced by this generator shrinks first, each of
+   * its shrinks producing the value of the generator given by the function anew, from the same random generator;
+   * then the value of that generator shrinks. As shrinking this value may change the generator given by the
+   * function, prefer {@link #zipWith(TreeGen, F2)} for independent values.
+   *
+   * @param f The function to bind across this generator.
+   * @return A generator of the values of the generators given by the function.
+   */
+  public <B> TreeGen<B> bind(final F<A, TreeGen<B>> f) {
+    return treeGen(Gen.gen(i -> r -> {
+      final Tree<A> ta = g.gen(i, r);
+      // the generators given by the function all draw from the same state
+      final Rand rb = r.split();
+      return bindTree(ta, a -> f.f(a).g.gen(i, rb.variant(0)));
+    }));
+  }
+
+  private static <A, B> Tree<B> bindTree(final Tree<A> ta, final F<A, Tree<B>> f) {
+    final Tree<B> tb = f.f(ta.root());
+    return node(tb.root(), P.lazy(() ->
+        ta.subForest()._1().map(ta1 -> bindTree(ta1, f)).append(tb.subForest())));
+  }
+
+  /**
+   * Combines the values of this generator and of the given generator with the given function. The value of this
+   * generator shrinks first, then the value of the given generator.
+   *
+   * @param gb The generator to combine with this generator.
+   * @param f  The function combining the values of the generators.
+   * @return A generator of the combined values of this generator and the given generator.
+   */
+  public <B, C> TreeGen<C> zipWith(final TreeGen<B> gb, final F2<A, B, C> f) {
+    return treeGen(g.bind(gb.g, ta -> tb -> zipTrees(ta, tb, f)));
+  }
+
+  private static <A, B, C> Tree<C> zipTrees(final Tree<A> ta, final Tree<B> tb, final F2<A, B, C> f) {
+    return node(f.f(ta.root(), tb.root()), P.lazy(() ->
+        ta.subForest()._1().map(ta1 -> zipTrees(ta1, tb, f))
+            .append(() -> tb.subForest()._1().map(tb1 -> zipTrees(ta, tb1, f)))));
+  }
+
+  /**
+   * Returns a generator of lists whose length is at most the size, of the values of the given generator. A list
+   * shrinks by removing chunks of elements, halving the size of the chunks, and then by shrinking its elements
+   * one at a time.
+   *
+   * @param g The generator of the elements.
+   * @return A generator of lists of the values of the given generator.
+   */
+  public static <A> TreeGen<List<A>> listOf(final TreeGen<A> g) {
+    return listOf(g, 0);
+  }
+
+  /**
+   * Returns a generator of lists whose length is at least the given length and at most the size, of the values of
+   * the given generator. A list shrinks by removing chunks of elements, halving the size of the chunks, and then
+   * by shrinking its elements one at a time; it never shrinks below the given length.
+   *
+   * @param g         The generator of the elements.
+   * @param minLength The minimum length of the lists.
+   * @return A generator of lists of the values of the given generator.
+   */
+  public static <A> TreeGen<List<A>> listOf(final TreeGen<A> g, final int minLength) {
+    return treeGen(Gen.sized(size -> Gen.choose(minLength, max(minLength, size)))
+        .bind(n -> Gen.sequenceN(n, g.g))
+        .map(ts -> listTree(ts, minLength)));
+  }
+
+  private static <A> Tree<List<A>> listTree(final List<Tree<A>> ts, final int minLength) {
+    return node(ts.map(Tree::root), P.lazy(() ->
+        removes(ts, minLength).map(ts1 -> listTree(ts1, minLength))
+            .append(() -> shrinkOne(ts).map(ts1 -> listTree(ts1, minLength)))));
+  }
+
+  /**
+   * Returns the lists left by removing a chunk of consecutive elements, for chunks of the largest size allowed by
+   * the minimum length and then of halving sizes.
+   */
+  private static <A> Stream<List<A>> removes(final List<A> as, final int minLength) {
+    final int n = as.length();
+    final int largest = n - minLength;
+    return largest <= 0 ? nil() : iterate(k -> k / 2, largest).takeWhile(k -> k > 0).bind(k ->
+        Stream.range(0, (n + k - 1) / k).map(c -> as.take(c * k).append(as.drop(c * k + k)))
+            .filter(rest -> rest.length() >= minLength));
+  }
+
+  /**
+   * Returns the lists obtained by replacing one element by one of its shrinks, for every element in turn.
+   */
+  private static <A> Stream<List<Tree<A>>> shrinkOne(final List<Tree<A>> ts) {
+    return ts.isEmpty() ? nil() :
+        ts.head().subForest()._1().map(t -> ts.tail().cons(t))
+            .append(() -> shrinkOne(ts.tail()).map(ts1 -> ts1.cons(ts.head())));
+  }
+
+  /**
+   * Returns a generator of arrays of the values of the given generator, shrinking as {@link #listOf(TreeGen)}.
+   *
+   * @param g The generator of the elements.
+   * @return A generator of arrays of the values of the given generator.
+   */
+  public static <A> TreeGen<Array<A>> arrayOf(final TreeGen<A> g) {
+    return listOf(g).map(List::toArray);
+  }
+
+  /**
+   * Returns a generator of streams of the values of the given generator, shrinking as {@link #listOf(TreeGen)}.
+   *
+   * @param g The generator of the elements.
+   * @return A generator of streams of the values of the given generator.
+   */
+  public static <A> TreeGen<Stream<A>> streamOf(final TreeGen<A> g) {
+    return listOf(g).map(List::toStream);
+  }
+
+  /**
+   * A generator of integers between the negation of the size and the size, shrinking towards zero.
+   */
+  public static final TreeGen<Integer> integers = sized(i -> choose(-abs(i), abs(i)));
+
+  /**
+   * A generator of long integers between the negation of the size and the size, shrinking towards zero.
+   */
+  public static final TreeGen<Long> longs = sized(i -> choose(-(long) abs(i), abs(i)));
+
+  /**
+   * A generator of booleans, shrinking to false.
+   */
+  public static final TreeGen<Boolean> booleans = choose(0, 1).map(i -> i == 1);
+}
@@ -3,7 +3,7 @@ package fj.test;
 import fj.F;
 import static fj.test.Gen.gen;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A memoised generator variant. Stores generators that have already been computed for the given arguments.
@@ -11,7 +11,7 @@ import java.util.HashMap;
  * @version %build.number%
  */
 public final class Variant {
-  private static final HashMap<LongGen, Gen<?>> variantMemo = new HashMap<>();
+  private static final ConcurrentHashMap<LongGen, Gen<?>> variantMemo = new ConcurrentHashMap<>();
 
   private static final class LongGen {
     private final long n;
@@ -54,7 +54,7 @@ public final class Variant {
     final LongGen p = new LongGen(n, g);
     final Gen<?> gx = variantMemo.get(p);
     if(gx == null) {
-      final Gen<A> t = gen(i -> r -> g.gen(i, r.reseed(n)));
+      final Gen<A> t = gen(i -> r -> g.gen(i, r.variant(n)));
       variantMemo.put(p, t);
       return t;
     } else return gen(i -> r -> (A)gx.gen(i, r));
@@ -0,0 +1,103 @@
+package fj.test.perf;
+
+import fj.P;
+import fj.P2;
+import fj.data.List;
+
+import static java.lang.Math.log;
+import static java.lang.Math.max;
+
+/**
+ * A complexity class, the growth of a cost as a function of the size of the input.
+ *
+ * @version %build.number%
+ */
+public enum Complexity {
+  CONSTANT("O(1)"),
+  LOGARITHMIC("O(log n)"),
+  LINEAR("O(n)"),
+  LINEARITHMIC("O(n log n)"),
+  QUADRATIC("O(n^2)"),
+  CUBIC("O(n^3)");
+
+  private final String name;
+
+  Complexity(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns the growth function of this complexity class at the given size.
+   *
+   * @param n The size.
+   * @return The growth function of this complexity class at the given size.
+   */
+  public double apply(final double n) {
+    final double lg = max(1, log(n) / log(2));
+    switch (this) {
+      case CONSTANT: return 1;
+      case LOGARITHMIC: return lg;
+      case LINEAR: return n;
+      case LINEARITHMIC: return n * lg;
+      case QUADRATIC: return n * n;
+      default: return n * n * n;
+    }
+  }
+
+  /**
+   * Returns the excess growth of the given costs over this complexity class: the exponent of the power of the size
+   * that best fits the costs divided by the growth function of this class. The excess is close to zero if the costs
+   * grow as this class, and negative if they grow slower.
+   *
+   * @param costs The costs, paired with the sizes they were measured at.
+   * @return The excess growth of the given costs over this complexity class.
+   */
+  public double excess(final List<P2<Integer, Double>> costs) {
+    // least squares slope of log(cost / f(n)) against log(n); costs below 1 are measurement noise
+    final List<P2<Double, Double>> points = costs.map(c -> P.p(log(c._1()), log(max(1, c._2()) / apply(c._1()))));
+    final int k = points.length();
+    if (k < 2)
+      return 0;
+    final double mx = points.foldLeft((acc, p) -> acc + p._1(), 0.0) / k;
+    final double my = points.foldLeft((acc, p) -> acc + p._2(), 0.0) / k;
+    final double sxy = points.foldLeft((acc, p) -> acc + (p._1() - mx) * (p._2() - my), 0.0);
+    final double sxx = points.foldLeft((acc, p) -> acc + (p._1() - mx) * (p._1() - mx), 0.0);
+    return sxx == 0 ? 0 : sxy / sxx;
+  }
+
+  /**
+   * Returns whether the given costs grow at most as this complexity class, allowing the given excess growth.
+   *
+   * @param costs     The costs, paired with the sizes they were measured at.
+   * @param tolerance The allowed {@link #excess(List) excess growth}.
+   * @return whether the given costs grow at most as this complexity class.
+   */
+  public boolean bounds(final List<P2<Integer, Double>> costs, final double tolerance) {
+    return excess(costs) <= tolerance;
+  }
+
+  /**
+   * Returns the complexity class whose growth best fits the given costs, the one with the smallest absolute
+   * {@link #excess(List) excess growth}.
+   *
+   * @param costs The costs, paired with the sizes they were measured at.
+   * @return The complexity class whose growth best fits the given costs.
+   */
+  public static Complexity fit(final List<P2<Integer, Double>> costs) {
+    Complexity best = CONSTANT;
+    double bestExcess = Double.MAX_VALUE;
+    for (final Complexity c : values()) {
+      final double e = Math.abs(c.excess(costs));
+      if (e < bestExcess) {
+        best = c;
+        bestExcess = e;
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,64 @@
+package fj.test.perf;
+
+import fj.data.Option;
+
+/**
+ * The costs of one operation on an input of a given size.
+ *
+ * @version %build.number%
+ */
+public final class Measurement {
+  private final int size;
+  private final double nanos;
+  private final Option<Double> bytes;
+
+  private Measurement(final int size, final double nanos, final Option<Double> bytes) {
+    this.size = size;
+    this.nanos = nanos;
+    this.bytes = bytes;
+  }
+
+  /**
+   * Constructs a measurement.
+   *
+   * @param size  The size of the input.
+   * @param nanos The time taken by one operation, in nanoseconds.
+   * @param bytes The bytes allocated by one operation, if the virtual machine measures allocations.
+   * @return A measurement of the given costs.
+   */
+  public static Measurement measurement(final int size, final double nanos, final Option<Double> bytes) {
+    return new Measurement(size, nanos, bytes);
+  }
+
+  /**
+   * Returns the size of the input.
+   *
+   * @return The size of the input.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the time taken by one operation, in nanoseconds.
+   *
+   * @return The time taken by one operation, in nanoseconds.
+   */
+  public double nanos() {
+    return nanos;
+  }
+
+  /**
+   * Returns the bytes allocated by one operation, if the virtual machine measures allocations.
+   *
+   * @return The bytes allocated by one operation.
+   */
+  public Option<Double> bytes() {
+    return bytes;
+  }
+
+  @Override
+  public String toString() {
+    return "n=" + size + ": " + Math.round(nanos) + "ns" + bytes.option("", b -> ", " + Math.round(b) + "B");
+  }
+}
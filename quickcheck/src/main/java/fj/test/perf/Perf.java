@@ -0,0 +1,241 @@
+package fj.test.perf;
+
+import fj.F;
+import fj.P;
+import fj.P2;
+import fj.data.List;
+import fj.data.Option;
+import fj.test.Gen;
+import fj.test.Property;
+import fj.test.Rand;
+import fj.test.Result;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import static fj.data.List.list;
+import static fj.test.Arg.arg;
+
+/**
+ * A performance property: an operation whose cost, measured on inputs of increasing sizes, must grow at most as a
+ * given {@link Complexity complexity class}. For every size, inputs are generated with the generator given that
+ * size, which should produce inputs of exactly that size. The time taken and the bytes allocated by the operation
+ * on them are measured with the {@link ThreadMXBean} of the virtual machine, and the median over the inputs is
+ * kept. The growth of the costs is then {@link Complexity#excess(List) fitted} against the declared bounds.
+ * <p>
+ * For example, the following property fails if indexing a sequence stops being logarithmic:
+ * <pre>
+ * perf(Gen.sized(n -&gt; Gen.sequenceN(n, arbInteger)).map(Seq::iterableSeq), s -&gt; s.index(s.length() / 2))
+ *     .time(Complexity.LOGARITHMIC).allocation(Complexity.LOGARITHMIC).property()
+ * </pre>
+ * Allocations are measured with <code>com.sun.management.ThreadMXBean</code>, looked up reflectively; on virtual
+ * machines without it, or where it does not measure allocations, only the time is measured and allocation bounds
+ * are ignored. Time measurements are noisy, so that bounds are
+ * best used to tell apart complexity classes that differ by at least a factor of the size.
+ *
+ * @version %build.number%
+ */
+public final class Perf<A> {
+  private static volatile Object sink;
+
+  // the getThreadAllocatedBytes(long) method of com.sun.management.ThreadMXBean, if it measures allocations
+  private static final Option<Method> allocatedBytes = allocatedBytes();
+
+  private static Option<Method> allocatedBytes() {
+    try {
+      final Class<?> c = Class.forName("com.sun.management.ThreadMXBean");
+      final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      return c.isInstance(bean) && (Boolean) c.getMethod("isThreadAllocatedMemorySupported").invoke(bean) &&
+          (Boolean) c.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean) ?
+          Option.some(c.getMethod("getThreadAllocatedBytes", long.class)) : Option.none();
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      return Option.none();
+    }
+  }
+
+  private static long allocated(final Method m, final ThreadMXBean bean, final long thread) {
+    try {
+      return (Long) m.invoke(bean, thread);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private final Gen<A> inputs;
+  private final F<A, ?> op;
+  private final List<Integer> sizes;
+  private final Option<Complexity> time;
+  private final Option<Complexity> allocation;
+  private final int samples;
+  private final int iterations;
+  private final double tolerance;
+
+  private Perf(final Gen<A> inputs, final F<A, ?> op, final List<Integer> sizes, final Option<Complexity> time,
+               final Option<Complexity> allocation, final int samples, final int iterations, final double tolerance) {
+    this.inputs = inputs;
+    this.op = op;
+    this.sizes = sizes;
+    this.time = time;
+    this.allocation = allocation;
+    this.samples = samples;
+    this.iterations = iterations;
+    this.tolerance = tolerance;
+  }
+
+  /**
+   * Returns a performance property of the given operation on the inputs produced by the given generator, without
+   * bounds, measured at the sizes 256, 1024, 4096, 16384 and 65536 on 5 inputs per size, running the operation 100
+   * times on each input, with a tolerance of 0.25.
+   *
+   * @param inputs The generator of the inputs, given the size of the input to generate.
+   * @param op     The operation to measure.
+   * @return A performance property of the given operation.
+   */
+  public static <A> Perf<A> perf(final Gen<A> inputs, final F<A, ?> op) {
+    return new Perf<>(inputs, op, list(256, 1024, 4096, 16384, 65536), Option.none(), Option.none(), 5, 100, 0.25);
+  }
+
+  /**
+   * Returns this property measured at the given sizes.
+   *
+   * @param sizes The sizes to measure the operation at.
+   * @return This property measured at the given sizes.
+   */
+  public Perf<A> sizes(final List<Integer> sizes) {
+    return new Perf<>(inputs, op, sizes, time, allocation, samples, iterations, tolerance);
+  }
+
+  /**
+   * Returns this property, requiring the time taken by the operation to grow at most as the given complexity.
+   *
+   * @param c The bound of the time taken by the operation.
+   * @return This property, bounding the time taken by the operation.
+   */
+  public Perf<A> time(final Complexity c) {
+    return new Perf<>(inputs, op, sizes, Option.some(c), allocation, samples, iterations, tolerance);
+  }
+
+  /**
+   * Returns this property, requiring the bytes allocated by the operation to grow at most as the given complexity.
+   *
+   * @param c The bound of the bytes allocated by the operation.
+   * @return This property, bounding the bytes allocated by the operation.
+   */
+  public Perf<A> allocation(final Complexity c) {
+    return new Perf<>(inputs, op, sizes, time, Option.some(c), samples, iterations, tolerance);
+  }
+
+  /**
+   * Returns this property measured on the given number of inputs per size.
+   *
+   * @param samples The number of inputs to measure the operation on per size.
+   * @return This property measured on the given number of inputs per size.
+   */
+  public Perf<A> samples(final int samples) {
+    return new Perf<>(inputs, op, sizes, time, allocation, samples, iterations, tolerance);
+  }
+
+  /**
+   * Returns this property, running the operation the given number of times on each input.
+   *
+   * @param iterations The number of times to run the operation on each input.
+   * @return This property, running the operation the given number of times on each input.
+   */
+  public Perf<A> iterations(final int iterations) {
+    return new Perf<>(inputs, op, sizes, time, allocation, samples, iterations, tolerance);
+  }
+
+  /**
+   * Returns this property allowing the given {@link Complexity#excess(List) excess growth} over its bounds.
+   *
+   * @param tolerance The allowed excess growth over the bounds.
+   * @return This property allowing the given excess growth over its bounds.
+   */
+  public Perf<A> tolerance(final double tolerance) {
+    return new Perf<>(inputs, op, sizes, time, allocation, samples, iterations, tolerance);
+  }
+
+  /**
+   * Measures the operation at every size, after running it once at every size to warm up the virtual machine.
+   *
+   * @param r The random generator to generate the inputs with.
+   * @return The measurements of the operation, one per size.
+   */
+  public List<Measurement> measure(final Rand r) {
+    sizes.foreachDoEffect(size -> measure(size, r, 1, 1));
+    return sizes.map(size -> measure(size, r, samples, iterations));
+  }
+
+  private Measurement measure(final int size, final Rand r, final int samples, final int iterations) {
+    final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    final boolean allocations = allocatedBytes.isSome();
+    final long thread = Thread.currentThread().getId();
+    final double[] nanos = new double[samples];
+    final double[] bytes = new double[samples];
+    for (int s = 0; s < samples; s++) {
+      final A a = inputs.gen(size, r);
+      final long b0 = allocations ? allocated(allocatedBytes.some(), bean, thread) : 0;
+      final long t0 = System.nanoTime();
+      for (int k = 0; k < iterations; k++) {
+        sink = op.f(a);
+      }
+      final long t1 = System.nanoTime();
+      final long b1 = allocations ? allocated(allocatedBytes.some(), bean, thread) : 0;
+      nanos[s] = (t1 - t0) / (double) iterations;
+      bytes[s] = (b1 - b0) / (double) iterations;
+    }
+    return Measurement.measurement(size, median(nanos), allocations ? Option.some(median(bytes)) : Option.none());
+  }
+
+  private static double median(final double[] ds) {
+    final double[] sorted = ds.clone();
+    java.util.Arrays.sort(sorted);
+    return sorted[sorted.length / 2];
+  }
+
+  /**
+   * Returns whether the given measurements satisfy the bounds of this property.
+   *
+   * @param ms The measurements of the operation.
+   * @return whether the given measurements satisfy the bounds of this property.
+   */
+  public boolean holds(final List<Measurement> ms) {
+    return time.forall(c -> c.bounds(ms.map(m -> P.p(m.size(), m.nanos())), tolerance)) &&
+        allocation.forall(c -> ms.forall(m -> m.bytes().isSome()) ?
+            c.bounds(ms.map(m -> P.p(m.size(), m.bytes().some())), tolerance) : true);
+  }
+
+  /**
+   * Returns a report of the given measurements: the complexity classes fitting them best, the declared bounds and
+   * the measurements.
+   *
+   * @param ms The measurements of the operation.
+   * @return A report of the given measurements.
+   */
+  public String report(final List<Measurement> ms) {
+    final List<P2<Integer, Double>> ts = ms.map(m -> P.p(m.size(), m.nanos()));
+    final StringBuilder sb = new StringBuilder("time ").append(Complexity.fit(ts));
+    time.foreachDoEffect(c -> sb.append(" (bound ").append(c).append(')'));
+    if (ms.forall(m -> m.bytes().isSome())) {
+      sb.append(", allocation ").append(Complexity.fit(ms.map(m -> P.p(m.size(), m.bytes().some()))));
+      allocation.foreachDoEffect(c -> sb.append(" (bound ").append(c).append(')'));
+    }
+    return sb.append(", ").append(ms.map(Measurement::toString)).toString();
+  }
+
+  /**
+   * Returns this performance property as a property, proven if the measurements satisfy the bounds and falsified
+   * otherwise, with the {@link #report(List) report} of the measurements as argument. The measurements take place
+   * once per check, regardless of the size of the check, and with the random generator of the check.
+   *
+   * @return This performance property as a property.
+   */
+  public Property property() {
+    return Property.prop(i -> r -> {
+      final List<Measurement> ms = measure(r);
+      final List<fj.test.Arg<?>> args = list(arg(report(ms), 0));
+      return holds(ms) ? Result.proven(args) : Result.falsified(args);
+    });
+  }
+}
@@ -0,0 +1,7 @@
+/**
+ * Performance properties, which check that the time taken and the memory allocated by an operation grow at most as
+ * a declared complexity class when the size of its input grows.
+ *
+ * @version %build.number%
+ */
+package fj.test.perf;
@@ -7,6 +7,7 @@ import fj.P;
 import static fj.P.p;
 import fj.P2;
 import fj.P3;
+import fj.control.parallel.Strategy;
 import fj.data.Array;
 import static fj.data.Array.array;
 import fj.data.List;
@@ -136,13 +137,26 @@ public final class Check {
    * @return The results of checking the properties on the given class.
    */
   public static <T> List<P2<String, CheckResult>> check(final java.lang.Class<T> c, final Rand r, final String... categories) {
-    return join(clas(c).inheritance().map(c1 -> properties(c1.clas(), categories))).map(p -> {
-      if(p._3().isSome()) {
-        final CheckParams ps = p._3().some();
-        return p(p._2(), p._1().check(r, ps.minSuccessful(), ps.maxDiscarded(), ps.minSize(), ps.maxSize()));
-      } else
-        return p(p._2(), p._1().check(r));
-    });
+    return join(clas(c).inheritance().map(c1 -> properties(c1.clas(), categories))).map(p -> p(p._2(), check(p._1(), r, p._3())));
+  }
+
+  /**
+   * Checks the given property with the given check parameters, if any. The property is checked in parallel if the
+   * parameters ask for several {@link CheckParams#workers() workers}.
+   *
+   * @param p The property to check.
+   * @param r The random generator to use to check the property.
+   * @param params The check parameters of the property.
+   * @return The result of checking the property.
+   */
+  public static CheckResult check(final Property p, final Rand r, final Option<CheckParams> params) {
+    if (params.isNone())
+      return p.check(r);
+    final CheckParams ps = params.some();
+    final int workers = ps.workers() == 0 ? Runtime.getRuntime().availableProcessors() : ps.workers();
+    return workers == 1 ?
+        p.check(r, ps.minSuccessful(), ps.maxDiscarded(), ps.minSize(), ps.maxSize()) :
+        p.checkPar(Strategy.simpleThreadStrategy(), workers, r, ps.minSuccessful(), ps.maxDiscarded(), ps.minSize(), ps.maxSize());
   }
 
   /**
@@ -49,4 +49,13 @@ public @interface CheckParams {
    * @return The maximum size to use for checking.
    */
   int maxSize() default 100;
+
+  /**
+   * The number of workers checking the property in parallel, 0 for one worker per available processor. With a
+   * single worker the property is checked sequentially.
+   *
+   * @return The number of workers checking the property in parallel.
+   * @see Property#checkPar(fj.control.parallel.Strategy, int, fj.test.Rand, int, int, int, int)
+   */
+  int workers() default 1;
 }
@@ -13,11 +13,35 @@ import fj.P3;
 import fj.data.List;
 import fj.data.Option;
 import fj.test.CheckResult;
+import fj.test.Coverage;
 import fj.test.Property;
+import fj.test.Rand;
 import fj.test.reflect.Check;
 import fj.test.reflect.CheckParams;
 
 public class PropertyTestRunner extends Runner implements Filterable {
+  /**
+   * The system property giving the seed of a single check to replay instead of checking the properties, together
+   * with {@link #REPLAY_SIZE}. The seed and the size of a failed check are part of its summary.
+   *
+   * @see Property#replay(long, int)
+   */
+  public static final String REPLAY_SEED = "fj.test.replay.seed";
+
+  /**
+   * The system property giving the size of a single check to replay, together with {@link #REPLAY_SEED}.
+   */
+  public static final String REPLAY_SIZE = "fj.test.replay.size";
+
+  /**
+   * The system property giving the {@link Coverage#encode() encoded} coverage of a single check to replay, together
+   * with {@link #REPLAY_SEED} and {@link #REPLAY_SIZE}. It is part of the summary of a failed check that ran with
+   * a coverage of classified tests.
+   *
+   * @see Property#replay(long, int, Coverage)
+   */
+  public static final String REPLAY_COVERAGE = "fj.test.replay.coverage";
+
   private final Class<?> clas;
   private final List<P3<Property, Option<CheckParams>, Description>> allTests;
   private volatile List<P3<Property, Option<CheckParams>, Description>> filteredTests;
@@ -58,10 +82,13 @@ public class PropertyTestRunner extends Runner implements Filterable {
     }
 
   private static CheckResult checkProperty(Property prop, Option<CheckParams> params) {
-    return params.<CheckResult>option(
-        prop::check,
-        ps -> prop.check(ps.minSuccessful(), ps.maxDiscarded(), ps.minSize(), ps.maxSize())
-    );
+    final String seed = System.getProperty(REPLAY_SEED);
+    final String size = System.getProperty(REPLAY_SIZE);
+    final String coverage = System.getProperty(REPLAY_COVERAGE);
+    return seed != null && size != null ?
+        prop.replay(Long.parseLong(seed), Integer.parseInt(size),
+            coverage == null ? Coverage.empty : Coverage.decode(coverage)) :
+        Check.check(prop, Rand.standard, params);
   }
 
   @Override
@@ -0,0 +1,125 @@
+package fj.test;
+
+import fj.control.parallel.Strategy;
+import org.junit.Test;
+
+import static fj.P.p;
+import static fj.data.List.list;
+import static fj.test.Arbitrary.arbInteger;
+import static fj.test.Property.implies;
+import static fj.test.Property.prop;
+import static fj.test.Property.property;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyTest {
+
+  private final Strategy<CheckResult> s = Strategy.simpleThreadStrategy();
+
+  @Test
+  public void testCheckParPassed() {
+    final Property p = property(arbInteger, arbInteger, (a, b) -> prop(a + b == b + a));
+    final CheckResult r = p.checkPar(s, 4, Rand.standard, 1000, 500, 0, 100);
+    assertTrue(r.isPassed());
+    assertEquals(1000, r.succeeded());
+  }
+
+  @Test
+  public void testCheckParFalsified() {
+    final Property p = property(arbInteger, a -> prop(a < 50));
+    final CheckResult r = p.checkPar(s, 4, Rand.standard, 100000, 500, 0, 100);
+    assertTrue(r.isFalsified());
+    assertTrue(r.succeeded() < 100000);
+    assertTrue((Integer) r.args().some().head().value() >= 50);
+  }
+
+  @Test
+  public void testCheckParDeterministic() {
+    final Property p = property(arbInteger, a -> prop(a < 50));
+    final CheckResult r1 = p.checkPar(s, 3, Rand.standard.reseed(7), 300, 500, 0, 100);
+    final CheckResult r2 = p.checkPar(s, 3, Rand.standard.reseed(7), 300, 500, 0, 100);
+    assertTrue(r1.isFalsified() && r2.isFalsified());
+    // the number of passed tests depends on when the other workers stopped
+    assertEquals(r1.args().some().head().value(), r2.args().some().head().value());
+  }
+
+  @Test
+  public void testCheckParExhausted() {
+    final Property p = property(arbInteger, a -> implies(false, () -> prop(true)));
+    final CheckResult r = p.checkPar(s, 2, Rand.standard, 100, 10, 0, 100);
+    assertTrue(r.isExhausted());
+  }
+
+  @Test
+  public void testReplay() {
+    final Property p = property(arbInteger, a -> prop(a < 50));
+    final CheckResult r = p.check(Rand.standard, 100000, 500, 0, 100);
+    assertTrue(r.isFalsified());
+    final long seed = r.trial().some()._1();
+    final int size = r.trial().some()._2();
+    final CheckResult replayed = p.replay(seed, size);
+    assertTrue(replayed.isFalsified());
+    assertEquals(r.args().some().head().value(), replayed.args().some().head().value());
+    assertEquals(r.trial(), replayed.trial());
+    assertTrue(CheckResult.summary.showS(r).endsWith("(seed " + seed + ", size " + size + ")"));
+
+    final CheckResult par = p.checkPar(s, 4, Rand.standard, 100000, 500, 0, 100);
+    final CheckResult parReplayed = p.replay(par.trial().some()._1(), par.trial().some()._2());
+    assertEquals(par.args().some().head().value(), parReplayed.args().some().head().value());
+  }
+
+  @Test
+  public void testReplayCoverFrequency() {
+    final Gen<Integer> g = Gen.coverFrequency(list(p(99, "small", Gen.choose(0, 9)), p(1, "big", Gen.choose(1000, 2000))));
+    final Property p = property(g, a -> prop(a < 1000 || a % 7 != 0).cover(a >= 1000, 20, "big"));
+    final CheckResult r = p.check(Rand.standard, 100000, 500, 0, 100);
+    assertTrue(r.isFalsified());
+    assertTrue(r.trialCoverage().tests() > 0);
+    final Coverage c = Coverage.decode(r.trialCoverage().encode());
+    assertEquals(r.trialCoverage().toString(), c.toString());
+    final CheckResult replayed = p.replay(r.trial().some()._1(), r.trial().some()._2(), c);
+    assertTrue(replayed.isFalsified());
+    assertEquals(r.args().some().head().value(), replayed.args().some().head().value());
+    assertTrue(CheckResult.summary.showS(r).endsWith(", coverage " + c.encode() + ")"));
+  }
+
+  @Test
+  public void testClassify() {
+    final CheckResult r = property(arbInteger, a -> prop(true).classify(a >= 0, "non-negative")).check(Rand.splittable(1));
+    assertTrue(r.isPassed());
+    assertEquals(100, r.coverage().tests());
+    assertTrue(r.coverage().count("non-negative") > 0 && r.coverage().count("non-negative") < 100);
+    assertTrue(CheckResult.summary.showS(r).contains("% non-negative."));
+  }
+
+  @Test
+  public void testNoMinSuccessfulWithDiscards() {
+    final Property p = property(arbInteger, i -> implies(i != 0, () -> prop(true)));
+    final CheckResult r = p.check(Rand.splittable(1), 0, 5, 0, 100);
+    assertTrue(r.isPassed());
+    assertEquals("OK, passed 1 test (1 discarded).", CheckResult.summary.showS(r));
+  }
+
+  @Test
+  public void testCoverInsufficient() {
+    final Gen<Integer> g = Gen.frequency(list(p(99, Gen.choose(0, 100)), p(1, Gen.value(-1))));
+    final CheckResult r = property(g, a -> prop(true).cover(a < 0, 20, "negative")).check(Rand.splittable(1));
+    assertFalse(r.isPassed());
+    assertTrue(r.isInsufficientlyCovered());
+    assertEquals(1000, r.succeeded());
+    assertFalse(r.coverage().isSatisfied());
+    assertTrue(CheckResult.summary.showS(r).startsWith("Insufficient coverage after 1000 passed tests"));
+  }
+
+  @Test
+  public void testCoverFrequency() {
+    final Gen<Integer> g = Gen.coverFrequency(list(p(99, "non-negative", Gen.choose(0, 100)), p(1, "negative", Gen.value(-1))));
+    final CheckResult r = property(g, a -> prop(true).cover(a < 0, 20, "negative")).check(Rand.splittable(1));
+    assertTrue(r.isPassed());
+    assertTrue(r.coverage().isSatisfied());
+    assertTrue(r.succeeded() < 200);
+    assertTrue(r.coverage().percentage("negative") >= 20);
+  }
+
+}
@@ -35,4 +35,34 @@ public class TestRand {
     Assert.assertFalse(s1.allEqual(Equal.intEqual));
   }
 
+  @Test
+  public void testSplit() {
+    Rand rand1 = Rand.splittable(42);
+    Rand rand2 = Rand.splittable(42);
+    List<Long> s1 = List.range(0, 10).map(i -> rand1.split().choose(Long.MIN_VALUE, Long.MAX_VALUE));
+    List<Long> s2 = List.range(0, 10).map(i -> rand2.split().choose(Long.MIN_VALUE, Long.MAX_VALUE));
+
+    assertTrue(s1.zip(s2).forall(p -> p._1().equals(p._2())));
+    Assert.assertFalse(s1.allEqual(Equal.longEqual));
+  }
+
+  @Test
+  public void testVariant() {
+    Rand rand = Rand.splittable(7);
+    int a = rand.variant(1).choose(0, 1000000);
+    int b = rand.variant(1).choose(0, 1000000);
+    Assert.assertEquals(a, b);
+    rand.choose(0, 10);
+    Assert.assertTrue(a != rand.variant(1).choose(0, 1000000));
+  }
+
+  @Test
+  public void testSplittableLowHighInclusive() {
+    Rand rand = Rand.splittable(3);
+    Stream<Long> s = Stream.range(0, 100).map(i -> rand.choose(-2L, 2L)).sort(Ord.longOrd);
+    assertTrue(s.head() == -2L && s.last() == 2L);
+    Stream<Integer> t = Stream.range(0, 100).map(i -> rand.choose(Integer.MAX_VALUE - 1, Integer.MAX_VALUE)).sort(Ord.intOrd);
+    assertTrue(t.head() == Integer.MAX_VALUE - 1 && t.last() == Integer.MAX_VALUE);
+  }
+
 }
@@ -0,0 +1,68 @@
+package fj.test;
+
+import fj.P;
+import fj.P2;
+import fj.data.List;
+import org.junit.Test;
+
+import static fj.test.Arbitrary.arbInteger;
+import static fj.test.Property.prop;
+import static fj.test.Property.property;
+import static fj.test.TreeGen.integers;
+import static fj.test.TreeGen.listOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TreeGenTest {
+
+  private static <A> CheckResult falsify(final TreeGen<A> g, final int maxShrinks, final fj.F<A, Boolean> p) {
+    final CheckResult r = Property.forall(g, maxShrinks, a -> P.p(prop(p.f(a)))).check(Rand.splittable(1), 1000, 500, 0, 100);
+    assertTrue(r.isFalsified());
+    return r;
+  }
+
+  @Test
+  public void testChooseShrinksToBoundary() {
+    final CheckResult r = falsify(integers, Property.DEFAULT_MAX_SHRINKS, i -> i < 17);
+    assertEquals(17, r.args().some().head().value());
+    final CheckResult positive = falsify(TreeGen.choose(5, 100), Property.DEFAULT_MAX_SHRINKS, i -> i > 80);
+    assertEquals(5, positive.args().some().head().value());
+  }
+
+  @Test
+  public void testListShrinksToMinimalCounterExample() {
+    final CheckResult r = falsify(listOf(integers), Property.DEFAULT_MAX_SHRINKS, as -> as.forall(a -> a <= 10));
+    assertEquals(List.list(11), r.args().some().head().value());
+    final CheckResult length = falsify(listOf(integers, 2), Property.DEFAULT_MAX_SHRINKS, as -> as.length() < 5);
+    assertEquals(List.list(0, 0, 0, 0, 0), length.args().some().head().value());
+  }
+
+  @Test
+  public void testZipWithShrinksBothValues() {
+    final TreeGen<P2<Integer, Integer>> pairs = integers.zipWith(integers, P::p);
+    final CheckResult r = falsify(pairs, Property.DEFAULT_MAX_SHRINKS, p -> p._1() + p._2() < 30);
+    @SuppressWarnings("unchecked")
+    final P2<Integer, Integer> p = (P2<Integer, Integer>) r.args().some().head().value();
+    assertEquals(30, p._1() + p._2());
+  }
+
+  @Test
+  public void testBindRegeneratesDependentValue() {
+    final TreeGen<List<Integer>> g = TreeGen.choose(0, 10).bind(n -> listOf(TreeGen.value(n), n));
+    final CheckResult r = falsify(g, Property.DEFAULT_MAX_SHRINKS, as -> as.length() < 3);
+    assertEquals(List.list(3, 3, 3), r.args().some().head().value());
+  }
+
+  @Test
+  public void testShrinkBudget() {
+    final CheckResult r = falsify(listOf(integers), 0, as -> as.forall(a -> a <= 10));
+    assertEquals(0, r.args().some().head().shrinks());
+  }
+
+  @Test
+  public void testShrinkStrategy() {
+    final CheckResult r = property(arbInteger, Shrink.shrinkInteger, i -> prop(i < 50)).check(Rand.splittable(1), 1000, 500, 0, 100);
+    assertEquals(50, r.args().some().head().value());
+  }
+
+}
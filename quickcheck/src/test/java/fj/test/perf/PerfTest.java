@@ -0,0 +1,54 @@
+package fj.test.perf;
+
+import fj.P;
+import fj.P2;
+import fj.data.List;
+import fj.test.CheckResult;
+import fj.test.Gen;
+import fj.test.Rand;
+import org.junit.Test;
+
+import static fj.data.List.list;
+import static fj.test.Arbitrary.arbInteger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PerfTest {
+
+  private static List<P2<Integer, Double>> costs(final Complexity c, final double k) {
+    return list(256, 1024, 4096, 16384).map(n -> P.p(n, k * c.apply(n)));
+  }
+
+  @Test
+  public void testFit() {
+    for (final Complexity c : Complexity.values()) {
+      assertEquals(c, Complexity.fit(costs(c, 3)));
+      assertTrue(c.bounds(costs(c, 3), 0.01));
+    }
+    assertFalse(Complexity.LOGARITHMIC.bounds(costs(Complexity.LINEAR, 3), 0.25));
+    assertTrue(Complexity.LINEAR.bounds(costs(Complexity.LOGARITHMIC, 3), 0.25));
+  }
+
+  private static final Gen<List<Integer>> lists = Gen.sized(n -> Gen.sequenceN(n, arbInteger));
+
+  @Test
+  public void testAllocationBound() {
+    final Perf<List<Integer>> reverse = Perf.perf(lists, List::reverse).sizes(list(64, 256, 1024, 4096)).iterations(10);
+    final List<Measurement> ms = reverse.measure(Rand.splittable(1));
+    assertEquals(4, ms.length());
+    // allocations are only measured on virtual machines that support it
+    if (ms.exists(m -> m.bytes().isNone()))
+      return;
+    assertTrue(ms.forall(m -> m.bytes().isSome()));
+    assertTrue(reverse.allocation(Complexity.LINEAR).holds(ms));
+    assertFalse(reverse.allocation(Complexity.LOGARITHMIC).holds(ms));
+
+    final CheckResult r = reverse.allocation(Complexity.CONSTANT).property().check(Rand.splittable(1));
+    assertTrue(r.isFalsified());
+    assertTrue(((String) r.args().some().head().value()).contains("allocation O(n) (bound O(1))"));
+    assertTrue(Perf.perf(lists, List::head).sizes(list(64, 256, 1024, 4096)).allocation(Complexity.CONSTANT)
+        .property().check(Rand.splittable(1)).isProven());
+  }
+
+}